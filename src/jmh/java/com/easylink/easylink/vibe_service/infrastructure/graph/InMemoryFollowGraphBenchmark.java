@@ -0,0 +1,95 @@
+package com.easylink.easylink.vibe_service.infrastructure.graph;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Relationship queries on a graph the size the request was written for (1M edges). Targets are skewed so a few
+ * vibes have thousands of followers, like popular profiles do.
+ * <p>
+ * Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InMemoryFollowGraphBenchmark {
+
+    private static final int QUERIES = 4096;
+
+    @Param({"100000"})
+    int vibes;
+
+    @Param({"1000000"})
+    int edges;
+
+    private InMemoryFollowGraph graph;
+    private UUID[] ids;
+    private UUID[] viewers;
+    private UUID[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void buildGraph() {
+        SplittableRandom random = new SplittableRandom(42);
+        graph = new InMemoryFollowGraph(null, new SimpleMeterRegistry(), 200_000);
+
+        ids = new UUID[vibes];
+        for (int i = 0; i < vibes; i++) ids[i] = UUID.randomUUID();
+
+        for (int added = 0; added < edges; added++) {
+            UUID subscriber = ids[random.nextInt(vibes)];
+            UUID target = ids[skewed(random)];
+            if (!subscriber.equals(target)) graph.addEdge(subscriber, target);
+        }
+
+        viewers = new UUID[QUERIES];
+        targets = new UUID[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            viewers[i] = ids[random.nextInt(vibes)];
+            targets[i] = ids[skewed(random)];
+        }
+    }
+
+    // density ~ 1/sqrt(x): the most followed vibe ends up with a few thousand followers
+    private int skewed(SplittableRandom random) {
+        double r = random.nextDouble();
+        return (int) (r * r * vibes);
+    }
+
+    private int nextQuery() {
+        next = (next + 1) & (QUERIES - 1);
+        return next;
+    }
+
+    @Benchmark
+    public int countFollowingWhoFollow() {
+        int i = nextQuery();
+        return graph.countFollowingWhoFollow(viewers[i], targets[i]);
+    }
+
+    @Benchmark
+    public List<UUID> suggest() {
+        return graph.suggest(viewers[nextQuery()], 20);
+    }
+
+    // one subscribe and its unsubscribe, so the graph stays the same size across iterations
+    @Benchmark
+    public void addAndRemoveEdge() {
+        int i = nextQuery();
+        graph.addEdge(viewers[i], targets[i]);
+        graph.removeEdge(viewers[i], targets[i]);
+    }
+}
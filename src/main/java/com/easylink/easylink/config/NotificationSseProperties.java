@@ -0,0 +1,73 @@
+package com.easylink.easylink.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "notifications.sse")
+public class NotificationSseProperties {
+
+    /**
+     * local - events reach only emitters on the node that produced them.
+     * redis - events are published to Redis and every node delivers to its own emitters.
+     */
+    private Delivery delivery = Delivery.LOCAL;
+
+    private String channelPrefix = "notifications:user:";
+
+    /** Max events buffered per connection before the overflow policy kicks in. */
+    private int queueCapacity = 64;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.COALESCE_UNREAD;
+
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    /** Heartbeat wheel slots; each tick pings one slot, so pings are spread evenly over the interval. */
+    private int heartbeatSlots = 64;
+
+    /** Concurrent emitter streams per user on one node; the oldest is closed when a new one exceeds it. */
+    private int maxStreamsPerUser = 5;
+
+    /** New streams admitted per second on one node, and the burst allowed above that rate. */
+    private double admissionRate = 100;
+    private int admissionBurst = 200;
+
+    /** Reconnect delay hinted to clients ({@code retry:}): the base plus a random share of the jitter. */
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+    private Duration reconnectJitter = Duration.ofSeconds(15);
+
+    /** On shutdown, open streams are closed gradually over this window instead of all at once. */
+    private Duration drainWindow = Duration.ofSeconds(10);
+
+    /** Events kept per user for Last-Event-ID replay. */
+    private int replayBufferSize = 50;
+
+    /** How long a disconnected user's replay buffer survives. */
+    private Duration replayRetention = Duration.ofMinutes(5);
+
+    /** Max notifications re-sent from the database when the buffer no longer covers the gap. */
+    private int replayDbLimit = 100;
+
+    /**
+     * How far before Last-Event-ID the database replay starts. Event ids come from the emitting node's clock,
+     * so a notification can be pushed after one with a later id (commit order, clock skew between nodes);
+     * the overlap re-sends those, and clients drop notifications they already have by id.
+     */
+    private Duration replayOverlap = Duration.ofSeconds(10);
+
+    public enum Delivery {
+        LOCAL,
+        REDIS
+    }
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        /** merge pending unread_changed deltas, otherwise drop the oldest event */
+        COALESCE_UNREAD,
+        DISCONNECT
+    }
+}
@@ -3,12 +3,14 @@ package com.easylink.easylink.controllers;
 import com.easylink.easylink.dtos.NotificationDto;
 import com.easylink.easylink.services.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.security.core.Authentication;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -21,11 +23,14 @@ public class NotificationController {
 
     @GetMapping
     public List<NotificationDto> list(Authentication auth,
-                                      @RequestParam(defaultValue = "6") int limit) {
+                                      @RequestParam(defaultValue = "6") int limit,
+                                      @RequestParam(required = false)
+                                      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime beforeCreatedAt,
+                                      @RequestParam(required = false) UUID beforeId) {
         if (auth == null || auth.getName() == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
         }
-        return service.list(auth.getName(), limit);
+        return service.list(auth.getName(), limit, beforeCreatedAt, beforeId);
     }
 
     @GetMapping("/unread-count")
@@ -39,8 +44,10 @@ public class NotificationController {
     }
 
     @PostMapping("/read-all")
-    public void readAll(Authentication auth) {
-        service.markAllRead(auth.getName());
+    public void readAll(Authentication auth,
+                        @RequestParam(required = false)
+                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime upTo) {
+        service.markAllRead(auth.getName(), upTo);
     }
     @GetMapping("/whoami")
     public String whoami(Authentication auth) {
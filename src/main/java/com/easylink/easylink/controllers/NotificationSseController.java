@@ -1,6 +1,9 @@
 package com.easylink.easylink.controllers;
 
+import com.easylink.easylink.dtos.SseConnectedDto;
 import com.easylink.easylink.notifications.NotificationSseHub;
+import com.easylink.easylink.notifications.StreamAdmission;
+import com.easylink.easylink.services.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -8,6 +11,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtException;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
@@ -18,10 +22,26 @@ import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 public class NotificationSseController {
 
     private final NotificationSseHub hub;
+    private final StreamAdmission admission;
     private final JwtDecoder jwtDecoder;
+    private final NotificationService notificationService;
 
     @GetMapping(value = "/api/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
-    public SseEmitter stream(@RequestParam("token") String token) {
+    public SseEmitter stream(@RequestParam("token") String token,
+                             @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                             @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        admission.acquire();
+        String userId = authenticate(token);
+
+        return hub.subscribe(
+                userId,
+                new SseConnectedDto("ok", notificationService.unreadCount(userId)),
+                parseEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam),
+                (after, limit) -> notificationService.listCreatedAfter(userId, after, limit)
+        );
+    }
+
+    private String authenticate(String token) {
         if (token == null || token.isBlank()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing token");
         }
@@ -37,7 +57,15 @@ public class NotificationSseController {
         if (userId == null || userId.isBlank()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No subject");
         }
+        return userId;
+    }
 
-        return hub.subscribe(userId);
+    private static Long parseEventId(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        try {
+            return Long.parseLong(raw.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
     }
 }
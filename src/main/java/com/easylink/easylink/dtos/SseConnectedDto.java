@@ -0,0 +1,3 @@
+package com.easylink.easylink.dtos;
+
+public record SseConnectedDto(String status, long unread) {}
@@ -0,0 +1,69 @@
+package com.easylink.easylink.notifications;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Timer wheel for SSE heartbeats. Connections are hashed into slots and every tick visits a single slot,
+ * so one full turn takes one heartbeat interval and each tick touches only 1/slots of the open streams
+ * instead of all of them at once.
+ */
+@Slf4j
+class HeartbeatWheel {
+
+    private final List<Set<SseConnection>> slots;
+    private final Consumer<SseConnection> visitor;
+    private final ScheduledExecutorService ticker;
+    private int cursor;
+
+    HeartbeatWheel(int slotCount, Duration interval, Consumer<SseConnection> visitor) {
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(ConcurrentHashMap.newKeySet());
+        }
+        this.visitor = visitor;
+
+        long tickMicros = Math.max(1, interval.toNanos() / 1000 / slotCount);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("sse-heartbeat").daemon().factory());
+        ticker.scheduleAtFixedRate(this::tick, tickMicros, tickMicros, TimeUnit.MICROSECONDS);
+    }
+
+    void add(SseConnection connection) {
+        slotOf(connection).add(connection);
+    }
+
+    void remove(SseConnection connection) {
+        slotOf(connection).remove(connection);
+    }
+
+    private void tick() {
+        Set<SseConnection> slot = slots.get(cursor);
+        cursor = (cursor + 1) % slots.size();
+
+        // visitors only enqueue; the actual writes run in parallel on the hub's writer threads
+        for (SseConnection connection : slot) {
+            try {
+                visitor.accept(connection);
+            } catch (Exception e) {
+                log.warn("Heartbeat failed for user {}", connection.userId(), e);
+            }
+        }
+    }
+
+    private Set<SseConnection> slotOf(SseConnection connection) {
+        return slots.get(Math.floorMod(System.identityHashCode(connection), slots.size()));
+    }
+
+    void stop() {
+        ticker.shutdownNow();
+    }
+}
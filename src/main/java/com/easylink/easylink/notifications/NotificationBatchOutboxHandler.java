@@ -0,0 +1,30 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.outbox.OutboxEventHandler;
+import com.easylink.easylink.services.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationBatchOutboxHandler implements OutboxEventHandler<NotificationBatchRequest> {
+
+    private final NotificationService notificationService;
+
+    @Override
+    public String eventType() {
+        return NotificationBatchRequest.EVENT_TYPE;
+    }
+
+    @Override
+    public Class<NotificationBatchRequest> payloadType() {
+        return NotificationBatchRequest.class;
+    }
+
+    @Override
+    public void handle(UUID eventId, NotificationBatchRequest r) {
+        notificationService.createBatch(eventId, r.userIds(), r.type(), r.title(), r.body(), r.link());
+    }
+}
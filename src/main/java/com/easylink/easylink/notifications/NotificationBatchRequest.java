@@ -0,0 +1,11 @@
+package com.easylink.easylink.notifications;
+
+import java.util.List;
+
+/**
+ * Outbox payload for the same notification sent to many users, written with one batch insert.
+ */
+public record NotificationBatchRequest(List<String> userIds, String type, String title, String body, String link) {
+
+    public static final String EVENT_TYPE = "notification.batch_requested";
+}
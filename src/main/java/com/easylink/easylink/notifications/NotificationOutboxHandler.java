@@ -0,0 +1,30 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.outbox.OutboxEventHandler;
+import com.easylink.easylink.services.NotificationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationOutboxHandler implements OutboxEventHandler<NotificationRequest> {
+
+    private final NotificationService notificationService;
+
+    @Override
+    public String eventType() {
+        return NotificationRequest.EVENT_TYPE;
+    }
+
+    @Override
+    public Class<NotificationRequest> payloadType() {
+        return NotificationRequest.class;
+    }
+
+    @Override
+    public void handle(UUID eventId, NotificationRequest r) {
+        notificationService.create(eventId, r.userId(), r.type(), r.title(), r.body(), r.link());
+    }
+}
@@ -0,0 +1,9 @@
+package com.easylink.easylink.notifications;
+
+/**
+ * Outbox payload asking for a notification row plus its SSE push once the business write commits.
+ */
+public record NotificationRequest(String userId, String type, String title, String body, String link) {
+
+    public static final String EVENT_TYPE = "notification.requested";
+}
@@ -1,73 +1,315 @@
 package com.easylink.easylink.notifications;
 
 
+import com.easylink.easylink.config.NotificationSseProperties;
+import com.easylink.easylink.dtos.NotificationDto;
+import com.easylink.easylink.notifications.SseConnection.OfferResult;
+import com.easylink.easylink.notifications.SseConnection.OutboundEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
 
 @Component
-public class NotificationSseHub {
+public class NotificationSseHub implements SseConnection.Listener {
 
-    private final Map<String, Map<UUID, SseEmitter>> clients = new ConcurrentHashMap<>();
+    private final Map<String, Map<UUID, SseConnection>> clients = new ConcurrentHashMap<>();
 
-    public SseEmitter subscribe(String userId) {
+    private final NotificationSseProperties properties;
+
+    // null in local delivery mode
+    private final RedisNotificationRelay relay;
+
+    private final StreamAdmission admission;
+
+    // emitters write on virtual threads so callers (often inside a transaction) never block on a slow socket
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<OfferResult, Counter> dropCounters = new EnumMap<>(OfferResult.class);
+    private final Counter evicted;
+
+    private static final int DRAIN_BATCHES = 50;
+
+    private final HeartbeatWheel heartbeats;
+
+    private final Map<String, ReplayBuffer> replayBuffers = new ConcurrentHashMap<>();
+    private final AtomicLong eventIdClock = new AtomicLong();
+
+    public NotificationSseHub(NotificationSseProperties properties,
+                              ObjectProvider<RedisNotificationRelay> relayProvider,
+                              StreamAdmission admission,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.relay = relayProvider.getIfAvailable();
+        this.admission = admission;
+        if (relay != null) {
+            relay.bind(this::emitLocal);
+        }
+        this.heartbeats = new HeartbeatWheel(
+                properties.getHeartbeatSlots(), properties.getHeartbeatInterval(), this::heartbeat);
+
+        Gauge.builder("notifications.sse.connections", clients,
+                        c -> c.values().stream().mapToInt(Map::size).sum())
+                .register(meterRegistry);
+        Gauge.builder("notifications.sse.queue.depth", clients,
+                        c -> c.values().stream().flatMap(m -> m.values().stream()).mapToInt(SseConnection::depth).sum())
+                .register(meterRegistry);
+        for (OfferResult reason : OfferResult.values()) {
+            if (reason == OfferResult.QUEUED) continue;
+            dropCounters.put(reason, Counter.builder("notifications.sse.dropped")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.evicted = meterRegistry.counter("notifications.sse.evicted");
+    }
+
+    /**
+     * Registers a new stream. When the client reconnects with {@code lastEventId}, missed events are
+     * replayed from the in-memory buffer, or, if the buffer does not reach back that far, missed
+     * notifications are reloaded through {@code fallback} (rows created after the given time, oldest first).
+     * The reload starts {@code replay-overlap} before Last-Event-ID, so it can repeat notifications the client
+     * already has; clients drop {@code notification.created} events whose notification id they have seen.
+     */
+    public SseEmitter subscribe(String userId, Object connectedData, Long lastEventId,
+                                BiFunction<OffsetDateTime, Integer, List<NotificationDto>> fallback) {
         SseEmitter emitter = new SseEmitter(0L); // no timeout
         UUID connId = UUID.randomUUID();
+        SseConnection connection = new SseConnection(
+                userId, emitter, properties.getQueueCapacity(), properties.getOverflowPolicy(), writers, this);
+
+        ReplayBuffer buffer = replayBuffer(userId);
+        boolean gap;
 
-        clients.computeIfAbsent(userId, k -> new ConcurrentHashMap<>()).put(connId, emitter);
+        // subscribed before the replay snapshot, so events from other nodes land in the buffer or the queue
+        if (relay != null) relay.userConnected(userId);
+
+        // connected + replay are queued before the connection becomes visible to live emits
+        synchronized (buffer) {
+            connection.offer(new OutboundEvent(0L, "connected", connectedData, admission.reconnectDelayMillis()));
+
+            List<OutboundEvent> missed = lastEventId == null ? List.of() : buffer.after(lastEventId);
+            gap = missed == null;
+            if (!gap) missed.forEach(connection::offer);
+
+            clients.compute(userId, (k, userMap) -> {
+                if (userMap == null) userMap = new ConcurrentHashMap<>();
+                userMap.put(connId, connection);
+                return userMap;
+            });
+        }
+        heartbeats.add(connection);
+        enforceStreamCap(userId);
+
+        if (gap) {
+            replayFromStore(connection, lastEventId, fallback);
+        }
 
         Runnable cleanup = () -> remove(userId, connId);
         emitter.onCompletion(cleanup);
         emitter.onTimeout(cleanup);
         emitter.onError(e -> cleanup.run());
 
-        try {
-            emitter.send(SseEmitter.event().name("connected").data("ok"));
-        } catch (IOException ignored) {}
-
         return emitter;
     }
 
-    public void emitToUser(String userId, String eventName, Object data) {
+    // a new tab wins over the oldest one; stale streams the server has not noticed yet go first
+    private void enforceStreamCap(String userId) {
         var userMap = clients.get(userId);
-        if (userMap == null || userMap.isEmpty()) return;
+        while (userMap != null && userMap.size() > properties.getMaxStreamsPerUser()) {
+            var oldest = userMap.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().openedAtMillis()))
+                    .orElse(null);
+            if (oldest == null) return;
+            remove(userId, oldest.getKey());
+            oldest.getValue().close();
+            evicted.increment();
+        }
+    }
 
-        userMap.forEach((connId, emitter) -> {
-            try {
-                emitter.send(SseEmitter.event().name(eventName).data(data));
-            } catch (Exception e) {
-                remove(userId, connId);
-            }
+    private void replayFromStore(SseConnection connection, long lastEventId,
+                                 BiFunction<OffsetDateTime, Integer, List<NotificationDto>> fallback) {
+        int limit = properties.getReplayDbLimit();
+        // live event ids are the emitting node's clock after commit, not the row's createdAt: a row stamped
+        // before Last-Event-ID may still have been pushed after it, so look back by the overlap
+        OffsetDateTime from = toTime(lastEventId).minus(properties.getReplayOverlap());
+        List<NotificationDto> missed = fallback.apply(from, limit + 1);
+
+        if (missed.size() > limit) {
+            // too far behind for a delta; let the client refetch its list
+            connection.offer("notification.resync", "ok");
+            return;
+        }
+        for (NotificationDto n : missed) {
+            // never behind Last-Event-ID, so a repeat does not move the client's cursor back
+            long eventId = Math.max(toEventId(n.getCreatedAt()), lastEventId);
+            connection.offer(new OutboundEvent(eventId, "notification.created", n));
+        }
+    }
+
+    public void emitToUser(String userId, String eventName, Object data) {
+        long eventId = nextEventId();
+        if (relay != null) {
+            relay.publish(userId, eventId, eventName, data);
+            return;
+        }
+        emitLocal(userId, eventId, eventName, data);
+    }
+
+    private void emitLocal(String userId, long eventId, String eventName, Object data) {
+        OutboundEvent event = new OutboundEvent(eventId, eventName, data);
+
+        // buffers exist only for users connected now or within the retention window
+        ReplayBuffer buffer = clients.containsKey(userId) ? replayBuffer(userId) : replayBuffers.get(userId);
+        if (buffer == null) return;
+
+        synchronized (buffer) {
+            buffer.add(event);
+
+            var userMap = clients.get(userId);
+            if (userMap == null || userMap.isEmpty()) return;
+
+            userMap.values().forEach(connection -> connection.offer(event));
+        }
+    }
+
+    private ReplayBuffer replayBuffer(String userId) {
+        return replayBuffers.computeIfAbsent(userId,
+                k -> new ReplayBuffer(properties.getReplayBufferSize(), nextEventId()));
+    }
+
+    // microseconds since epoch, bumped to stay strictly increasing; decodes back to a timestamp for DB replay
+    private long nextEventId() {
+        long now = toEventId(Instant.now());
+        return eventIdClock.updateAndGet(prev -> Math.max(prev + 1, now));
+    }
+
+    // microseconds, the precision of timestamptz, so an id and a row's createdAt compare without rounding
+    static long toEventId(OffsetDateTime time) {
+        return toEventId(time.toInstant());
+    }
+
+    private static long toEventId(Instant instant) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+    }
+
+    static OffsetDateTime toTime(long eventId) {
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(eventId, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+
+    @Override
+    public void onDrop(SseConnection connection, OfferResult reason) {
+        dropCounters.get(reason).increment();
+        if (reason == OfferResult.OVERFLOW_DISCONNECT) {
+            removeConnection(connection);
+        }
+    }
+
+    @Override
+    public void onFailure(SseConnection connection) {
+        removeConnection(connection);
+    }
+
+    private void removeConnection(SseConnection connection) {
+        var userMap = clients.get(connection.userId());
+        if (userMap == null) return;
+        userMap.forEach((connId, c) -> {
+            if (c == connection) remove(connection.userId(), connId);
         });
     }
 
     private void remove(String userId, UUID connId) {
-        var userMap = clients.get(userId);
-        if (userMap == null) return;
-        userMap.remove(connId);
-        if (userMap.isEmpty()) clients.remove(userId);
+        boolean[] removedOne = {false};
+        clients.computeIfPresent(userId, (k, userMap) -> {
+            SseConnection removed = userMap.remove(connId);
+            if (removed != null) {
+                heartbeats.remove(removed);
+                removedOne[0] = true;
+            }
+            if (!userMap.isEmpty()) return userMap;
+            if (relay != null) {
+                // this node may stop receiving the user's events, so its buffer would silently have gaps
+                replayBuffers.remove(userId);
+            }
+            return null;
+        });
+        // outside compute: the UNSUBSCRIBE round-trip must not block emits for this user
+        if (removedOne[0] && relay != null) relay.userDisconnected(userId);
     }
 
-    @Scheduled(fixedRate = 25000)
-    public void heartbeat() {
-        var dead = new ArrayList<Runnable>();
+    // called by the wheel for every stream once per heartbeat interval; evicts dead streams in the same pass
+    private void heartbeat(SseConnection connection) {
+        if (connection.isClosed()) {
+            heartbeats.remove(connection);
+            removeConnection(connection);
+            return;
+        }
+        long idleMillis = System.currentTimeMillis() - connection.lastWriteMillis();
+        if (idleMillis >= properties.getHeartbeatInterval().toMillis()) {
+            connection.offer("ping", "ok");
+        }
+    }
 
-        clients.forEach((userId, userMap) -> {
-            userMap.forEach((connId, emitter) -> {
+    @Scheduled(fixedRate = 60000)
+    public void expireReplayBuffers() {
+        long expiredBefore = System.currentTimeMillis() - properties.getReplayRetention().toMillis();
+        replayBuffers.entrySet().removeIf(e ->
+                !clients.containsKey(e.getKey()) && e.getValue().lastAppendMillis() < expiredBefore);
+    }
+
+    /**
+     * Closes every open stream in small batches spread over {@code window}, so clients reconnect to the
+     * remaining nodes gradually. Blocks until the last batch is closed.
+     */
+    void drain(Duration window) {
+        List<SseConnection> open = new ArrayList<>(clients.values().stream()
+                .flatMap(m -> m.values().stream())
+                .toList());
+        if (open.isEmpty()) return;
+        Collections.shuffle(open);
+
+        int batches = Math.min(DRAIN_BATCHES, open.size());
+        long pauseMillis = window.toMillis() / batches;
+        for (int i = 0; i < batches; i++) {
+            int from = i * open.size() / batches;
+            int to = (i + 1) * open.size() / batches;
+            open.subList(from, to).forEach(SseConnection::close);
+            if (i < batches - 1) {
                 try {
-                    emitter.send(SseEmitter.event().name("ping").data("ok"));
-                } catch (IOException | IllegalStateException e) {
-                    dead.add(() -> remove(userId, connId));
+                    Thread.sleep(pauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    open.subList(to, open.size()).forEach(SseConnection::close);
+                    return;
                 }
-            });
-        });
+            }
+        }
+    }
 
-        dead.forEach(Runnable::run);
+    @PreDestroy
+    void shutdown() {
+        heartbeats.stop();
+        writers.shutdownNow();
     }
-}
\ No newline at end of file
+}
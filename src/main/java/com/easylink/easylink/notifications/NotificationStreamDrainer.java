@@ -0,0 +1,46 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.config.NotificationSseProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drains notification streams on shutdown. Runs in the first lifecycle phase to stop, before the web server's
+ * graceful shutdown, which would otherwise wait on the never-ending streams and then cut them all at once.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationStreamDrainer implements SmartLifecycle {
+
+    private final StreamAdmission admission;
+    private final NotificationSseHub hub;
+    private final NotificationSseProperties properties;
+
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        log.info("Draining notification streams over {}", properties.getDrainWindow());
+        admission.stopAccepting();
+        hub.drain(properties.getDrainWindow());
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE;
+    }
+}
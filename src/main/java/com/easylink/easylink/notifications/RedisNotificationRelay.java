@@ -0,0 +1,125 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.config.NotificationSseProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cross-node delivery for {@link NotificationSseHub}.
+ * Every user has its own channel; a node subscribes to it only while it holds
+ * at least one stream for that user, so Redis routes events to the right nodes only.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "notifications.sse.delivery", havingValue = "redis")
+public class RedisNotificationRelay implements MessageListener {
+
+    public interface LocalDelivery {
+        void deliver(String userId, long eventId, String eventName, Object data);
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+    private final ObjectMapper objectMapper;
+    private final String channelPrefix;
+
+    private final Map<String, Integer> localStreams = new ConcurrentHashMap<>();
+    // users whose channel is subscribed on the container; changed only under the user's stripe
+    private final Set<String> subscribed = ConcurrentHashMap.newKeySet();
+    private final Object[] stripes = new Object[64];
+
+    private volatile LocalDelivery localDelivery = (userId, eventId, eventName, data) -> {};
+
+    public RedisNotificationRelay(StringRedisTemplate redisTemplate,
+                                  RedisMessageListenerContainer notificationListenerContainer,
+                                  ObjectMapper objectMapper,
+                                  NotificationSseProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.container = notificationListenerContainer;
+        this.objectMapper = objectMapper;
+        this.channelPrefix = properties.getChannelPrefix();
+        Arrays.setAll(stripes, i -> new Object());
+    }
+
+    void bind(LocalDelivery localDelivery) {
+        this.localDelivery = localDelivery;
+    }
+
+    public void publish(String userId, long eventId, String eventName, Object data) {
+        try {
+            var envelope = objectMapper.createObjectNode();
+            envelope.put("id", eventId);
+            envelope.put("event", eventName);
+            envelope.set("data", objectMapper.valueToTree(data));
+            redisTemplate.convertAndSend(channel(userId), objectMapper.writeValueAsString(envelope));
+        } catch (Exception e) {
+            log.warn("Failed to publish {} for user {}", eventName, userId, e);
+        }
+    }
+
+    /**
+     * Called once per local stream; the channel is subscribed for the first one.
+     * Blocks for the SUBSCRIBE round-trip, so callers must not hold a lock that delivery needs.
+     */
+    public void userConnected(String userId) {
+        localStreams.merge(userId, 1, Integer::sum);
+        syncSubscription(userId);
+    }
+
+    public void userDisconnected(String userId) {
+        localStreams.computeIfPresent(userId, (k, n) -> n > 1 ? n - 1 : null);
+        syncSubscription(userId);
+    }
+
+    // brings the container in line with the current count; a connect and disconnect racing each other both
+    // end here, and whichever runs last sees the final count
+    private void syncSubscription(String userId) {
+        synchronized (stripes[Math.floorMod(userId.hashCode(), stripes.length)]) {
+            boolean wanted = localStreams.containsKey(userId);
+            if (wanted == subscribed.contains(userId)) return;
+
+            ChannelTopic topic = new ChannelTopic(channel(userId));
+            if (wanted) {
+                container.addMessageListener(this, topic);
+                subscribed.add(userId);
+            } else {
+                container.removeMessageListener(this, topic);
+                subscribed.remove(userId);
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String channel = new String(message.getChannel(), StandardCharsets.UTF_8);
+        if (!channel.startsWith(channelPrefix)) return;
+
+        String userId = channel.substring(channelPrefix.length());
+        try {
+            JsonNode envelope = objectMapper.readTree(message.getBody());
+            JsonNode data = envelope.get("data");
+            Object payload = (data == null || data.isNull()) ? "" : data.isTextual() ? data.asText() : data;
+            localDelivery.deliver(userId, envelope.path("id").asLong(), envelope.path("event").asText(), payload);
+        } catch (Exception e) {
+            log.warn("Dropping malformed notification message on {}", channel, e);
+        }
+    }
+
+    private String channel(String userId) {
+        return channelPrefix + userId;
+    }
+}
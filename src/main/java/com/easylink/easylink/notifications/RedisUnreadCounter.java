@@ -0,0 +1,125 @@
+package com.easylink.easylink.notifications;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Per-user unread notification counter. Postgres stays the source of truth:
+ * a missing key means "unknown" and callers fall back to the SQL count.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisUnreadCounter {
+
+    private static final String PREFIX = "notifications:unread:";
+    private static final Duration TTL = Duration.ofDays(1);
+
+    // adjusts only a counter that is already seeded, never below zero
+    private static final RedisScript<Long> ADJUST = new DefaultRedisScript<>("""
+            if redis.call('exists', KEYS[1]) == 0 then return nil end
+            local v = redis.call('incrby', KEYS[1], ARGV[1])
+            if v < 0 then redis.call('set', KEYS[1], 0); v = 0 end
+            redis.call('expire', KEYS[1], ARGV[2])
+            return v
+            """, Long.class);
+
+    // overwrites only a counter nothing has adjusted since it was read
+    private static final RedisScript<Long> COMPARE_AND_SET = new DefaultRedisScript<>("""
+            if redis.call('get', KEYS[1]) ~= ARGV[1] then return 0 end
+            redis.call('set', KEYS[1], ARGV[2], 'EX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    public Long get(String userId) {
+        try {
+            String v = redisTemplate.opsForValue().get(key(userId));
+            return v == null ? null : Long.parseLong(v);
+        } catch (Exception e) {
+            log.warn("Unread counter read failed for {}", userId, e);
+            return null;
+        }
+    }
+
+    /**
+     * Seeds a missing counter. A counter seeded or adjusted meanwhile is newer than the caller's SQL count
+     * and is kept.
+     */
+    public void setIfAbsent(String userId, long value) {
+        try {
+            redisTemplate.opsForValue().setIfAbsent(key(userId), Long.toString(value), TTL);
+        } catch (Exception e) {
+            log.warn("Unread counter write failed for {}", userId, e);
+        }
+    }
+
+    /**
+     * Replaces the counter only if it still holds {@code expected}; false if it changed, expired or the write failed.
+     */
+    public boolean compareAndSet(String userId, long expected, long value) {
+        try {
+            Long updated = redisTemplate.execute(COMPARE_AND_SET, List.of(key(userId)),
+                    Long.toString(expected), Long.toString(value), Long.toString(TTL.toSeconds()));
+            return updated != null && updated == 1;
+        } catch (Exception e) {
+            log.warn("Unread counter write failed for {}", userId, e);
+            return false;
+        }
+    }
+
+    public void adjust(String userId, long delta) {
+        if (delta == 0) return;
+        try {
+            redisTemplate.execute(ADJUST, List.of(key(userId)), Long.toString(delta), Long.toString(TTL.toSeconds()));
+        } catch (Exception e) {
+            // a stale counter is repaired by reconciliation; drop it so reads fall back to SQL meanwhile
+            log.warn("Unread counter update failed for {}", userId, e);
+            evict(userId);
+        }
+    }
+
+    public void evict(String userId) {
+        try {
+            redisTemplate.delete(key(userId));
+        } catch (Exception ignored) {
+        }
+    }
+
+    /**
+     * Streams cached user ids in batches, for reconciliation.
+     */
+    public void forEachCachedUser(int batchSize, Consumer<List<String>> batchConsumer) {
+        ScanOptions options = ScanOptions.scanOptions().match(PREFIX + "*").count(batchSize).build();
+        List<String> batch = new ArrayList<>(batchSize);
+
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next().substring(PREFIX.length()));
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(List.copyOf(batch));
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            batchConsumer.accept(batch);
+        }
+    }
+
+    private String key(String userId) {
+        return PREFIX + userId;
+    }
+}
@@ -0,0 +1,47 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.notifications.SseConnection.OutboundEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Last N events emitted to one user, kept so a reconnecting client can resume from Last-Event-ID.
+ * Callers synchronize on the buffer while appending and while registering a new connection,
+ * so a replay and the live stream never interleave.
+ */
+class ReplayBuffer {
+
+    private final int capacity;
+    private final Deque<OutboundEvent> events = new ArrayDeque<>();
+
+    // every event with a greater id is still in the buffer
+    private long coveredFrom;
+    private long lastAppendMillis = System.currentTimeMillis();
+
+    ReplayBuffer(int capacity, long coveredFrom) {
+        this.capacity = capacity;
+        this.coveredFrom = coveredFrom;
+    }
+
+    void add(OutboundEvent event) {
+        if (events.size() == capacity) {
+            coveredFrom = events.pollFirst().id();
+        }
+        events.addLast(event);
+        lastAppendMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Events newer than {@code lastEventId}, or null when the buffer no longer reaches back that far.
+     */
+    List<OutboundEvent> after(long lastEventId) {
+        if (lastEventId < coveredFrom) return null;
+        return events.stream().filter(e -> e.id() > lastEventId).toList();
+    }
+
+    long lastAppendMillis() {
+        return lastAppendMillis;
+    }
+}
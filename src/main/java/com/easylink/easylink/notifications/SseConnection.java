@@ -0,0 +1,198 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.config.NotificationSseProperties.OverflowPolicy;
+import com.easylink.easylink.dtos.UnreadDeltaDto;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+
+/**
+ * One open SSE stream with its own bounded outbound queue.
+ * Producers only enqueue; a writer task on the hub's executor drains the queue,
+ * so a slow client never blocks the thread that emitted the event.
+ */
+class SseConnection {
+
+    static final String UNREAD_CHANGED = "notification.unread_changed";
+
+    // id is 0 for events that must not move the client's Last-Event-ID (connected, ping);
+    // retryMillis > 0 is sent as the client's reconnect delay
+    record OutboundEvent(long id, String name, Object data, long retryMillis) {
+        OutboundEvent(long id, String name, Object data) {
+            this(id, name, data, 0L);
+        }
+    }
+
+    enum OfferResult { QUEUED, DROPPED, COALESCED, OVERFLOW_DISCONNECT }
+
+    interface Listener {
+        void onDrop(SseConnection connection, OfferResult reason);
+        void onFailure(SseConnection connection);
+    }
+
+    private final String userId;
+    private final SseEmitter emitter;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final Executor writer;
+    private final Listener listener;
+
+    private final Deque<OutboundEvent> queue = new ArrayDeque<>();
+    private boolean draining;
+    private volatile boolean closed;
+    private final long openedAtMillis = System.currentTimeMillis();
+    private volatile long lastWriteMillis = openedAtMillis;
+
+    SseConnection(String userId, SseEmitter emitter, int capacity, OverflowPolicy policy,
+                  Executor writer, Listener listener) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.writer = writer;
+        this.listener = listener;
+    }
+
+    String userId() {
+        return userId;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    long openedAtMillis() {
+        return openedAtMillis;
+    }
+
+    /** Time of the last successful write, so heartbeats can skip streams that carried traffic recently. */
+    long lastWriteMillis() {
+        return lastWriteMillis;
+    }
+
+    synchronized int depth() {
+        return queue.size();
+    }
+
+    OfferResult offer(String name, Object data) {
+        return offer(new OutboundEvent(0L, name, data));
+    }
+
+    OfferResult offer(OutboundEvent event) {
+        String name = event.name();
+        Object data = event.data();
+        if (closed) return OfferResult.DROPPED;
+
+        OfferResult result = OfferResult.QUEUED;
+        boolean startWriter = false;
+
+        synchronized (this) {
+            if (queue.size() >= capacity) {
+                switch (policy) {
+                    case DISCONNECT -> {
+                        queue.clear();
+                        result = OfferResult.OVERFLOW_DISCONNECT;
+                    }
+                    case COALESCE_UNREAD -> {
+                        UnreadDeltaDto merged = UNREAD_CHANGED.equals(name) ? mergePendingUnread(data) : null;
+                        if (merged != null) {
+                            data = merged;
+                            result = OfferResult.COALESCED;
+                        } else {
+                            queue.pollFirst();
+                            result = OfferResult.DROPPED;
+                        }
+                    }
+                    case DROP_OLDEST -> {
+                        queue.pollFirst();
+                        result = OfferResult.DROPPED;
+                    }
+                }
+            }
+            if (result != OfferResult.OVERFLOW_DISCONNECT) {
+                queue.addLast(data == event.data() ? event : new OutboundEvent(event.id(), name, data, event.retryMillis()));
+                if (!draining) {
+                    draining = true;
+                    startWriter = true;
+                }
+            }
+        }
+
+        if (result == OfferResult.OVERFLOW_DISCONNECT) {
+            close();
+        }
+        if (result != OfferResult.QUEUED) {
+            listener.onDrop(this, result);
+        }
+        if (startWriter) {
+            writer.execute(this::drain);
+        }
+        return result;
+    }
+
+    // caller holds the lock; removes the first pending unread_changed and folds it into the incoming delta
+    private UnreadDeltaDto mergePendingUnread(Object data) {
+        Integer incoming = deltaOf(data);
+        if (incoming == null) return null;
+
+        Iterator<OutboundEvent> it = queue.iterator();
+        while (it.hasNext()) {
+            OutboundEvent pending = it.next();
+            Integer queued = UNREAD_CHANGED.equals(pending.name()) ? deltaOf(pending.data()) : null;
+            if (queued != null) {
+                it.remove();
+                return new UnreadDeltaDto(queued + incoming);
+            }
+        }
+        return null;
+    }
+
+    private void drain() {
+        while (true) {
+            OutboundEvent next;
+            synchronized (this) {
+                next = queue.pollFirst();
+                if (next == null || closed) {
+                    draining = false;
+                    return;
+                }
+            }
+            try {
+                var builder = SseEmitter.event().name(next.name()).data(next.data());
+                if (next.id() > 0) builder.id(Long.toString(next.id()));
+                if (next.retryMillis() > 0) builder.reconnectTime(next.retryMillis());
+                emitter.send(builder);
+                lastWriteMillis = System.currentTimeMillis();
+            } catch (Exception e) {
+                synchronized (this) {
+                    queue.clear();
+                    draining = false;
+                }
+                closed = true;
+                listener.onFailure(this);
+                return;
+            }
+        }
+    }
+
+    void close() {
+        closed = true;
+        try {
+            emitter.complete();
+        } catch (Exception ignored) {}
+    }
+
+    private static Integer deltaOf(Object data) {
+        if (data instanceof UnreadDeltaDto d) return d.delta();
+        if (data instanceof JsonNode n && n.path("delta").isInt()) return n.get("delta").asInt();
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.config.NotificationSseProperties;
+import com.easylink.easylink.exceptions.RateLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-node admission control for new notification streams. A token bucket caps how fast streams are opened,
+ * so a reconnect storm after a rolling restart is turned away before the JWT is decoded.
+ * Kept local on purpose: each node protects its own CPU, and no Redis round trip is added to the check.
+ */
+@Component
+public class StreamAdmission {
+
+    private final NotificationSseProperties properties;
+    private final double ratePerNano;
+    private final double burst;
+    private final Counter rejected;
+
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+    private volatile boolean accepting = true;
+
+    public StreamAdmission(NotificationSseProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.ratePerNano = properties.getAdmissionRate() / 1e9;
+        this.burst = properties.getAdmissionBurst();
+        this.tokens = burst;
+        this.rejected = meterRegistry.counter("notifications.sse.admission.rejected");
+    }
+
+    public void acquire() {
+        if (!accepting) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Node is shutting down");
+        }
+        if (!tryTake()) {
+            rejected.increment();
+            throw new RateLimitExceededException("Too many new notification streams, retry later");
+        }
+    }
+
+    /**
+     * Jittered reconnect delay for the {@code retry:} field, so clients dropped together do not come back together.
+     */
+    long reconnectDelayMillis() {
+        long jitter = properties.getReconnectJitter().toMillis();
+        return properties.getReconnectDelay().toMillis() + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter + 1) : 0);
+    }
+
+    private synchronized boolean tryTake() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - refilledAt) * ratePerNano);
+        refilledAt = now;
+        if (tokens < 1) return false;
+        tokens -= 1;
+        return true;
+    }
+
+    void stopAccepting() {
+        accepting = false;
+    }
+}
@@ -0,0 +1,6 @@
+package com.easylink.easylink.outbox;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public record OutboxEvent(UUID id, String eventType, String payload, OffsetDateTime createdAt, int attempts) {}
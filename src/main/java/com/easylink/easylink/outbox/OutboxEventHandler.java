@@ -0,0 +1,17 @@
+package com.easylink.easylink.outbox;
+
+import java.util.UUID;
+
+/**
+ * Side effect executed by {@link OutboxRelay} once the transaction that appended the event has committed.
+ * Delivery is at-least-once, so handlers should tolerate an occasional replay.
+ */
+public interface OutboxEventHandler<T> {
+
+    String eventType();
+
+    Class<T> payloadType();
+
+    // eventId is the same on every redelivery, so it can serve as an idempotency key
+    void handle(UUID eventId, T payload);
+}
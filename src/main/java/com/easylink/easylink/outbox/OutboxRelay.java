@@ -0,0 +1,147 @@
+package com.easylink.easylink.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes committed outbox events in batches.
+ * Appends wake the relay right after commit; the scheduled poll picks up anything
+ * left behind by a restart, a failed handler or another node's expired lease.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxRepository repository;
+    private final ObjectMapper objectMapper;
+    private final Map<String, OutboxEventHandler<?>> handlers;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryBackoff;
+    private final Duration maxRetryBackoff;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicBoolean rerun = new AtomicBoolean();
+
+    private final Counter published;
+    private final Counter failed;
+    private final Counter dead;
+
+    public OutboxRelay(OutboxRepository repository,
+                       ObjectMapper objectMapper,
+                       List<OutboxEventHandler<?>> handlers,
+                       MeterRegistry meterRegistry,
+                       @Value("${outbox.batch-size:100}") int batchSize,
+                       @Value("${outbox.max-attempts:10}") int maxAttempts,
+                       @Value("${outbox.lease-seconds:60}") long leaseSeconds,
+                       @Value("${outbox.retry-backoff:5s}") Duration retryBackoff,
+                       @Value("${outbox.max-retry-backoff:1h}") Duration maxRetryBackoff) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers.stream()
+                .collect(Collectors.toMap(OutboxEventHandler::eventType, Function.identity()));
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.retryBackoff = retryBackoff;
+        this.maxRetryBackoff = maxRetryBackoff;
+        this.published = meterRegistry.counter("outbox.published");
+        this.failed = meterRegistry.counter("outbox.failed");
+        this.dead = meterRegistry.counter("outbox.dead");
+    }
+
+    public void wakeUp() {
+        Thread.ofVirtual().name("outbox-relay").start(this::poll);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.poll-interval-ms:1000}")
+    public void poll() {
+        if (!running.compareAndSet(false, true)) {
+            rerun.set(true);
+            return;
+        }
+        try {
+            do {
+                rerun.set(false);
+                drain();
+            } while (rerun.get());
+        } catch (Exception e) {
+            log.error("Outbox poll failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            List<OutboxEvent> batch = repository.claimBatch(batchSize, maxAttempts, lease);
+            batch.forEach(this::dispatch);
+            if (batch.size() < batchSize) return;
+        }
+    }
+
+    private void dispatch(OutboxEvent event) {
+        OutboxEventHandler<?> handler = handlers.get(event.eventType());
+        if (handler == null) {
+            log.error("No outbox handler for {} ({}), parking it", event.eventType(), event.id());
+            repository.markDead(event.id(), "No handler for " + event.eventType());
+            dead.increment();
+            return;
+        }
+
+        try {
+            invoke(handler, event);
+            repository.markPublished(event.id());
+            published.increment();
+        } catch (Exception e) {
+            fail(event, e);
+        }
+    }
+
+    private void fail(OutboxEvent event, Exception e) {
+        if (event.attempts() >= maxAttempts) {
+            log.error("Outbox event {} ({}) failed {} times, parking it", event.id(), event.eventType(), event.attempts(), e);
+            repository.markDead(event.id(), e.toString());
+            dead.increment();
+            return;
+        }
+        Duration retryAfter = backoff(event.attempts());
+        log.warn("Outbox event {} ({}) failed on attempt {}, retrying in {}",
+                event.id(), event.eventType(), event.attempts(), retryAfter, e);
+        repository.markFailed(event.id(), e.toString(), retryAfter);
+        failed.increment();
+    }
+
+    // retry-backoff doubled per attempt, capped at max-retry-backoff
+    Duration backoff(int attempts) {
+        int doublings = Math.min(Math.max(attempts - 1, 0), 30);
+        Duration delay = retryBackoff.multipliedBy(1L << doublings);
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private <T> void invoke(OutboxEventHandler<T> handler, OutboxEvent event) throws JsonProcessingException {
+        handler.handle(event.id(), objectMapper.readValue(event.payload(), handler.payloadType()));
+    }
+
+    @Scheduled(cron = "0 30 3 * * *") // every day at 03:30
+    public void purgePublished() {
+        int deleted = repository.deletePublishedBefore(OffsetDateTime.now().minusDays(7));
+        log.info("Purged {} published outbox events", deleted);
+    }
+}
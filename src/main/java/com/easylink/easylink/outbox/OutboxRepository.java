@@ -0,0 +1,93 @@
+package com.easylink.easylink.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private static final RowMapper<OutboxEvent> ROW_MAPPER = (rs, n) -> new OutboxEvent(
+            rs.getObject("id", UUID.class),
+            rs.getString("event_type"),
+            rs.getString("payload"),
+            rs.getObject("created_at", OffsetDateTime.class),
+            rs.getInt("attempts")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // runs on the caller's connection, so it commits or rolls back with the business write
+    public void insert(UUID id, String eventType, String payload) {
+        jdbcTemplate.update(
+                "insert into outbox_event (id, event_type, payload, created_at) values (?, ?, ?, now())",
+                id, eventType, payload
+        );
+    }
+
+    /**
+     * Leases up to {@code limit} pending events; rows held by another node are skipped.
+     * A lease that is never released (crash) expires and the event becomes claimable again.
+     */
+    public List<OutboxEvent> claimBatch(int limit, int maxAttempts, Duration lease) {
+        List<OutboxEvent> claimed = jdbcTemplate.query("""
+                update outbox_event
+                set locked_until = now() + (? * interval '1 second'),
+                    attempts = attempts + 1
+                where id in (
+                    select id from outbox_event
+                    where published_at is null
+                      and dead_at is null
+                      and attempts < ?
+                      and (locked_until is null or locked_until < now())
+                    order by created_at
+                    limit ?
+                    for update skip locked
+                )
+                returning id, event_type, payload, created_at, attempts
+                """, ROW_MAPPER, lease.toSeconds(), maxAttempts, limit);
+
+        return claimed.stream().sorted(Comparator.comparing(OutboxEvent::createdAt)).toList();
+    }
+
+    public void markPublished(UUID id) {
+        jdbcTemplate.update(
+                "update outbox_event set published_at = now(), locked_until = null, last_error = null where id = ?",
+                id
+        );
+    }
+
+    // the lease is extended to the retry time, so no poll picks the event up before its backoff has passed
+    public void markFailed(UUID id, String error, Duration retryAfter) {
+        jdbcTemplate.update(
+                "update outbox_event set locked_until = now() + (? * interval '1 second'), last_error = ? where id = ?",
+                retryAfter.toSeconds(), trim(error), id
+        );
+    }
+
+    public void markDead(UUID id, String error) {
+        jdbcTemplate.update(
+                "update outbox_event set dead_at = now(), locked_until = null, last_error = ? where id = ?",
+                trim(error), id
+        );
+    }
+
+    private static String trim(String error) {
+        return error == null ? null : error.substring(0, Math.min(error.length(), 500));
+    }
+
+    public int deletePublishedBefore(OffsetDateTime cutoff) {
+        return jdbcTemplate.update(
+                "delete from outbox_event where published_at is not null and published_at < ?",
+                cutoff
+        );
+    }
+}
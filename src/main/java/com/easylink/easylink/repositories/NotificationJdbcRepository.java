@@ -0,0 +1,49 @@
+package com.easylink.easylink.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Set-based writes for the notification table that would be one statement per row through JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationJdbcRepository {
+
+    private static final String INSERT_MISSING_SQL = """
+            insert into notification (id, user_id, type, title, body, link, is_read, created_at)
+            select r.id, r.user_id, ?, ?, ?, ?, false, ?
+            from unnest(cast(? as uuid[]), cast(? as varchar[])) as r(id, user_id)
+            on conflict (id) do nothing
+            returning id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * One statement for the same notification to many users ({@code ids} and {@code userIds} pair up by index).
+     * Ids that already exist are skipped; returns the ids actually inserted.
+     */
+    public List<UUID> insertMissing(List<UUID> ids, List<String> userIds, String type, String title, String body,
+                                    String link, OffsetDateTime createdAt) {
+        if (ids.isEmpty()) return List.of();
+
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(INSERT_MISSING_SQL);
+            ps.setString(1, type);
+            ps.setString(2, title);
+            ps.setString(3, body);
+            ps.setString(4, link);
+            ps.setObject(5, createdAt);
+            ps.setArray(6, con.createArrayOf("uuid", ids.toArray()));
+            ps.setArray(7, con.createArrayOf("varchar", userIds.toArray()));
+            return ps;
+        }, (rs, n) -> rs.getObject("id", UUID.class));
+    }
+}
@@ -3,11 +3,61 @@ package com.easylink.easylink.repositories;
 import com.easylink.easylink.entities.NotificationEntity;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
 
 public interface SpringDataNotificationRepository extends JpaRepository<NotificationEntity, UUID> {
-    List<NotificationEntity> findByUserIdOrderByCreatedAtDesc(String userId, PageRequest page);
     long countByUserIdAndReadFalse(String userId);
+
+    @Query("""
+    select n.userId, count(n)
+    from NotificationEntity n
+    where n.read = false
+      and n.userId in :userIds
+    group by n.userId
+""")
+    List<Object[]> countUnreadByUserIdIn(@Param("userIds") List<String> userIds);
+
+    List<NotificationEntity> findByUserIdOrderByCreatedAtDescIdDesc(String userId, PageRequest page);
+
+    List<NotificationEntity> findByUserIdAndCreatedAtAfterOrderByCreatedAtAscIdAsc(String userId,
+                                                                                   OffsetDateTime after,
+                                                                                   PageRequest page);
+
+    // keyset page: everything strictly older than the (createdAt, id) cursor
+    @Query("""
+    select n
+    from NotificationEntity n
+    where n.userId = :userId
+      and (n.createdAt < :createdAt or (n.createdAt = :createdAt and n.id < :id))
+    order by n.createdAt desc, n.id desc
+""")
+    List<NotificationEntity> findPageBefore(@Param("userId") String userId,
+                                            @Param("createdAt") OffsetDateTime createdAt,
+                                            @Param("id") UUID id,
+                                            PageRequest page);
+
+    // 1 only for the caller that actually flips the row, so concurrent calls decrement the counter once
+    @Modifying
+    @Query("update NotificationEntity n set n.read = true where n.id = :id and n.userId = :userId and n.read = false")
+    int markReadIfUnread(@Param("id") UUID id, @Param("userId") String userId);
+
+    @Modifying
+    @Query("update NotificationEntity n set n.read = true where n.userId = :userId and n.read = false")
+    int markAllRead(@Param("userId") String userId);
+
+    @Modifying
+    @Query("""
+    update NotificationEntity n
+    set n.read = true
+    where n.userId = :userId
+      and n.read = false
+      and n.createdAt <= :upTo
+""")
+    int markAllReadUpTo(@Param("userId") String userId, @Param("upTo") OffsetDateTime upTo);
 }
@@ -0,0 +1,43 @@
+package com.easylink.easylink.schedulers;
+
+import com.easylink.easylink.vibe_service.application.service.FollowingOfferFeedService;
+import com.easylink.easylink.vibe_service.infrastructure.repository.FollowingOfferJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OfferExpiryFeedScheduler {
+
+    private final FollowingOfferJdbcRepository followingOfferJdbcRepository;
+    private final FollowingOfferFeedService followingOfferFeedService;
+
+    private Instant sweptUntil = Instant.now();
+
+    // offers end without any write, so vibes whose offers ended since the last sweep are rescored here
+    @Scheduled(fixedDelayString = "${feed.following-offers.expiry-sweep-ms:60000}")
+    public void sweep() {
+        Instant now = Instant.now();
+        List<UUID> vibeIds = followingOfferJdbcRepository.findVibeIdsWithOffersEndedBetween(sweptUntil, now);
+
+        for (UUID vibeId : vibeIds) {
+            try {
+                followingOfferFeedService.offersChanged(vibeId);
+            } catch (Exception e) {
+                log.warn("Following-offer feed rescore failed for vibe {}", vibeId, e);
+            }
+        }
+        sweptUntil = now;
+
+        if (!vibeIds.isEmpty()) {
+            log.info("Rescored following-offer feeds for {} vibes with ended offers", vibeIds.size());
+        }
+    }
+}
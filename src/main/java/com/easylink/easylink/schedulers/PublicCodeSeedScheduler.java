@@ -0,0 +1,25 @@
+package com.easylink.easylink.schedulers;
+
+import com.easylink.easylink.vibe_service.application.service.PublicCodeAllocator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PublicCodeSeedScheduler {
+
+    private final PublicCodeAllocator publicCodeAllocator;
+
+    // seeding a length inserts every code of it, so it runs here instead of in the claim that first needs it
+    @Scheduled(initialDelay = 30000, fixedDelayString = "${vibe.public-code.seed-interval-ms:3600000}")
+    public void seedMissingLengths() {
+        try {
+            publicCodeAllocator.seedMissingLengths();
+        } catch (Exception e) {
+            log.warn("Public code seeding failed", e);
+        }
+    }
+}
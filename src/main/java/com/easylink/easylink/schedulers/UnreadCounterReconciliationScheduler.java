@@ -0,0 +1,54 @@
+package com.easylink.easylink.schedulers;
+
+import com.easylink.easylink.notifications.RedisUnreadCounter;
+import com.easylink.easylink.repositories.SpringDataNotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnreadCounterReconciliationScheduler {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final SpringDataNotificationRepository notificationRepository;
+    private final RedisUnreadCounter unreadCounter;
+
+    // only users that currently have a cached counter are checked, one grouped COUNT per batch.
+    // Counters are read before the COUNT and replaced by compare-and-set: one adjusted in between no longer
+    // holds the value read, is left alone and gets checked again on the next run.
+    @Scheduled(fixedDelayString = "${notifications.unread.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        int[] repaired = {0};
+
+        unreadCounter.forEachCachedUser(BATCH_SIZE, userIds -> {
+            Map<String, Long> cached = new HashMap<>();
+            for (String userId : userIds) {
+                Long value = unreadCounter.get(userId);
+                if (value != null) cached.put(userId, value);
+            }
+
+            Map<String, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByUserIdIn(userIds)) {
+                actual.put((String) row[0], (Long) row[1]);
+            }
+
+            cached.forEach((userId, value) -> {
+                long expected = actual.getOrDefault(userId, 0L);
+                if (value != expected && unreadCounter.compareAndSet(userId, value, expected)) {
+                    repaired[0]++;
+                }
+            });
+        });
+
+        if (repaired[0] > 0) {
+            log.info("Repaired {} drifted unread counters", repaired[0]);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.easylink.easylink.schedulers;
+
+import com.easylink.easylink.vibe_service.application.port.out.VibeStatsPort;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VibeStatsReconciliationScheduler {
+
+    private static final int BATCH_SIZE = 500;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final VibeStatsPort vibeStatsPort;
+
+    // walks all live vibes in keyset batches and rewrites their counters from interaction
+    @Scheduled(cron = "${vibe.stats.reconcile-cron:0 15 4 * * *}")
+    public void reconcile() {
+        UUID after = MIN_UUID;
+        long total = 0;
+
+        while (true) {
+            List<UUID> ids = vibeStatsPort.findVibeIdsAfter(after, BATCH_SIZE);
+            if (ids.isEmpty()) break;
+
+            total += vibeStatsPort.recompute(ids);
+
+            if (ids.size() < BATCH_SIZE) break;
+            after = ids.get(ids.size() - 1);
+        }
+
+        log.info("Reconciled vibe stats for {} vibes", total);
+    }
+}
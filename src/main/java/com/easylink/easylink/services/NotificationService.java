@@ -4,14 +4,22 @@ import com.easylink.easylink.dtos.NotificationDto;
 import com.easylink.easylink.dtos.UnreadDeltaDto;
 import com.easylink.easylink.entities.NotificationEntity;
 import com.easylink.easylink.notifications.NotificationSseHub;
+import com.easylink.easylink.notifications.RedisUnreadCounter;
+import com.easylink.easylink.repositories.NotificationJdbcRepository;
 import com.easylink.easylink.repositories.SpringDataNotificationRepository;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Service
@@ -19,66 +27,151 @@ import java.util.UUID;
 public class NotificationService {
 
     private final SpringDataNotificationRepository repo;
+    private final NotificationJdbcRepository jdbcRepo;
     private final NotificationSseHub hub;
+    private final RedisUnreadCounter unreadCounter;
 
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Newest first. Pass the createdAt and id of the last item already shown to get the next page.
+     */
+    @Transactional(readOnly = true)
+    public List<NotificationDto> list(String userId, int limit, OffsetDateTime beforeCreatedAt, UUID beforeId) {
+        var page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        var rows = (beforeCreatedAt == null || beforeId == null)
+                ? repo.findByUserIdOrderByCreatedAtDescIdDesc(userId, page)
+                : repo.findPageBefore(userId, beforeCreatedAt, beforeId, page);
+
+        return rows.stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    /**
+     * Oldest first; used to replay notifications an SSE client missed while disconnected.
+     */
     @Transactional(readOnly = true)
-    public List<NotificationDto> list(String userId, int limit) {
-        var page = PageRequest.of(0, Math.max(1, Math.min(limit, 50)));
-        return repo.findByUserIdOrderByCreatedAtDesc(userId, page)
+    public List<NotificationDto> listCreatedAfter(String userId, OffsetDateTime after, int limit) {
+        return repo.findByUserIdAndCreatedAtAfterOrderByCreatedAtAscIdAsc(userId, after, PageRequest.of(0, limit))
                 .stream()
                 .map(this::toDto)
                 .toList();
     }
 
+    /**
+     * Conditional UPDATE, so of two concurrent calls only the one that flips the row decrements the counter.
+     */
     @Transactional
     public void markRead(String userId, UUID id) {
-        var n = repo.findById(id).orElseThrow();
+        if (repo.markReadIfUnread(id, userId) == 1) {
+            afterCommit(() -> unreadCounter.adjust(userId, -1));
+            return;
+        }
 
+        // nothing changed: already read, or not a notification of this user
+        var n = repo.findById(id).orElseThrow();
         if (!n.getUserId().equals(userId)) {
             throw new IllegalArgumentException("Not your notification");
         }
-
-        if (!n.isRead()) {
-            n.setRead(true);
-            repo.save(n);
-        }
     }
 
+    /**
+     * Single set-based UPDATE. With {@code upTo} only notifications created at or before it are touched,
+     * so items that arrived after the client rendered its list stay unread.
+     */
     @Transactional
-    public void markAllRead(String userId) {
-        var all = repo.findByUserIdOrderByCreatedAtDesc(userId, PageRequest.of(0, 500));
-        for (var n : all) {
-            if (!n.isRead()) n.setRead(true);
-        }
-        repo.saveAll(all);
+    public int markAllRead(String userId, OffsetDateTime upTo) {
+        int updated = upTo == null
+                ? repo.markAllRead(userId)
+                : repo.markAllReadUpTo(userId, upTo);
+
+        // a relative adjustment keeps increments from notifications created meanwhile
+        afterCommit(() -> unreadCounter.adjust(userId, -updated));
+        return updated;
     }
 
     @Transactional(readOnly = true)
     public long unreadCount(String userId) {
-        return repo.countByUserIdAndReadFalse(userId);
+        Long cached = unreadCounter.get(userId);
+        if (cached != null) return cached;
+
+        long count = repo.countByUserIdAndReadFalse(userId);
+        // NX: a concurrent seed or adjustment since the miss is newer than this count
+        unreadCounter.setIfAbsent(userId, count);
+        return count;
     }
 
+    /**
+     * Idempotent per {@code requestId}: the row id is derived from it and the recipient, so a redelivered
+     * request inserts nothing, leaves the unread counter alone and pushes nothing. Empty in that case.
+     */
     @Transactional
-    public NotificationDto create(String userId, String type, String title, String body, String link) {
-        var entity = NotificationEntity.builder()
-                .id(UUID.randomUUID())
-                .userId(userId)
-                .type(type)
-                .title(title)
-                .body(body)
-                .link(link)
-                .read(false)
-                .createdAt(OffsetDateTime.now())
-                .build();
+    public Optional<NotificationDto> create(UUID requestId, String userId, String type, String title, String body, String link) {
+        return insertNew(requestId, List.of(userId), type, title, body, link).stream()
+                .findFirst()
+                .map(this::toDto);
+    }
 
-        repo.save(entity);
+    /**
+     * Same notification for many users: one insert, then SSE pushes per new recipient after commit.
+     * Idempotent per {@code requestId} and recipient, like {@link #create}; returns how many rows were new.
+     */
+    @Transactional
+    public int createBatch(UUID requestId, List<String> userIds, String type, String title, String body, String link) {
+        return insertNew(requestId, userIds, type, title, body, link).size();
+    }
 
-        var dto = toDto(entity);
+    private List<NotificationEntity> insertNew(UUID requestId, List<String> userIds, String type, String title,
+                                               String body, String link) {
+        // stored at timestamptz precision, so the value pushed now is the one a DB replay compares and returns
+        var now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        var entities = userIds.stream()
+                .distinct()
+                .map(userId -> NotificationEntity.builder()
+                        .id(notificationId(requestId, userId))
+                        .userId(userId)
+                        .type(type)
+                        .title(title)
+                        .body(body)
+                        .link(link)
+                        .read(false)
+                        .createdAt(now)
+                        .build())
+                .toList();
 
-        hub.emitToUser(userId, "notification.created", dto);
-        hub.emitToUser(userId, "notification.unread_changed", new UnreadDeltaDto(1));
+        Set<UUID> inserted = Set.copyOf(jdbcRepo.insertMissing(
+                entities.stream().map(NotificationEntity::getId).toList(),
+                entities.stream().map(NotificationEntity::getUserId).toList(),
+                type, title, body, link, now));
+        var fresh = entities.stream().filter(e -> inserted.contains(e.getId())).toList();
+
+        // pushed only once the rows are visible; a rollback or a retried handler pushes nothing extra
+        afterCommit(() -> {
+            for (var entity : fresh) {
+                unreadCounter.adjust(entity.getUserId(), 1);
+                hub.emitToUser(entity.getUserId(), "notification.created", toDto(entity));
+                hub.emitToUser(entity.getUserId(), "notification.unread_changed", new UnreadDeltaDto(1));
+            }
+        });
+        return fresh;
+    }
 
-        return dto;
+    static UUID notificationId(UUID requestId, String userId) {
+        return UUID.nameUUIDFromBytes((requestId + ":" + userId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 
     private NotificationDto toDto(NotificationEntity e) {
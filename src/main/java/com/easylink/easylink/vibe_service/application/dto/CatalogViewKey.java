@@ -0,0 +1,7 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import java.util.UUID;
+
+// one catalog as of one version fingerprint, so a remembered list is never served under a newer ETag
+public record CatalogViewKey(UUID vibeId, String fingerprint) {
+}
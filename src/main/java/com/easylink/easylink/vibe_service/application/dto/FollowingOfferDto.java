@@ -0,0 +1,16 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import java.util.UUID;
+
+/**
+ * One followed vibe in the "following with offers" feed, with the number of offers that have not ended yet.
+ */
+public record FollowingOfferDto(
+        UUID interactionId,
+        UUID targetVibeId,
+        String targetVibeName,
+        String targetVibeType,
+        String targetVibeDescription,
+        int count
+) {
+}
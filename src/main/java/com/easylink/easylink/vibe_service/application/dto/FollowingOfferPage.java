@@ -0,0 +1,10 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import java.util.List;
+
+/**
+ * One page of the following-with-offers feed, most recent offer activity first;
+ * pass {@code nextOffset} as {@code offset} for the next page, null when there is none.
+ */
+public record FollowingOfferPage(List<FollowingOfferDto> items, Long nextOffset) {
+}
@@ -0,0 +1,10 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of mini cards; pass {@code nextCursor} as {@code after} for the next page, null when there is none.
+ */
+public record MiniVibePage(List<MiniVibeDto> items, UUID nextCursor) {
+}
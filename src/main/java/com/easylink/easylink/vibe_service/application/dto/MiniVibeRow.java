@@ -0,0 +1,15 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import com.easylink.easylink.vibe_service.domain.model.VibeType;
+
+import java.util.UUID;
+
+/**
+ * Mini card plus the id of the interaction it came from, which is the keyset cursor.
+ */
+public record MiniVibeRow(UUID interactionId, UUID id, String name, VibeType type, String photo) {
+
+    public MiniVibeDto toMini() {
+        return new MiniVibeDto(id, name, type, photo);
+    }
+}
@@ -0,0 +1,22 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import com.easylink.easylink.vibe_service.domain.interaction.InteractionType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * An interaction row accepted for write-behind. The id is assigned up front so a redelivered
+ * entry is inserted at most once.
+ */
+public record PendingInteraction(
+        UUID id,
+        UUID targetVibeId,
+        UUID subscriberVibeId,
+        String userEmail,
+        boolean anonymous,
+        InteractionType interactionType,
+        boolean active,
+        LocalDateTime createdAt
+) {
+}
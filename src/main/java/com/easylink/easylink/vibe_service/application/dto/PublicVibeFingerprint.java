@@ -0,0 +1,5 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+// what a public profile response is built from, as read for its ETag; version is the vibe's own version column
+public record PublicVibeFingerprint(long version, String value) {
+}
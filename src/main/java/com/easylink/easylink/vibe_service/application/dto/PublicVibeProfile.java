@@ -0,0 +1,32 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import com.easylink.easylink.vibe_service.domain.model.SubscribeMode;
+import com.easylink.easylink.vibe_service.domain.model.VibePrivacy;
+import com.easylink.easylink.vibe_service.domain.model.VibeType;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The part of a public vibe profile that is the same for every viewer; this is what gets cached.
+ * Counters and the viewer's subscription status are added per request. {@code version} is the vibe's version
+ * when the profile was loaded, so a cached copy can be compared with the version an ETag was built from.
+ */
+public record PublicVibeProfile(
+        UUID id,
+        long version,
+        UUID vibeAccountId,
+        String name,
+        String description,
+        VibeType type,
+        Boolean visible,
+        String publicCode,
+        String photo,
+        VibePrivacy privacy,
+        SubscribeMode subscribeMode,
+        List<Field> fields
+) {
+
+    public record Field(UUID id, String type, String value, String label) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import java.util.UUID;
+
+// one public profile view as seen by one viewer (null for anonymous views) under one version fingerprint
+public record PublicVibeViewKey(UUID vibeId, String viewerAccountId, String fingerprint) {
+}
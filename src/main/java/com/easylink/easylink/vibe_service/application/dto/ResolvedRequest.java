@@ -0,0 +1,9 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import java.util.UUID;
+
+/**
+ * A pending subscription request changed by a bulk approve/reject.
+ */
+public record ResolvedRequest(UUID interactionId, UUID subscriberVibeId, UUID subscriberAccountId) {
+}
@@ -0,0 +1,23 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outcome of the set-based subscribe. {@code changed} is false when the subscription already was in the
+ * requested state, in which case nothing was written and no one needs to be notified.
+ */
+public record SubscribeUpsert(
+        UUID interactionId,
+        UUID targetVibeId,
+        InteractionStatus status,
+        boolean anonymous,
+        String userEmail,
+        LocalDateTime createdAt,
+        boolean changed,
+        UUID ownerAccountId,
+        String subscriberName
+) {
+}
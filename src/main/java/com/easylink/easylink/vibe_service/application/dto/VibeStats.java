@@ -0,0 +1,9 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import java.util.UUID;
+
+/**
+ * Approved, active SUBSCRIBE edges of a vibe with both ends alive.
+ */
+public record VibeStats(UUID vibeId, long subscriberCount, long followingCount) {
+}
@@ -0,0 +1,16 @@
+package com.easylink.easylink.vibe_service.application.dto;
+
+import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
+import com.easylink.easylink.vibe_service.domain.model.VibeType;
+
+import java.util.UUID;
+
+/**
+ * One of the viewer's vibes with an active subscription to the profile being viewed, and its status.
+ */
+public record ViewerSubscriptionRow(UUID id, String name, VibeType type, String photo, InteractionStatus status) {
+
+    public MiniVibeDto toMini() {
+        return new MiniVibeDto(id, name, type, photo);
+    }
+}
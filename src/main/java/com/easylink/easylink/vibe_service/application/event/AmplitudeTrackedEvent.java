@@ -0,0 +1,8 @@
+package com.easylink.easylink.vibe_service.application.event;
+
+import java.util.Map;
+
+public record AmplitudeTrackedEvent(String userId, String eventType, Map<String, Object> properties) {
+
+    public static final String EVENT_TYPE = "amplitude.track";
+}
@@ -0,0 +1,30 @@
+package com.easylink.easylink.vibe_service.application.event;
+
+import com.easylink.easylink.outbox.OutboxEventHandler;
+import com.easylink.easylink.vibe_service.application.service.AmplitudeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class AmplitudeTrackedEventHandler implements OutboxEventHandler<AmplitudeTrackedEvent> {
+
+    private final AmplitudeService amplitudeService;
+
+    @Override
+    public String eventType() {
+        return AmplitudeTrackedEvent.EVENT_TYPE;
+    }
+
+    @Override
+    public Class<AmplitudeTrackedEvent> payloadType() {
+        return AmplitudeTrackedEvent.class;
+    }
+
+    @Override
+    public void handle(UUID eventId, AmplitudeTrackedEvent e) {
+        amplitudeService.sendEvent(e.userId(), e.eventType(), e.properties());
+    }
+}
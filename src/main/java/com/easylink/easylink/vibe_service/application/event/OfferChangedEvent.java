@@ -0,0 +1,8 @@
+package com.easylink.easylink.vibe_service.application.event;
+
+import java.util.UUID;
+
+public record OfferChangedEvent(UUID vibeId) {
+
+    public static final String EVENT_TYPE = "offer.changed";
+}
@@ -0,0 +1,30 @@
+package com.easylink.easylink.vibe_service.application.event;
+
+import com.easylink.easylink.outbox.OutboxEventHandler;
+import com.easylink.easylink.vibe_service.application.service.FollowingOfferFeedService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OfferChangedEventHandler implements OutboxEventHandler<OfferChangedEvent> {
+
+    private final FollowingOfferFeedService followingOfferFeedService;
+
+    @Override
+    public String eventType() {
+        return OfferChangedEvent.EVENT_TYPE;
+    }
+
+    @Override
+    public Class<OfferChangedEvent> payloadType() {
+        return OfferChangedEvent.class;
+    }
+
+    @Override
+    public void handle(UUID eventId, OfferChangedEvent e) {
+        followingOfferFeedService.offersChanged(e.vibeId());
+    }
+}
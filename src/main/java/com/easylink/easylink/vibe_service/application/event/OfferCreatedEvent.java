@@ -0,0 +1,8 @@
+package com.easylink.easylink.vibe_service.application.event;
+
+import java.util.UUID;
+
+public record OfferCreatedEvent(UUID offerId, UUID vibeId, String vibeName, String offerTitle) {
+
+    public static final String EVENT_TYPE = "offer.created";
+}
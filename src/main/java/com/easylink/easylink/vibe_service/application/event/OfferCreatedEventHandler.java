@@ -0,0 +1,38 @@
+package com.easylink.easylink.vibe_service.application.event;
+
+import com.easylink.easylink.outbox.OutboxEventHandler;
+import com.easylink.easylink.vibe_service.application.service.OfferNotificationFanout;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OfferCreatedEventHandler implements OutboxEventHandler<OfferCreatedEvent> {
+
+    private final OfferNotificationFanout offerNotificationFanout;
+
+    @Override
+    public String eventType() {
+        return OfferCreatedEvent.EVENT_TYPE;
+    }
+
+    @Override
+    public Class<OfferCreatedEvent> payloadType() {
+        return OfferCreatedEvent.class;
+    }
+
+    @Override
+    public void handle(UUID eventId, OfferCreatedEvent e) {
+        // synchronous: the event stays pending until every chunk is written
+        offerNotificationFanout.fanOut(
+                eventId,
+                e.vibeId(),
+                "OFFER",
+                "New offer",
+                e.vibeName() + " posted: " + e.offerTitle(),
+                "/view/" + e.vibeId()
+        );
+    }
+}
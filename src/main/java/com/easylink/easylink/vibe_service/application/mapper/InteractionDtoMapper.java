@@ -1,7 +1,10 @@
 package com.easylink.easylink.vibe_service.application.mapper;
 
 import com.easylink.easylink.vibe_service.application.dto.InteractionDto;
+import com.easylink.easylink.vibe_service.application.dto.PendingInteraction;
+import com.easylink.easylink.vibe_service.application.dto.SubscribeUpsert;
 import com.easylink.easylink.vibe_service.domain.interaction.Interaction;
+import com.easylink.easylink.vibe_service.domain.interaction.InteractionType;
 import com.easylink.easylink.vibe_service.web.dto.InteractionResponse;
 
 public class InteractionDtoMapper {
@@ -16,4 +19,28 @@ public class InteractionDtoMapper {
         interactionDto.setActive(interaction.isActive());
         return interactionDto;
     }
+
+    public static InteractionDto toInteractionDto(SubscribeUpsert subscription){
+        InteractionDto interactionDto = new InteractionDto();
+        interactionDto.setMyVibeId(subscription.interactionId());
+        interactionDto.setTargetVibeId(subscription.targetVibeId());
+        interactionDto.setInteractionType(InteractionType.SUBSCRIBE);
+        interactionDto.setAnonymous(subscription.anonymous());
+        interactionDto.setUserEmail(subscription.userEmail());
+        interactionDto.setCreatedAt(subscription.createdAt());
+        interactionDto.setActive(true);
+        return interactionDto;
+    }
+
+    public static InteractionDto toInteractionDto(PendingInteraction interaction){
+        InteractionDto interactionDto = new InteractionDto();
+        interactionDto.setMyVibeId(interaction.id());
+        interactionDto.setTargetVibeId(interaction.targetVibeId());
+        interactionDto.setInteractionType(interaction.interactionType());
+        interactionDto.setAnonymous(interaction.anonymous());
+        interactionDto.setUserEmail(interaction.userEmail());
+        interactionDto.setCreatedAt(interaction.createdAt());
+        interactionDto.setActive(interaction.active());
+        return interactionDto;
+    }
 }
@@ -1,5 +1,6 @@
 package com.easylink.easylink.vibe_service.application.mapper;
 
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeProfile;
 import com.easylink.easylink.vibe_service.application.dto.VibeDto;
 import com.easylink.easylink.vibe_service.domain.model.Vibe;
 import com.easylink.easylink.vibe_service.domain.model.VibeField;
@@ -40,6 +41,50 @@ public class VibeDtoMapper {
         return vibeDto;
     }
 
+    public static PublicVibeProfile toProfile(Vibe vibe) {
+        List<PublicVibeProfile.Field> fields = vibe.getFields().stream()
+                .map(f -> new PublicVibeProfile.Field(f.getId(), f.getType(), f.getValue(), f.getLabel()))
+                .toList();
+
+        return new PublicVibeProfile(
+                vibe.getId(),
+                vibe.getVersion(),
+                vibe.getVibeAccountId(),
+                vibe.getName(),
+                vibe.getDescription(),
+                vibe.getType(),
+                vibe.getVisible(),
+                vibe.getPublicCode(),
+                vibe.getPhoto(),
+                vibe.getPrivacy(),
+                vibe.getSubscribeMode(),
+                fields
+        );
+    }
+
+    // a fresh dto every time: callers fill in the viewer-specific parts
+    public static VibeDto toDto(PublicVibeProfile profile) {
+        VibeDto vibeDto = new VibeDto();
+
+        vibeDto.setId(profile.id());
+        vibeDto.setName(profile.name());
+        vibeDto.setDescription(profile.description());
+        vibeDto.setType(profile.type());
+
+        vibeDto.setVisible(profile.visible());
+        vibeDto.setPublicCode(profile.publicCode());
+        vibeDto.setPhoto(profile.photo());
+
+        vibeDto.setPrivacy(profile.privacy());
+        vibeDto.setSubscribeMode(profile.subscribeMode());
+
+        vibeDto.setFieldsDTO(profile.fields().stream()
+                .map(f -> new VibeFieldDTO(f.id(), f.type(), f.value(), f.label(), profile.id()))
+                .toList());
+
+        return vibeDto;
+    }
+
     private static VibeFieldDTO toDto(VibeField entity) {
         return new VibeFieldDTO(
                 entity.getId(),
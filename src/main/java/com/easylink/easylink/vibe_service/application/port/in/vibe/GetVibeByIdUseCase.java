@@ -1,5 +1,6 @@
 package com.easylink.easylink.vibe_service.application.port.in.vibe;
 
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeFingerprint;
 import com.easylink.easylink.vibe_service.application.dto.VibeDto;
 
 import java.util.UUID;
@@ -9,7 +10,7 @@ public interface GetVibeByIdUseCase {
     // owner page (/vibes/{id})
     VibeDto getOwnedVibeById(UUID id, UUID accountId);
 
-    // public page (/view/{id})
-    VibeDto getPublicVibeById(UUID id, String viewerAccountId);
+    // public page (/view/{id}); the result is at least as new as the fingerprint (null when none was read)
+    VibeDto getPublicVibeById(UUID id, String viewerAccountId, PublicVibeFingerprint fingerprint);
 
 }
\ No newline at end of file
@@ -7,5 +7,6 @@ import java.util.List;
 import java.util.UUID;
 
 public interface CatalogRepositoryPort {
-    List<ItemDTO> getAllItemsByVibeId(UUID vibeId);
+    // fingerprint: the catalog version the caller's ETag is built from
+    List<ItemDTO> getAllItemsByVibeId(UUID vibeId, String fingerprint);
 }
@@ -0,0 +1,25 @@
+package com.easylink.easylink.vibe_service.application.port.out;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Approved, active SUBSCRIBE edges between live vibes, held in memory for relationship queries.
+ */
+public interface FollowGraphPort {
+
+    // false until the first full load has finished
+    boolean isReady();
+
+    void addEdge(UUID subscriberVibeId, UUID targetVibeId);
+
+    void removeEdge(UUID subscriberVibeId, UUID targetVibeId);
+
+    void removeVibe(UUID vibeId);
+
+    // how many vibes followed by viewerVibeId also follow targetVibeId
+    int countFollowingWhoFollow(UUID viewerVibeId, UUID targetVibeId);
+
+    // vibes followed by the vibes viewerVibeId follows, most shared first; already-followed vibes and the viewer excluded
+    List<UUID> suggest(UUID viewerVibeId, int limit);
+}
@@ -0,0 +1,36 @@
+package com.easylink.easylink.vibe_service.application.port.out;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Materialized "following with offers" feed: per subscriber vibe, the followed vibes scored by their
+ * latest offer activity (epoch millis, 0 when there is no live offer).
+ */
+public interface FollowingOfferFeedPort {
+
+    // followed vibe ids, highest score first; empty when the feed is not materialized
+    Optional<List<UUID>> readPage(UUID subscriberVibeId, long offset, int limit);
+
+    // taken before the scores for store() are computed; every evict of the feed moves it on
+    long loadToken(UUID subscriberVibeId);
+
+    // skipped when the feed was evicted since loadToken, so a rebuild cannot restore membership from before the change;
+    // empty scores are stored too, so a feed with nothing in it is not rebuilt on every read
+    void store(UUID subscriberVibeId, Map<UUID, Long> scores, long loadToken);
+
+    // fan-out on write: rescores targetVibeId in the feeds that already contain it
+    void publish(UUID targetVibeId, long score, List<UUID> subscriberVibeIds);
+
+    // pull on read: the score is kept once and applied to each feed when it is read
+    void publishLarge(UUID targetVibeId, long score);
+
+    void clearLarge(UUID targetVibeId);
+
+    void remove(UUID subscriberVibeId, Collection<UUID> targetVibeIds);
+
+    void evict(Collection<UUID> subscriberVibeIds);
+}
@@ -1,7 +1,7 @@
 package com.easylink.easylink.vibe_service.application.port.out;
 
-import com.easylink.easylink.vibe_service.application.dto.InteractionWithOffersDTO;
 import com.easylink.easylink.vibe_service.application.dto.MiniVibeDto;
+import com.easylink.easylink.vibe_service.application.dto.ViewerSubscriptionRow;
 import com.easylink.easylink.vibe_service.domain.interaction.Interaction;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionType;
@@ -14,7 +14,6 @@ import java.util.List;
 public interface InteractionRepositoryPort {
     Interaction save(Interaction interaction);
     List<Interaction> getAllFollowings(Vibe subscriberVibe);
-    List<InteractionWithOffersDTO> getAllFollowingsWithOffers(Vibe subscriberVibe);
 
     long countActiveByTarget(UUID targetVibeId, InteractionType type);
 
@@ -33,4 +32,10 @@ public interface InteractionRepositoryPort {
             InteractionStatus status,
             List<UUID> subscriberIds
     );
+
+    // the viewer's live vibes with an active APPROVED or PENDING subscription to the target, in one query
+    List<ViewerSubscriptionRow> findViewerSubscriptions(UUID targetVibeId, UUID viewerAccountId);
+
+    // keyset page of distinct subscriber account ids (owner excluded), ordered by account id
+    List<UUID> findActiveSubscriberAccountIdsAfter(UUID targetVibeId, UUID afterAccountId, int limit);
 }
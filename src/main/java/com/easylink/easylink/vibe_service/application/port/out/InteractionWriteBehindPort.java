@@ -0,0 +1,12 @@
+package com.easylink.easylink.vibe_service.application.port.out;
+
+import com.easylink.easylink.vibe_service.application.dto.PendingInteraction;
+
+public interface InteractionWriteBehindPort {
+
+    /**
+     * Queues the row for a batched insert. False when write-behind is off, the backlog is full or the
+     * buffer is unreachable; the caller then writes synchronously, which is the back-pressure.
+     */
+    boolean offer(PendingInteraction interaction);
+}
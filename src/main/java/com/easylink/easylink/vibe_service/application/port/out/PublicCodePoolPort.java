@@ -0,0 +1,23 @@
+package com.easylink.easylink.vibe_service.application.port.out;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PublicCodePoolPort {
+
+    record Utilization(long claimed, long total) {}
+
+    Utilization utilization(int length);
+
+    // adds every code of the given length to the pool, except the forbidden ones; idempotent.
+    // Inserts the whole length at once, so it is run in the background, never inside a claim
+    void seed(int length);
+
+    // takes a free code of the given length for the vibe; empty when none is left
+    Optional<String> claim(UUID vibeId, int length);
+
+    // returns the vibe's code to the pool; empty when it held none
+    Optional<String> release(UUID vibeId);
+
+    Optional<UUID> findVibeIdByCode(String code);
+}
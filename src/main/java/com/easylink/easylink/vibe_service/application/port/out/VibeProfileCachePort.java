@@ -0,0 +1,19 @@
+package com.easylink.easylink.vibe_service.application.port.out;
+
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeProfile;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface VibeProfileCachePort {
+
+    Optional<PublicVibeProfile> get(UUID vibeId);
+
+    // token to pass to put; a put whose load started before an eviction is dropped
+    long loadToken();
+
+    void put(PublicVibeProfile profile, long loadToken);
+
+    // drops the entry on this node and in Redis, and tells the other nodes to drop theirs
+    void evict(UUID vibeId);
+}
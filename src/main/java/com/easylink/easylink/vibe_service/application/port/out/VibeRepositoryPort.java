@@ -15,6 +15,8 @@ public interface VibeRepositoryPort {
     List<Vibe> findAllByAccountId(UUID id);
     List<Vibe> findAllActiveByAccountId(UUID id);
     Optional<Vibe> findActiveById(UUID id);
+    // fields fetched in the same query, so the vibe can be mapped outside a session
+    Optional<Vibe> findActiveWithFieldsById(UUID id);
     long countActiveByVibeAccountId(UUID userId);
     List<Vibe> findAllByUsername(String username);
     Optional<Vibe> findByPublicCodeAndVisibleTrue(String publicCode);
@@ -0,0 +1,29 @@
+package com.easylink.easylink.vibe_service.application.port.out;
+
+import com.easylink.easylink.vibe_service.application.dto.VibeStats;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface VibeStatsPort {
+
+    Optional<VibeStats> find(UUID vibeId);
+
+    // moves target.subscriber_count and subscriber.following_count by delta; rows that are not seeded yet are left alone
+    void adjust(UUID targetVibeId, UUID subscriberVibeId, long delta);
+
+    // bulk approval: the target gains subscriberVibeIds.size() subscribers, each subscriber one following
+    void addSubscribers(UUID targetVibeId, List<UUID> subscriberVibeIds);
+
+    // exact counts from interaction, upserted
+    VibeStats recompute(UUID vibeId);
+
+    int recompute(List<UUID> vibeIds);
+
+    // every vibe with a subscription edge to or from the given one
+    int recomputeNeighbours(UUID vibeId);
+
+    // keyset page of live vibe ids, for reconciliation
+    List<UUID> findVibeIdsAfter(UUID afterId, int limit);
+}
@@ -2,6 +2,7 @@ package com.easylink.easylink.vibe_service.application.service;
 
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
@@ -9,6 +10,7 @@ import org.springframework.web.client.RestTemplate;
 
 import org.springframework.http.HttpHeaders;
 
+import java.time.Duration;
 import java.util.Map;
 import java.util.Objects;
 
@@ -18,9 +20,19 @@ public class AmplitudeService {
     @Value("${amplitude.api-key}")
     private String apiKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final RestTemplate restTemplate;
     private static final String AMPLITUDE_URL = "https://api2.amplitude.com/2/httpapi";
 
+    // bounded: calls run inside the outbox relay, where a hanging request would hold up every other event
+    public AmplitudeService(RestTemplateBuilder restTemplateBuilder,
+                            @Value("${amplitude.connect-timeout:2s}") Duration connectTimeout,
+                            @Value("${amplitude.read-timeout:5s}") Duration readTimeout) {
+        this.restTemplate = restTemplateBuilder
+                .setConnectTimeout(connectTimeout)
+                .setReadTimeout(readTimeout)
+                .build();
+    }
+
     public void sendEvent(String userId, String eventType, Map<String, Object> eventProps){
 
         String payload = buildPayLoad(userId, eventType, eventProps);
@@ -1,9 +1,11 @@
 package com.easylink.easylink.vibe_service.application.service;
 
 import com.easylink.easylink.exceptions.NotFoundException;
+import com.easylink.easylink.vibe_service.application.dto.CatalogViewKey;
 import com.easylink.easylink.vibe_service.application.dto.ItemDTO;
 import com.easylink.easylink.vibe_service.application.port.out.CatalogUpdateRepositoryPort;
 import com.easylink.easylink.vibe_service.domain.model.Item;
+import com.easylink.easylink.vibe_service.infrastructure.cache.SingleFlight;
 import com.easylink.easylink.vibe_service.infrastructure.repository.JpaCatalogRepositoryAdapter;
 import com.easylink.easylink.vibe_service.web.dto.UpdateItemRequest;
 import lombok.RequiredArgsConstructor;
@@ -22,13 +24,16 @@ public class CatalogService implements CatalogRepositoryPort, CatalogUpdateRepos
 
     private final JpaCatalogRepositoryAdapter jpaCatalogRepositoryAdapter;
     private final ModelMapper modelMapper;
+    private final SingleFlight<CatalogViewKey, List<ItemDTO>> catalogReads;
 
+    // concurrent reads of the same catalog share one query; the list is shared, so callers only map it.
+    // Keyed by fingerprint: a list remembered for an older one is not served under the caller's newer ETag
     @Override
-    public List<ItemDTO> getAllItemsByVibeId(UUID vibeId) {
-        return jpaCatalogRepositoryAdapter.getAllItemsByVibeId(vibeId)
+    public List<ItemDTO> getAllItemsByVibeId(UUID vibeId, String fingerprint) {
+        return catalogReads.load(new CatalogViewKey(vibeId, fingerprint), () -> jpaCatalogRepositoryAdapter.getAllItemsByVibeId(vibeId)
                 .stream()
                 .map(item -> modelMapper.map(item, ItemDTO.class))
-                .toList();
+                .toList());
     }
 
     public ItemDTO getById(UUID id) {
@@ -68,16 +73,24 @@ public class CatalogService implements CatalogRepositoryPort, CatalogUpdateRepos
             item.setImageUrl(req.getImageUrl().trim());
         }
 
-        return modelMapper.map(
+        ItemDTO updated = modelMapper.map(
                 jpaCatalogRepositoryAdapter.save(item),
                 ItemDTO.class
         );
+        forgetCatalog(updated.getVibeId());
+        return updated;
     }
 
     public void deleteItem(UUID id) {
         Item item = jpaCatalogRepositoryAdapter.findById(id)
                 .orElseThrow(() -> new NotFoundException("Item not found"));
+        UUID vibeId = item.getVibe() != null ? item.getVibe().getId() : null;
         jpaCatalogRepositoryAdapter.delete(item);
+        if (vibeId != null) forgetCatalog(vibeId);
+    }
+
+    private void forgetCatalog(UUID vibeId) {
+        catalogReads.forgetIf(view -> view.vibeId().equals(vibeId));
     }
 
 }
@@ -1,5 +1,6 @@
 package com.easylink.easylink.vibe_service.application.service;
 
+import com.easylink.easylink.vibe_service.application.dto.CatalogViewKey;
 import com.easylink.easylink.vibe_service.application.dto.CreateItemCommand;
 import com.easylink.easylink.vibe_service.application.dto.ItemDTO;
 import com.easylink.easylink.vibe_service.application.port.in.catalog.CreateItemUseCase;
@@ -7,10 +8,12 @@ import com.easylink.easylink.vibe_service.application.port.out.CatalogSaveItemRe
 import com.easylink.easylink.vibe_service.application.port.out.VibeRepositoryPort;
 import com.easylink.easylink.vibe_service.domain.model.Item;
 import com.easylink.easylink.vibe_service.domain.model.Vibe;
+import com.easylink.easylink.vibe_service.infrastructure.cache.SingleFlight;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -20,6 +23,7 @@ public class CreateItemService implements CreateItemUseCase {
     private final CatalogSaveItemRepositoryPort catalogSaveItemRepositoryPort;
     private final ModelMapper modelMapper;
     private final VibeRepositoryPort vibeRepositoryPort;
+    private final SingleFlight<CatalogViewKey, List<ItemDTO>> catalogReads;
 
 
     @Override
@@ -37,6 +41,7 @@ public class CreateItemService implements CreateItemUseCase {
 
 
         Item savedItem = catalogSaveItemRepositoryPort.save(item);
+        catalogReads.forgetIf(view -> view.vibeId().equals(vibeId));
 
         ItemDTO itemDTO = modelMapper.map(savedItem, ItemDTO.class);
 
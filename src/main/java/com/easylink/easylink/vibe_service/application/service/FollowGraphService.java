@@ -0,0 +1,102 @@
+package com.easylink.easylink.vibe_service.application.service;
+
+import com.easylink.easylink.vibe_service.application.dto.MiniVibeDto;
+import com.easylink.easylink.vibe_service.application.port.out.FollowGraphPort;
+import com.easylink.easylink.vibe_service.infrastructure.repository.SpringDataVibeRepository;
+import com.easylink.easylink.vibe_service.infrastructure.security.ViewerContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Relationship queries answered from the in-memory follow graph, and the hooks that keep it current.
+ * Edge changes are applied after commit, so a rolled-back subscription never shows up in the graph.
+ */
+@Service
+@RequiredArgsConstructor
+public class FollowGraphService {
+
+    private static final int DEFAULT_SUGGESTIONS = 20;
+    private static final int MAX_SUGGESTIONS = 100;
+
+    private final FollowGraphPort followGraph;
+    private final SpringDataVibeRepository springDataVibeRepository;
+    private final ViewerContext viewerContext;
+
+    public int countFollowingWhoFollow(UUID viewerVibeId, UUID targetVibeId, String requesterUserId) {
+        requireOwnedVibe(viewerVibeId, requesterUserId);
+        requireReady();
+        return followGraph.countFollowingWhoFollow(viewerVibeId, targetVibeId);
+    }
+
+    public List<MiniVibeDto> getSuggestions(UUID viewerVibeId, Integer limit, String requesterUserId) {
+        requireOwnedVibe(viewerVibeId, requesterUserId);
+        requireReady();
+
+        int size = limit == null ? DEFAULT_SUGGESTIONS : Math.max(1, Math.min(limit, MAX_SUGGESTIONS));
+        List<UUID> ranked = followGraph.suggest(viewerVibeId, size);
+        if (ranked.isEmpty()) return List.of();
+
+        Map<UUID, Integer> rank = ranked.stream().collect(Collectors.toMap(Function.identity(), ranked::indexOf));
+        return springDataVibeRepository.findMiniByIdIn(ranked).stream()
+                .sorted(Comparator.comparing(m -> rank.get(m.getId())))
+                .toList();
+    }
+
+    private void requireOwnedVibe(UUID vibeId, String requesterUserId) {
+        if (viewerContext.owns(vibeId)) return;
+
+        // not one of the caller's live vibes: tell "missing" from "someone else's"
+        UUID owner = springDataVibeRepository.findAccountIdById(vibeId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vibe not found"));
+        if (!owner.toString().equals(requesterUserId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your vibe");
+        }
+    }
+
+    private void requireReady() {
+        if (!followGraph.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Follow graph is loading");
+        }
+    }
+
+    public void edgeAdded(UUID subscriberVibeId, UUID targetVibeId) {
+        afterCommit(() -> followGraph.addEdge(subscriberVibeId, targetVibeId));
+    }
+
+    public void edgesAdded(UUID targetVibeId, List<UUID> subscriberVibeIds) {
+        List<UUID> subscribers = List.copyOf(subscriberVibeIds);
+        afterCommit(() -> subscribers.forEach(s -> followGraph.addEdge(s, targetVibeId)));
+    }
+
+    public void edgeRemoved(UUID subscriberVibeId, UUID targetVibeId) {
+        afterCommit(() -> followGraph.removeEdge(subscriberVibeId, targetVibeId));
+    }
+
+    public void vibeRemoved(UUID vibeId) {
+        afterCommit(() -> followGraph.removeVibe(vibeId));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
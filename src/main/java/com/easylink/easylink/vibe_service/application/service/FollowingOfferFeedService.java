@@ -0,0 +1,176 @@
+package com.easylink.easylink.vibe_service.application.service;
+
+import com.easylink.easylink.vibe_service.application.dto.FollowingOfferDto;
+import com.easylink.easylink.vibe_service.application.dto.FollowingOfferPage;
+import com.easylink.easylink.vibe_service.application.dto.VibeStats;
+import com.easylink.easylink.vibe_service.application.port.out.FollowingOfferFeedPort;
+import com.easylink.easylink.vibe_service.application.port.out.VibeStatsPort;
+import com.easylink.easylink.vibe_service.infrastructure.repository.FollowingOfferJdbcRepository;
+import com.easylink.easylink.vibe_service.infrastructure.repository.SpringDataVibeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * "Following with offers" served from a per-subscriber feed instead of a GROUP BY over interaction and offer.
+ * Offer changes are pushed into followers' feeds (fan-out on write) unless the vibe has more than
+ * {@code pull-threshold} subscribers; those are merged into each feed when it is read. Subscription changes
+ * evict the subscriber's feed, which is rebuilt from Postgres on the next read.
+ */
+@Slf4j
+@Service
+public class FollowingOfferFeedService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    // smallest value in Postgres uuid ordering
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    // same order as ZREVRANGE: score desc, then member desc
+    private static final Comparator<Map.Entry<UUID, Long>> FEED_ORDER =
+            Comparator.<Map.Entry<UUID, Long>>comparingLong(Map.Entry::getValue)
+                    .thenComparing(e -> e.getKey().toString())
+                    .reversed();
+
+    private final FollowingOfferFeedPort feed;
+    private final FollowingOfferJdbcRepository followingOfferJdbcRepository;
+    private final SpringDataVibeRepository springDataVibeRepository;
+    private final VibeStatsPort vibeStatsPort;
+    private final long pullThreshold;
+    private final int fanoutChunkSize;
+
+    public FollowingOfferFeedService(FollowingOfferFeedPort feed,
+                                     FollowingOfferJdbcRepository followingOfferJdbcRepository,
+                                     SpringDataVibeRepository springDataVibeRepository,
+                                     VibeStatsPort vibeStatsPort,
+                                     @Value("${feed.following-offers.pull-threshold:10000}") long pullThreshold,
+                                     @Value("${feed.following-offers.fanout-chunk-size:1000}") int fanoutChunkSize) {
+        this.feed = feed;
+        this.followingOfferJdbcRepository = followingOfferJdbcRepository;
+        this.springDataVibeRepository = springDataVibeRepository;
+        this.vibeStatsPort = vibeStatsPort;
+        this.pullThreshold = pullThreshold;
+        this.fanoutChunkSize = fanoutChunkSize;
+    }
+
+    public FollowingOfferPage getPage(UUID subscriberVibeId, Long offset, Integer limit) {
+        if (!springDataVibeRepository.existsById(subscriberVibeId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Vibe not found");
+        }
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        long from = offset == null ? 0 : Math.max(0, offset);
+
+        List<UUID> targets = feed.readPage(subscriberVibeId, from, size)
+                .orElseGet(() -> rebuild(subscriberVibeId, from, size));
+
+        Map<UUID, FollowingOfferDto> rows = followingOfferJdbcRepository.findPageRows(subscriberVibeId, targets)
+                .stream()
+                .collect(Collectors.toMap(FollowingOfferDto::targetVibeId, Function.identity()));
+
+        List<FollowingOfferDto> items = new ArrayList<>(targets.size());
+        List<UUID> gone = new ArrayList<>();
+        for (UUID target : targets) {
+            FollowingOfferDto row = rows.get(target);
+            if (row != null) items.add(row);
+            else gone.add(target);
+        }
+        // deleted vibes and edges removed behind the feed's back are dropped lazily; the next page shifts with them
+        feed.remove(subscriberVibeId, gone);
+
+        Long next = targets.size() < size ? null : from + size - gone.size();
+        return new FollowingOfferPage(items, next);
+    }
+
+    // the whole feed, for the unpaginated endpoint
+    public List<FollowingOfferDto> getAll(UUID subscriberVibeId) {
+        List<FollowingOfferDto> all = new ArrayList<>();
+        Long offset = 0L;
+        while (offset != null) {
+            FollowingOfferPage page = getPage(subscriberVibeId, offset, MAX_PAGE_SIZE);
+            all.addAll(page.items());
+            offset = page.nextOffset();
+        }
+        return all;
+    }
+
+    private List<UUID> rebuild(UUID subscriberVibeId, long from, int size) {
+        // a subscription change committed while the scores are read evicts the feed and moves the token on,
+        // so this possibly older membership is not stored over it
+        long token = feed.loadToken(subscriberVibeId);
+        Map<UUID, Long> scores = followingOfferJdbcRepository.findFeedScores(subscriberVibeId);
+        feed.store(subscriberVibeId, scores, token);
+
+        // exact scores were just computed, so the first page is cut from them without reading Redis back
+        return scores.entrySet().stream()
+                .sorted(FEED_ORDER)
+                .skip(from)
+                .limit(size)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Rescores a vibe in its followers' feeds after an offer was created, edited, deleted or has ended.
+     */
+    public void offersChanged(UUID vibeId) {
+        long score = followingOfferJdbcRepository.findOfferActivity(vibeId);
+
+        long subscribers = vibeStatsPort.find(vibeId).map(VibeStats::subscriberCount).orElse(0L);
+        if (subscribers > pullThreshold) {
+            feed.publishLarge(vibeId, score);
+            return;
+        }
+        feed.clearLarge(vibeId);
+
+        UUID after = MIN_UUID;
+        long total = 0;
+        while (true) {
+            List<UUID> chunk = followingOfferJdbcRepository.findFollowerVibeIdsAfter(vibeId, after, fanoutChunkSize);
+            if (chunk.isEmpty()) break;
+
+            feed.publish(vibeId, score, chunk);
+            total += chunk.size();
+
+            if (chunk.size() < fanoutChunkSize) break;
+            after = chunk.get(chunk.size() - 1);
+        }
+        log.debug("Following-offer feed fan-out for vibe {}: {} feeds", vibeId, total);
+    }
+
+    /**
+     * Drops the feeds of subscribers whose followed set changed and bumps their generation. Runs after commit;
+     * a rebuild that read the scores before the commit took its token before this evict, so its store is skipped.
+     */
+    public void subscriptionsChanged(Collection<UUID> subscriberVibeIds) {
+        if (subscriberVibeIds.isEmpty()) return;
+        List<UUID> ids = List.copyOf(subscriberVibeIds);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            feed.evict(ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                feed.evict(ids);
+            }
+        });
+    }
+
+    public void subscriptionChanged(UUID subscriberVibeId) {
+        subscriptionsChanged(List.of(subscriberVibeId));
+    }
+}
@@ -1,21 +1,31 @@
 package com.easylink.easylink.vibe_service.application.service;
 
-import com.easylink.easylink.services.NotificationService;
+import com.easylink.easylink.notifications.NotificationBatchRequest;
+import com.easylink.easylink.notifications.NotificationRequest;
+import com.easylink.easylink.outbox.OutboxService;
 import com.easylink.easylink.vibe_service.application.dto.EarlyAccessRequestDTO;
-import com.easylink.easylink.vibe_service.application.dto.InteractionWithOffersDTO;
+import com.easylink.easylink.vibe_service.application.dto.MiniVibePage;
+import com.easylink.easylink.vibe_service.application.dto.MiniVibeRow;
+import com.easylink.easylink.vibe_service.application.dto.PendingInteraction;
+import com.easylink.easylink.vibe_service.application.dto.ResolvedRequest;
+import com.easylink.easylink.vibe_service.application.dto.SubscribeUpsert;
 import com.easylink.easylink.vibe_service.application.dto.VibeDto;
 import com.easylink.easylink.vibe_service.application.mapper.InteractionDtoMapper;
 import com.easylink.easylink.vibe_service.application.mapper.VibeDtoMapper;
 import com.easylink.easylink.vibe_service.application.port.in.interaction.*;
+import com.easylink.easylink.vibe_service.application.port.out.InteractionWriteBehindPort;
+import com.easylink.easylink.vibe_service.application.port.out.VibeStatsPort;
 import com.easylink.easylink.vibe_service.domain.interaction.Interaction;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionType;
 import com.easylink.easylink.vibe_service.domain.model.EarlyAccessRequest;
 import com.easylink.easylink.vibe_service.domain.model.SubscribeMode;
 import com.easylink.easylink.vibe_service.domain.model.Vibe;
+import com.easylink.easylink.vibe_service.infrastructure.repository.InteractionJdbcRepository;
 import com.easylink.easylink.vibe_service.infrastructure.repository.JpaEarlyAccessRequestAdapter;
 import com.easylink.easylink.vibe_service.infrastructure.repository.JpaInteractionRepositoryAdapter;
 import com.easylink.easylink.vibe_service.infrastructure.repository.SpringDataVibeRepository;
+import com.easylink.easylink.vibe_service.infrastructure.security.ViewerContext;
 import com.easylink.easylink.vibe_service.web.dto.CreateInteractionRequest;
 import com.easylink.easylink.vibe_service.web.dto.InteractionResponse;
 import com.easylink.easylink.vibe_service.web.dto.PendingRequestResponse;
@@ -24,10 +34,14 @@ import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -41,107 +55,64 @@ public class InteractionService implements
         CreateEarlyAccessUseCase,
         EarlyAccessCheckable {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_STATUS_TARGETS = 100;
+    private static final int NOTIFICATION_BATCH_SIZE = 1000;
+    // smallest value in Postgres uuid ordering
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
     private final SpringDataVibeRepository springDataVibeRepository;
     private final JpaInteractionRepositoryAdapter interactionRepositoryAdapter;
     private final JpaEarlyAccessRequestAdapter jpaEarlyAccessRequestAdapter;
     private final ModelMapper modelMapper;
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
+    private final VibeStatsPort vibeStatsPort;
+    private final InteractionJdbcRepository interactionJdbcRepository;
+    private final InteractionWriteBehindPort interactionWriteBehind;
+    private final FollowingOfferFeedService followingOfferFeedService;
+    private final FollowGraphService followGraphService;
+    private final ViewerContext viewerContext;
 
     @Override
+    @Transactional
     public InteractionResponse createInteraction(CreateInteractionRequest req) {
 
-        Vibe targetVibe = springDataVibeRepository
-                .findById(req.getTargetVibeId())
-                .orElseThrow(() ->
-                        new ResponseStatusException(HttpStatus.NOT_FOUND, "Target vibe not found"));
-
-        Vibe myVibe = springDataVibeRepository
-                .findById(req.getMyVibeId())
-                .orElseThrow(() ->
-                        new ResponseStatusException(HttpStatus.NOT_FOUND, "Subscriber vibe not found"));
-
-        if (targetVibe.getId().equals(myVibe.getId())) {
+        InteractionType type = req.getInteractionType();
+        if (type == null) {
             throw new ResponseStatusException(
                     HttpStatus.BAD_REQUEST,
-                    "You cannot subscribe to your own vibe"
+                    "Interaction type is required"
             );
         }
 
-        InteractionType type = req.getInteractionType();
-        if (type == null) {
+        if (req.getTargetVibeId() == null || req.getMyVibeId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Vibe ids are required");
+        }
+
+        if (req.getTargetVibeId().equals(req.getMyVibeId())) {
             throw new ResponseStatusException(
                     HttpStatus.BAD_REQUEST,
-                    "Interaction type is required"
+                    "You cannot subscribe to your own vibe"
             );
         }
 
         // =========================
-        // SUBSCRIBE (upsert)
+        // SUBSCRIBE (one-statement upsert, no entity loading)
         // =========================
         if (type == InteractionType.SUBSCRIBE) {
+            return subscribe(req);
+        }
 
-            Interaction sub = interactionRepositoryAdapter
-                    .findAnySubscription(myVibe, targetVibe)
-                    .orElseGet(() -> {
-                        Interaction i = new Interaction();
-                        i.setTargetVibe(targetVibe);
-                        i.setSubscriberVibe(myVibe);
-                        i.setInteractionType(InteractionType.SUBSCRIBE);
-                        return i;
-                    });
-
-            sub.setAnonymous(req.isAnonymous());
-            sub.setUserEmail(req.getUserEmail());
-            sub.setActive(true);
-
-            sub.setAnonymous(req.isAnonymous());
-            sub.setUserEmail(req.getUserEmail());
-            sub.setActive(true);
-
-            if (targetVibe.getSubscribeMode() == SubscribeMode.APPROVAL) {
-                sub.setStatus(InteractionStatus.PENDING);
-            } else {
-                sub.setStatus(InteractionStatus.APPROVED);
-            }
-
-            Interaction saved = interactionRepositoryAdapter.save(sub);
-
-            // Notification logic
-            String ownerUserId = targetVibe.getVibeAccountId().toString();
-            String subscriberName = (req.isAnonymous() ? "Someone" : myVibe.getName());
-
-            String notificationType =
-                    (sub.getStatus() == InteractionStatus.PENDING)
-                            ? "ACCESS_REQUEST"
-                            : "SUBSCRIBE";
-
-            String title =
-                    (sub.getStatus() == InteractionStatus.PENDING)
-                            ? "New access request"
-                            : "New subscriber";
-
-            String message =
-                    (sub.getStatus() == InteractionStatus.PENDING)
-                            ? subscriberName + " requested access to your Vibe"
-                            : subscriberName + " subscribed to your Vibe";
-
-            String link =
-                    (sub.getStatus() == InteractionStatus.PENDING)
-                            ? "/view/" + targetVibe.getId() + "/network/requests"
-                            : "/view/" + myVibe.getId();
-
-            notificationService.create(
-                    ownerUserId,
-                    notificationType,
-                    title,
-                    message,
-                    link
-            );
+        Vibe targetVibe = springDataVibeRepository
+                .findById(req.getTargetVibeId())
+                .orElseThrow(() ->
+                        new ResponseStatusException(HttpStatus.NOT_FOUND, "Target vibe not found"));
 
-            return InteractionResponseMapper.toInteractionResponse(
-                    InteractionDtoMapper.toInteractionDto(saved)
-            );
-        }
+        Vibe myVibe = springDataVibeRepository
+                .findById(req.getMyVibeId())
+                .orElseThrow(() ->
+                        new ResponseStatusException(HttpStatus.NOT_FOUND, "Subscriber vibe not found"));
 
         // =========================
         // UNSUBSCRIBE
@@ -152,6 +123,8 @@ public class InteractionService implements
                     .findAnySubscription(myVibe, targetVibe)
                     .orElseThrow(() ->
                             new ResponseStatusException(HttpStatus.CONFLICT, "Subscription not found"));
+            interactionRepositoryAdapter.lockForUpdate(sub);
+            boolean countedBefore = countsAsSubscription(sub);
 
             sub.setActive(false);
 
@@ -161,6 +134,8 @@ public class InteractionService implements
             }
 
             Interaction saved = interactionRepositoryAdapter.save(sub);
+            adjustStats(saved, countedBefore);
+            followingOfferFeedService.subscriptionChanged(myVibe.getId());
 
             return InteractionResponseMapper.toInteractionResponse(
                     InteractionDtoMapper.toInteractionDto(saved)
@@ -170,6 +145,22 @@ public class InteractionService implements
         // =========================
         // OTHER INTERACTIONS
         // =========================
+        PendingInteraction pending = new PendingInteraction(
+                UUID.randomUUID(),
+                targetVibe.getId(),
+                myVibe.getId(),
+                req.getUserEmail(),
+                req.isAnonymous(),
+                type,
+                req.isActive(),
+                LocalDateTime.now()
+        );
+        if (interactionWriteBehind.offer(pending)) {
+            return InteractionResponseMapper.toInteractionResponse(
+                    InteractionDtoMapper.toInteractionDto(pending)
+            );
+        }
+
         Interaction interaction = new Interaction();
         interaction.setTargetVibe(targetVibe);
         interaction.setSubscriberVibe(myVibe);
@@ -185,20 +176,56 @@ public class InteractionService implements
         );
     }
 
-    public List<VibeDto> getFollowing(UUID vibeId) {
-        Vibe vibe = springDataVibeRepository.findById(vibeId)
+    private InteractionResponse subscribe(CreateInteractionRequest req) {
+        UUID subscriberId = req.getMyVibeId();
+        UUID targetId = req.getTargetVibeId();
+
+        // empty upsert: either a vibe is gone or the subscription is already in place (double click, retry)
+        SubscribeUpsert sub = interactionJdbcRepository
+                .upsertSubscription(subscriberId, targetId, req.getUserEmail(), req.isAnonymous())
+                .or(() -> interactionJdbcRepository.findSubscription(subscriberId, targetId))
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vibe not found"));
 
-        List<Interaction> interactions = interactionRepositoryAdapter.getAllFollowings(vibe);
-        List<Vibe> vibeList = interactions.stream().map(Interaction::getTargetVibe).collect(Collectors.toList());
-        return vibeList.stream().map(VibeDtoMapper::toDto).toList();
+        InteractionResponse response = InteractionResponseMapper.toInteractionResponse(
+                InteractionDtoMapper.toInteractionDto(sub)
+        );
+        if (!sub.changed()) {
+            return response;
+        }
+        followingOfferFeedService.subscriptionChanged(subscriberId);
+
+        // the upsert never touches a row that was already counted
+        if (sub.status() == InteractionStatus.APPROVED) {
+            vibeStatsPort.adjust(targetId, subscriberId, 1);
+            followGraphService.edgeAdded(subscriberId, targetId);
+        }
+
+        // Notification logic
+        boolean pending = sub.status() == InteractionStatus.PENDING;
+        String subscriberName = (req.isAnonymous() ? "Someone" : sub.subscriberName());
+
+        outboxService.append(NotificationRequest.EVENT_TYPE, new NotificationRequest(
+                sub.ownerAccountId().toString(),
+                pending ? "ACCESS_REQUEST" : "SUBSCRIBE",
+                pending ? "New access request" : "New subscriber",
+                pending
+                        ? subscriberName + " requested access to your Vibe"
+                        : subscriberName + " subscribed to your Vibe",
+                pending
+                        ? "/view/" + targetId + "/network/requests"
+                        : "/view/" + subscriberId
+        ));
+
+        return response;
     }
 
-    public List<InteractionWithOffersDTO> getFollowingWithOffers(UUID vibeId) {
+    public List<VibeDto> getFollowing(UUID vibeId) {
         Vibe vibe = springDataVibeRepository.findById(vibeId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vibe not found"));
 
-        return interactionRepositoryAdapter.getAllFollowingsWithOffers(vibe);
+        List<Interaction> interactions = interactionRepositoryAdapter.getAllFollowings(vibe);
+        List<Vibe> vibeList = interactions.stream().map(Interaction::getTargetVibe).collect(Collectors.toList());
+        return vibeList.stream().map(VibeDtoMapper::toDto).toList();
     }
 
     public List<VibeDto> getSubscribers(UUID vibeId) {
@@ -214,6 +241,42 @@ public class InteractionService implements
                 .toList();
     }
 
+    // =========================================================================
+    // keyset-paginated mini cards: one projection query per page, no entity or fields loading
+    // =========================================================================
+
+    public MiniVibePage getSubscribersPage(UUID vibeId, UUID after, Integer limit) {
+        requireVibe(vibeId);
+        int size = pageSize(limit);
+        return toPage(interactionRepositoryAdapter.findApprovedSubscriberMiniAfter(vibeId, cursor(after), size), size);
+    }
+
+    public MiniVibePage getFollowingPage(UUID vibeId, UUID after, Integer limit) {
+        requireVibe(vibeId);
+        int size = pageSize(limit);
+        return toPage(interactionRepositoryAdapter.findFollowingMiniAfter(vibeId, cursor(after), size), size);
+    }
+
+    private void requireVibe(UUID vibeId) {
+        if (!springDataVibeRepository.existsById(vibeId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Vibe not found");
+        }
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) return DEFAULT_PAGE_SIZE;
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static UUID cursor(UUID after) {
+        return after != null ? after : MIN_UUID;
+    }
+
+    private static MiniVibePage toPage(List<MiniVibeRow> rows, int size) {
+        UUID next = rows.size() < size ? null : rows.get(rows.size() - 1).interactionId();
+        return new MiniVibePage(rows.stream().map(MiniVibeRow::toMini).toList(), next);
+    }
+
     public List<VibeDto> getSubscribeRequestsOwnedBy(UUID vibeId, String requesterUserId) {
         Vibe targetVibe = springDataVibeRepository
                 .findById(vibeId)
@@ -248,16 +311,17 @@ public class InteractionService implements
                 .toList();
     }
 
+    @Transactional
     public InteractionResponse createInteractionFromJwt(
             CreateInteractionRequest req,
             String requesterUserId
     ) {
-        Vibe myVibe = springDataVibeRepository
-                .findById(req.getMyVibeId())
+        UUID ownerAccountId = springDataVibeRepository
+                .findAccountIdById(req.getMyVibeId())
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "Subscriber vibe not found"));
 
-        if (!myVibe.getVibeAccountId().toString().equals(requesterUserId)) {
+        if (!ownerAccountId.toString().equals(requesterUserId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your vibe");
         }
 
@@ -275,6 +339,36 @@ public class InteractionService implements
         return interactionRepositoryAdapter.isSubscribed(subscriberVibe, targetVibe);
     }
 
+    /**
+     * Statuses for up to {@link #MAX_STATUS_TARGETS} targets in one query. Every requested target is in the result,
+     * mapped to APPROVED, PENDING or null when there is no subscription. Without a subscriber vibe the caller's
+     * live vibes are checked, taken from the request's {@link ViewerContext}.
+     */
+    public Map<UUID, InteractionStatus> getSubscriptionStatuses(UUID subscriberVibeId,
+                                                                List<UUID> targetVibeIds) {
+        if (targetVibeIds == null || targetVibeIds.isEmpty()) return Map.of();
+        List<UUID> targets = targetVibeIds.stream().distinct().toList();
+        if (targets.size() > MAX_STATUS_TARGETS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Too many target vibes");
+        }
+
+        List<UUID> subscribers;
+        if (subscriberVibeId != null) {
+            subscribers = List.of(subscriberVibeId);
+        } else {
+            if (viewerContext.accountId().isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid subject");
+            }
+            subscribers = viewerContext.vibeIds();
+        }
+
+        Map<UUID, InteractionStatus> found = interactionRepositoryAdapter.findSubscriptionStatuses(subscribers, targets);
+
+        Map<UUID, InteractionStatus> result = new LinkedHashMap<>();
+        targets.forEach(t -> result.put(t, found.get(t)));
+        return result;
+    }
+
     @Override
     public EarlyAccessRequestDTO create(String email) {
 
@@ -343,6 +437,7 @@ public class InteractionService implements
                 .toList();
     }
 
+    @Transactional
     public void approveRequest(UUID vibeId, UUID interactionId, String requesterUserId) {
         Vibe targetVibe = springDataVibeRepository
                 .findById(vibeId)
@@ -359,11 +454,16 @@ public class InteractionService implements
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid request");
         }
 
+        interactionRepositoryAdapter.lockForUpdate(i);
+        boolean countedBefore = countsAsSubscription(i);
         i.setStatus(InteractionStatus.APPROVED);
         i.setActive(true);
         interactionRepositoryAdapter.save(i);
+        adjustStats(i, countedBefore);
+        followingOfferFeedService.subscriptionChanged(i.getSubscriberVibe().getId());
     }
 
+    @Transactional
     public void rejectRequest(UUID vibeId, UUID interactionId, String requesterUserId) {
         Vibe targetVibe = springDataVibeRepository
                 .findById(vibeId)
@@ -380,11 +480,77 @@ public class InteractionService implements
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid request");
         }
 
+        interactionRepositoryAdapter.lockForUpdate(i);
+        boolean countedBefore = countsAsSubscription(i);
         i.setStatus(InteractionStatus.REJECTED);
         i.setActive(false);
         interactionRepositoryAdapter.save(i);
+        adjustStats(i, countedBefore);
+        followingOfferFeedService.subscriptionChanged(i.getSubscriberVibe().getId());
     }
 
+    // =========================================================================
+    // bulk resolution: one ownership check, one UPDATE, one batched notification
+    // =========================================================================
+
+    /**
+     * Approves the given pending requests, or every pending request of the vibe when {@code interactionIds} is null.
+     * Returns the ids that were actually approved; ids that are not pending requests of this vibe are skipped.
+     */
+    @Transactional
+    public List<UUID> approveRequests(UUID vibeId, List<UUID> interactionIds, String requesterUserId) {
+        Vibe targetVibe = requireOwnedVibe(vibeId, requesterUserId);
+
+        List<ResolvedRequest> approved = interactionJdbcRepository.resolvePendingRequests(
+                vibeId, interactionIds, InteractionStatus.APPROVED, true);
+        if (approved.isEmpty()) return List.of();
+
+        List<UUID> subscribers = approved.stream().map(ResolvedRequest::subscriberVibeId).toList();
+        vibeStatsPort.addSubscribers(vibeId, subscribers);
+        followGraphService.edgesAdded(vibeId, subscribers);
+
+        List<String> accounts = approved.stream()
+                .map(r -> r.subscriberAccountId().toString())
+                .distinct()
+                .toList();
+        for (int from = 0; from < accounts.size(); from += NOTIFICATION_BATCH_SIZE) {
+            outboxService.append(NotificationBatchRequest.EVENT_TYPE, new NotificationBatchRequest(
+                    accounts.subList(from, Math.min(from + NOTIFICATION_BATCH_SIZE, accounts.size())),
+                    "ACCESS_APPROVED",
+                    "Request approved",
+                    targetVibe.getName() + " approved your request",
+                    "/view/" + vibeId
+            ));
+        }
+
+        return approved.stream().map(ResolvedRequest::interactionId).toList();
+    }
+
+    @Transactional
+    public List<UUID> rejectRequests(UUID vibeId, List<UUID> interactionIds, String requesterUserId) {
+        requireOwnedVibe(vibeId, requesterUserId);
+
+        List<ResolvedRequest> rejected = interactionJdbcRepository.resolvePendingRequests(
+                vibeId, interactionIds, InteractionStatus.REJECTED, false);
+
+        // pending requests are not counted in vibe_stats, so rejecting them moves no counters
+        followingOfferFeedService.subscriptionsChanged(rejected.stream().map(ResolvedRequest::subscriberVibeId).toList());
+
+        return rejected.stream().map(ResolvedRequest::interactionId).toList();
+    }
+
+    private Vibe requireOwnedVibe(UUID vibeId, String requesterUserId) {
+        Vibe targetVibe = springDataVibeRepository
+                .findById(vibeId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vibe not found"));
+
+        if (!targetVibe.getVibeAccountId().toString().equals(requesterUserId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not your vibe");
+        }
+        return targetVibe;
+    }
+
+    @Transactional
     public void removeSubscriber(UUID targetVibeId, UUID subscriberVibeId, String requesterUserId) {
         Vibe targetVibe = springDataVibeRepository
                 .findById(targetVibeId)
@@ -407,10 +573,42 @@ public class InteractionService implements
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid interaction type");
         }
 
+        interactionRepositoryAdapter.lockForUpdate(sub);
+        boolean countedBefore = countsAsSubscription(sub);
+
         // STRICT model: revoke access + require approval next time
         sub.setActive(false);
         sub.setStatus(InteractionStatus.PENDING);
 
         interactionRepositoryAdapter.save(sub);
+        adjustStats(sub, countedBefore);
+        followingOfferFeedService.subscriptionChanged(subscriberVibeId);
+    }
+
+    // =========================================================================
+    // vibe_stats and follow graph maintenance: both move only when an edge enters or leaves the counted state.
+    // countedBefore is read from a row locked with lockForUpdate, so two concurrent changes cannot both apply
+    // the same delta; the set-based paths re-check their predicate on the locked row instead.
+    // =========================================================================
+
+    private static boolean countsAsSubscription(Interaction i) {
+        return i.getId() != null
+                && i.isActive()
+                && i.getInteractionType() == InteractionType.SUBSCRIBE
+                && i.getStatus() == InteractionStatus.APPROVED;
+    }
+
+    private void adjustStats(Interaction i, boolean countedBefore) {
+        boolean countedAfter = countsAsSubscription(i);
+        if (countedBefore == countedAfter) return;
+
+        vibeStatsPort.adjust(
+                i.getTargetVibe().getId(),
+                i.getSubscriberVibe().getId(),
+                countedAfter ? 1 : -1
+        );
+
+        if (countedAfter) followGraphService.edgeAdded(i.getSubscriberVibe().getId(), i.getTargetVibe().getId());
+        else followGraphService.edgeRemoved(i.getSubscriberVibe().getId(), i.getTargetVibe().getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.easylink.easylink.vibe_service.application.service;
+
+import com.easylink.easylink.services.NotificationService;
+import com.easylink.easylink.vibe_service.application.port.out.InteractionRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Notifies every subscriber of a vibe. Runs inside the outbox handler for the offer, off the request thread:
+ * subscribers are read in keyset chunks of account ids and each chunk is written with one insert, so the
+ * cost per offer no longer grows with round trips per subscriber.
+ * <p>
+ * The outbox event is marked published only after the last chunk, and notification ids are derived from
+ * the event id, so a fan-out interrupted by a crash or a failing chunk is redelivered and picks up the
+ * remaining subscribers without notifying anyone twice.
+ */
+@Slf4j
+@Service
+public class OfferNotificationFanout {
+
+    // smallest value in Postgres uuid ordering
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    private final InteractionRepositoryPort interactionRepositoryPort;
+    private final NotificationService notificationService;
+    private final int chunkSize;
+
+    private final Counter delivered;
+    private final Timer duration;
+
+    public OfferNotificationFanout(InteractionRepositoryPort interactionRepositoryPort,
+                                   NotificationService notificationService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notifications.fanout.chunk-size:1000}") int chunkSize) {
+        this.interactionRepositoryPort = interactionRepositoryPort;
+        this.notificationService = notificationService;
+        this.chunkSize = chunkSize;
+
+        this.delivered = meterRegistry.counter("notifications.fanout.delivered");
+        this.duration = meterRegistry.timer("notifications.fanout.duration");
+    }
+
+    // throws on a failed chunk so the outbox retries the whole fan-out
+    public long fanOut(UUID eventId, UUID vibeId, String type, String title, String body, String link) {
+        return duration.record(() -> run(eventId, vibeId, type, title, body, link));
+    }
+
+    private long run(UUID eventId, UUID vibeId, String type, String title, String body, String link) {
+        UUID after = MIN_UUID;
+        long total = 0;
+
+        while (true) {
+            List<UUID> chunk = interactionRepositoryPort.findActiveSubscriberAccountIdsAfter(vibeId, after, chunkSize);
+            if (chunk.isEmpty()) break;
+
+            int written = notificationService.createBatch(
+                    eventId, chunk.stream().map(UUID::toString).toList(), type, title, body, link);
+            delivered.increment(written);
+            total += written;
+
+            log.debug("Fan-out for vibe {}: {} notified so far", vibeId, total);
+
+            if (chunk.size() < chunkSize) break;
+            after = chunk.get(chunk.size() - 1);
+        }
+
+        log.info("Fan-out for vibe {} finished: {} notified", vibeId, total);
+        return total;
+    }
+}
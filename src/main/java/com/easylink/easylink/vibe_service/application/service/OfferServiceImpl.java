@@ -1,9 +1,12 @@
 package com.easylink.easylink.vibe_service.application.service;
 
 import com.easylink.easylink.exceptions.OfferLimitExceededException;
-import com.easylink.easylink.services.NotificationService;
+import com.easylink.easylink.outbox.OutboxService;
 import com.easylink.easylink.vibe_service.application.dto.CreateOfferCommand;
 import com.easylink.easylink.vibe_service.application.dto.OfferDto;
+import com.easylink.easylink.vibe_service.application.event.AmplitudeTrackedEvent;
+import com.easylink.easylink.vibe_service.application.event.OfferChangedEvent;
+import com.easylink.easylink.vibe_service.application.event.OfferCreatedEvent;
 import com.easylink.easylink.vibe_service.application.port.in.offer.CreateOfferUseCase;
 import com.easylink.easylink.vibe_service.application.port.in.offer.OfferRateLimitPort;
 import com.easylink.easylink.vibe_service.application.port.out.VibeRepositoryPort;
@@ -11,7 +14,6 @@ import com.easylink.easylink.vibe_service.domain.interaction.offer.DiscountType;
 import com.easylink.easylink.vibe_service.domain.interaction.offer.Offer;
 import com.easylink.easylink.vibe_service.domain.model.Vibe;
 import com.easylink.easylink.vibe_service.domain.model.VibeType;
-import com.easylink.easylink.vibe_service.infrastructure.repository.JpaInteractionRepositoryAdapter;
 import com.easylink.easylink.vibe_service.infrastructure.repository.JpaOfferRepositoryAdapter;
 import com.easylink.easylink.vibe_service.web.dto.OfferPatchRequest;
 import lombok.RequiredArgsConstructor;
@@ -19,6 +21,7 @@ import org.modelmapper.ModelMapper;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.OffsetDateTime;
@@ -34,17 +37,15 @@ public class OfferServiceImpl implements CreateOfferUseCase {
     private final ModelMapper modelMapper;
     private final VibeRepositoryPort vibeRepositoryPort;
     private final JpaOfferRepositoryAdapter jpaOfferRepositoryAdapter;
-    private final AmplitudeService amplitudeService;
     private final OfferRateLimitPort rateLimitPort;
-
-    private final JpaInteractionRepositoryAdapter interactionRepositoryAdapter;
-    private final NotificationService notificationService;
+    private final OutboxService outboxService;
 
     private static final int MONEY_MAX = 1_000_000;
     private static final int PERCENT_MAX = 100;
     private static final int INTERVAL_MAX_MIN = 10080; // 7 days
 
     @Override
+    @Transactional
     public OfferDto create(CreateOfferCommand createOfferCommand) {
 
         UUID vibeId = createOfferCommand.getVibeId();
@@ -77,23 +78,16 @@ public class OfferServiceImpl implements CreateOfferUseCase {
         Offer offerSaved = jpaOfferRepositoryAdapter.save(offer);
         rateLimitPort.incrementOffer(key);
 
-        var subs = interactionRepositoryAdapter.findActiveSubscribersByTarget(vibe);
-        var notified = new java.util.HashSet<String>();
-
-        String title = "New offer";
-        String body = vibe.getName() + " posted: " + offerSaved.getTitle();
-        String link = "/view/" + vibe.getId();
-
-        for (var s : subs) {
-            String subscriberUserId = s.getSubscriberVibe().getVibeAccountId().toString();
-
-            if (subscriberUserId.equals(vibe.getVibeAccountId().toString())) continue;
-            if (!notified.add(subscriberUserId)) continue;
-
-            notificationService.create(subscriberUserId, "OFFER", title, body, link);
-        }
+        // subscriber fan-out and analytics run from the outbox after commit
+        outboxService.append(OfferCreatedEvent.EVENT_TYPE, new OfferCreatedEvent(
+                offerSaved.getId(),
+                vibe.getId(),
+                vibe.getName(),
+                offerSaved.getTitle()
+        ));
+        outboxService.append(OfferChangedEvent.EVENT_TYPE, new OfferChangedEvent(vibe.getId()));
 
-        amplitudeService.sendEvent(
+        outboxService.append(AmplitudeTrackedEvent.EVENT_TYPE, new AmplitudeTrackedEvent(
                 vibe.getName(),
                 "Created Offer",
                 Map.of(
@@ -102,7 +96,7 @@ public class OfferServiceImpl implements CreateOfferUseCase {
                         "title", offerSaved.getTitle(),
                         "source", "backend"
                 )
-        );
+        ));
 
         OfferDto offerDto = modelMapper.map(offerSaved, OfferDto.class);
         offerDto.setVibeId(vibe.getId());
@@ -181,6 +175,7 @@ public class OfferServiceImpl implements CreateOfferUseCase {
         throw new IllegalArgumentException("Invalid datetime format: " + raw + ". Expected ISO-8601 with timezone, e.g. 2026-03-15T04:45:00Z");
     }
 
+    @Transactional
     public void updateOfferFields(UUID id, Map<String, Object> updatedFields, Jwt jwt) {
         Offer offer = jpaOfferRepositoryAdapter.findById(id)
                 .orElseThrow(() -> new RuntimeException("Offer not found"));
@@ -229,8 +224,10 @@ public class OfferServiceImpl implements CreateOfferUseCase {
         validateDiscounts(offer);
 
         jpaOfferRepositoryAdapter.save(offer);
+        outboxService.append(OfferChangedEvent.EVENT_TYPE, new OfferChangedEvent(offer.getVibe().getId()));
     }
 
+    @Transactional
     public void deleteOffer(UUID offerId, Jwt jwt) {
         Offer offer = jpaOfferRepositoryAdapter.findById(offerId)
                 .orElseThrow(() -> new RuntimeException("Offer not found"));
@@ -251,6 +248,7 @@ public class OfferServiceImpl implements CreateOfferUseCase {
                 : null;
 
         if (key != null) {
+            outboxService.append(OfferChangedEvent.EVENT_TYPE, new OfferChangedEvent(offer.getVibe().getId()));
             rateLimitPort.decrementOffer(key);
         }
     }
@@ -280,6 +278,7 @@ public class OfferServiceImpl implements CreateOfferUseCase {
         }
     }
 
+    @Transactional
     public void updateOffer(UUID id, OfferPatchRequest p, Jwt jwt) {
         Offer offer = jpaOfferRepositoryAdapter.findById(id)
                 .orElseThrow(() -> new RuntimeException("Offer not found"));
@@ -326,6 +325,7 @@ public class OfferServiceImpl implements CreateOfferUseCase {
         validateDiscounts(offer);
 
         jpaOfferRepositoryAdapter.save(offer);
+        outboxService.append(OfferChangedEvent.EVENT_TYPE, new OfferChangedEvent(offer.getVibe().getId()));
     }
 
     private void validateTimeRange(Instant start, Instant end) {
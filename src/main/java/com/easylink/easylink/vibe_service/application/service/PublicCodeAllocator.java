@@ -0,0 +1,118 @@
+package com.easylink.easylink.vibe_service.application.service;
+
+import com.easylink.easylink.vibe_service.application.port.out.PublicCodePoolPort;
+import com.easylink.easylink.vibe_service.application.port.out.PublicCodePoolPort.Utilization;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out public codes from the pool table. Codes start at {@code min-length} digits; once a length is
+ * {@code grow-threshold} full, new claims move to the next length, and they move back when codes of the
+ * shorter length are released. Lengths not seeded yet are skipped; {@link #seedMissingLengths()} adds them
+ * in the background.
+ * <p>
+ * Lookups go through a per-node code -> vibe id map filled on read. Claims and releases on this node update
+ * it after commit; an entry made stale by another node is caught by the caller, which checks the vibe still
+ * shows that code, and dropped with {@link #forget(String, UUID)}.
+ */
+@Slf4j
+@Service
+public class PublicCodeAllocator {
+
+    private final PublicCodePoolPort pool;
+    private final int minLength;
+    private final int maxLength;
+    private final double growThreshold;
+
+    private final Map<String, UUID> index = new ConcurrentHashMap<>();
+
+    public PublicCodeAllocator(PublicCodePoolPort pool,
+                               @Value("${vibe.public-code.min-length:4}") int minLength,
+                               @Value("${vibe.public-code.max-length:6}") int maxLength,
+                               @Value("${vibe.public-code.grow-threshold:0.8}") double growThreshold) {
+        if (minLength < 1 || maxLength < minLength || maxLength > 9) {
+            throw new IllegalArgumentException("vibe.public-code lengths must satisfy 1 <= min-length <= max-length <= 9");
+        }
+        if (growThreshold <= 0 || growThreshold > 1) {
+            throw new IllegalArgumentException("vibe.public-code.grow-threshold must be in (0, 1]");
+        }
+        this.pool = pool;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.growThreshold = growThreshold;
+    }
+
+    /**
+     * Gives the vibe a code, returning the one it held to the pool first (so it may get the same code back).
+     */
+    @Transactional
+    public String claim(UUID vibeId) {
+        release(vibeId);
+
+        for (int length = minLength; length <= maxLength; length++) {
+            Utilization utilization = pool.utilization(length);
+            if (utilization.total() == 0) continue;
+            // the longest length is used up to the last code
+            if (length < maxLength && utilization.claimed() >= growThreshold * utilization.total()) continue;
+
+            Optional<String> code = pool.claim(vibeId, length);
+            if (code.isPresent()) {
+                afterCommit(() -> index.put(code.get(), vibeId));
+                return code.get();
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "No public codes left");
+    }
+
+    // lengths in range with no codes yet, e.g. after max-length was raised; V11 seeds up to 6 digits
+    public void seedMissingLengths() {
+        for (int length = minLength; length <= maxLength; length++) {
+            if (pool.utilization(length).total() > 0) continue;
+            long started = System.nanoTime();
+            pool.seed(length);
+            log.info("Seeded {}-digit public codes in {} ms", length, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    public void release(UUID vibeId) {
+        pool.release(vibeId).ifPresent(code -> afterCommit(() -> index.remove(code, vibeId)));
+    }
+
+    // the vibe the pool assigns the code to; the caller still checks the vibe is visible with that code
+    public Optional<UUID> findVibeId(String code) {
+        UUID cached = index.get(code);
+        if (cached != null) return Optional.of(cached);
+
+        Optional<UUID> loaded = pool.findVibeIdByCode(code);
+        loaded.ifPresent(vibeId -> index.put(code, vibeId));
+        return loaded;
+    }
+
+    public void forget(String code, UUID vibeId) {
+        index.remove(code, vibeId);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
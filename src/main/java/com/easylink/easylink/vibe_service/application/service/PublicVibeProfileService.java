@@ -0,0 +1,71 @@
+package com.easylink.easylink.vibe_service.application.service;
+
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeProfile;
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeViewKey;
+import com.easylink.easylink.vibe_service.application.dto.VibeDto;
+import com.easylink.easylink.vibe_service.application.mapper.VibeDtoMapper;
+import com.easylink.easylink.vibe_service.application.port.out.VibeProfileCachePort;
+import com.easylink.easylink.vibe_service.application.port.out.VibeRepositoryPort;
+import com.easylink.easylink.vibe_service.infrastructure.cache.SingleFlight;
+import com.easylink.easylink.vibe_service.infrastructure.repository.ResourceVersionJdbcRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache for the viewer-independent part of a public vibe profile.
+ * Every write that changes what the profile shows must call {@link #vibeChanged(UUID)}.
+ */
+@Service
+@RequiredArgsConstructor
+public class PublicVibeProfileService {
+
+    private final VibeProfileCachePort cache;
+    private final VibeRepositoryPort vibeRepositoryPort;
+    private final SingleFlight<PublicVibeViewKey, VibeDto> publicVibeViews;
+    private final ResourceVersionJdbcRepository resourceVersionJdbcRepository;
+
+    // empty for deleted or unknown vibes; those are not cached
+    public Optional<PublicVibeProfile> find(UUID vibeId) {
+        return find(vibeId, 0);
+    }
+
+    /**
+     * As {@link #find(UUID)}, but a cached profile older than {@code minVersion} (an eviction that has not reached
+     * this node yet) is reloaded, so the profile is never older than the version its ETag was built from.
+     */
+    public Optional<PublicVibeProfile> find(UUID vibeId, long minVersion) {
+        Optional<PublicVibeProfile> cached = cache.get(vibeId).filter(profile -> profile.version() >= minVersion);
+        if (cached.isPresent()) return cached;
+
+        long token = cache.loadToken();
+        Optional<PublicVibeProfile> loaded = vibeRepositoryPort.findActiveWithFieldsById(vibeId)
+                .map(VibeDtoMapper::toProfile);
+        loaded.ifPresent(profile -> cache.put(profile, token));
+        return loaded;
+    }
+
+    /**
+     * Bumps the vibe's version (its ETag) and evicts the profile everywhere. Inside a transaction it also evicts after commit, so a read that
+     * reloads the old row in between does not keep it cached.
+     */
+    public void vibeChanged(UUID vibeId) {
+        if (vibeId == null) return;
+        resourceVersionJdbcRepository.bumpVibeVersion(vibeId);
+        cache.evict(vibeId);
+        publicVibeViews.forgetIf(view -> view.vibeId().equals(vibeId));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evict(vibeId);
+                publicVibeViews.forgetIf(view -> view.vibeId().equals(vibeId));
+            }
+        });
+    }
+}
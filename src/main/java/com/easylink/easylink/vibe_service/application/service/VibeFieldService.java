@@ -26,6 +26,7 @@ public class VibeFieldService implements
 
     private final VibeFieldRepository vibeFieldRepository;
     private final VibeRepositoryPort vibeRepository;
+    private final PublicVibeProfileService publicVibeProfileService;
 
     @Override
     public VibeFieldDTO create(VibeFieldDTO request) {
@@ -43,6 +44,7 @@ public class VibeFieldService implements
         }
 
         VibeField saved = vibeFieldRepository.save(entity);
+        publicVibeProfileService.vibeChanged(request.getVibeId());
         return toDto(saved);
     }
 
@@ -50,6 +52,8 @@ public class VibeFieldService implements
     public VibeFieldDTO update(VibeFieldDTO request) {
         VibeField field = vibeFieldRepository.findById(request.getId())
                 .orElseThrow(() -> new RuntimeException("Field not found"));
+        UUID previousVibeId = field.getVibe() != null ? field.getVibe().getId() : null;
+
         field.setType(request.getType());
         field.setLabel(request.getLabel());
         field.setValue(request.getValue());
@@ -60,12 +64,22 @@ public class VibeFieldService implements
             field.setVibe(vibe);
         }
         VibeField saved = vibeFieldRepository.save(field);
+        // a field moved to another vibe changes both profiles
+        publicVibeProfileService.vibeChanged(previousVibeId);
+        if (request.getVibeId() != null && !request.getVibeId().equals(previousVibeId)) {
+            publicVibeProfileService.vibeChanged(request.getVibeId());
+        }
         return toDto(saved);
     }
 
     @Override
     public void delete(UUID id) {
+        UUID vibeId = vibeFieldRepository.findById(id)
+                .map(VibeField::getVibe)
+                .map(Vibe::getId)
+                .orElse(null);
         vibeFieldRepository.deleteById(id);
+        publicVibeProfileService.vibeChanged(vibeId);
     }
 
     @Override
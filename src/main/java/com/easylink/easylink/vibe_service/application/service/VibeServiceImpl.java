@@ -5,25 +5,46 @@ import com.easylink.easylink.exceptions.VibeLimitExceededException;
 import com.easylink.easylink.repositories.VibeAccountRepository;
 import com.easylink.easylink.vibe_service.application.dto.CreateVibeCommand;
 import com.easylink.easylink.vibe_service.application.dto.MiniVibeDto;
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeProfile;
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeFingerprint;
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeViewKey;
 import com.easylink.easylink.vibe_service.application.dto.UpdateVibeCommand;
 import com.easylink.easylink.vibe_service.application.dto.VibeDto;
+import com.easylink.easylink.vibe_service.application.dto.VibeStats;
+import com.easylink.easylink.vibe_service.application.dto.ViewerSubscriptionRow;
 import com.easylink.easylink.vibe_service.application.mapper.VibeDtoMapper;
 import com.easylink.easylink.vibe_service.application.port.in.vibe.*;
 import com.easylink.easylink.vibe_service.application.port.out.VibeFieldRepositoryPort;
 import com.easylink.easylink.vibe_service.application.port.out.VibeRepositoryPort;
+import com.easylink.easylink.vibe_service.application.port.out.VibeStatsPort;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionType;
 import com.easylink.easylink.vibe_service.domain.model.*;
+import com.easylink.easylink.vibe_service.infrastructure.cache.AccountVibeIdsCache;
+import com.easylink.easylink.vibe_service.infrastructure.cache.SingleFlight;
 import com.easylink.easylink.vibe_service.web.dto.UpdateVibeRequest;
 import com.easylink.easylink.vibe_service.web.dto.VibeFieldDTO;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import com.easylink.easylink.vibe_service.application.port.out.InteractionRepositoryPort;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,8 +56,20 @@ public class VibeServiceImpl implements CreateVibeUseCase, UpdateVibeUseCase, De
     private final VibeAccountRepository vibeAccountRepository;
     private final VibeRateLimitPort vibeRateLimitPort;
     private final InteractionRepositoryPort interactionRepositoryPort;
+    private final VibeStatsPort vibeStatsPort;
+    private final FollowGraphService followGraphService;
+    private final PublicVibeProfileService publicVibeProfileService;
+    private final SingleFlight<PublicVibeViewKey, VibeDto> publicVibeViews;
+    private final AccountVibeIdsCache accountVibeIds;
+    private final PublicCodeAllocator publicCodeAllocator;
+
+    private final ExecutorService profileReads = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Value("${vibe.public-profile.deadline:2s}")
+    private Duration profileDeadline;
 
     @Override
+    @Transactional
     public VibeDto create(CreateVibeCommand command, String vibeAccountId) {
 
         Optional<VibeAccount> existingAccount = vibeAccountRepository.findById(UUID.fromString(vibeAccountId));
@@ -92,6 +125,7 @@ public class VibeServiceImpl implements CreateVibeUseCase, UpdateVibeUseCase, De
         vibeFieldList.forEach(field->field.setVibe(vibe));
 
         Vibe savedVibe = vibeRepositoryPort.save(vibe);
+        accountVibeIds.accountChanged(savedVibe.getVibeAccountId());
 
         VibeDto vibeDto = VibeDtoMapper.toDto(savedVibe);
 
@@ -166,6 +200,7 @@ public class VibeServiceImpl implements CreateVibeUseCase, UpdateVibeUseCase, De
         vibe.getFields().addAll(updatedFields);
 
         Vibe updated = vibeRepositoryPort.save(vibe);
+        publicVibeProfileService.vibeChanged(updated.getId());
         return VibeDtoMapper.toDto(updated);
     }
 
@@ -180,6 +215,12 @@ public class VibeServiceImpl implements CreateVibeUseCase, UpdateVibeUseCase, De
 
         vibe.setDeletedAt(java.time.LocalDateTime.now());
         vibeRepositoryPort.save(vibe);
+        publicCodeAllocator.release(id);
+        publicVibeProfileService.vibeChanged(id);
+        accountVibeIds.accountChanged(accountId);
+        // after the soft delete is committed: every vibe on the other end of an edge loses a subscriber or a following
+        vibeStatsPort.recomputeNeighbours(id);
+        followGraphService.vibeRemoved(id);
 
         vibeRateLimitPort.decrementVibe(accountId.toString());
     }
@@ -231,6 +272,11 @@ public class VibeServiceImpl implements CreateVibeUseCase, UpdateVibeUseCase, De
         );
     }
 
+    // maintained counters; a vibe without a row yet is counted once and seeded
+    private VibeStats stats(UUID vibeId) {
+        return vibeStatsPort.find(vibeId).orElseGet(() -> vibeStatsPort.recompute(vibeId));
+    }
+
     private VibeDto buildPrivateDto(VibeDto dto) {
 
         dto.setHasAccess(false);
@@ -259,83 +305,78 @@ public class VibeServiceImpl implements CreateVibeUseCase, UpdateVibeUseCase, De
         vibeDto.setHasAccess(true);
         vibeDto.setOwner(true);
 
-        long subscriberCount = interactionRepositoryPort.countActiveByTarget(
-                id, InteractionType.SUBSCRIBE
-        );
-        vibeDto.setSubscriberCount(subscriberCount);
-
-        long followingCount = interactionRepositoryPort.countActiveBySubscriber(
-                id, InteractionType.SUBSCRIBE
-        );
-        vibeDto.setFollowingCount(followingCount);
+        VibeStats stats = stats(id);
+        vibeDto.setSubscriberCount(stats.subscriberCount());
+        vibeDto.setFollowingCount(stats.followingCount());
 
         return vibeDto;
     }
 
+    /**
+     * Concurrent identical views (a viral link, mostly anonymous) share one load. Views are keyed by the fingerprint
+     * the caller's ETag is built from, so a view remembered under an older fingerprint is never served with a newer
+     * tag, and the cached profile is reloaded when it is older than the fingerprint's version.
+     */
     @Override
-    public VibeDto getPublicVibeById(UUID id, String viewerAccountId) {
-        Vibe vibe = vibeRepositoryPort.findActiveById(id)
-                .orElseThrow(() -> new RuntimeException("Vibe not found"));
-
-        VibeDto vibeDto = VibeDtoMapper.toDto(vibe);
-        vibeDto.setHasAccess(true);
-
-        long subscriberCount = interactionRepositoryPort.countActiveByTarget(
-                id, InteractionType.SUBSCRIBE
-        );
-        vibeDto.setSubscriberCount(subscriberCount);
-
-        long followingCount = interactionRepositoryPort.countActiveBySubscriber(
-                id, InteractionType.SUBSCRIBE
-        );
-        vibeDto.setFollowingCount(followingCount);
+    public VibeDto getPublicVibeById(UUID id, String viewerAccountId, PublicVibeFingerprint fingerprint) {
+        String servedUnder = fingerprint != null ? fingerprint.value() : "";
+        long minVersion = fingerprint != null ? fingerprint.version() : 0;
+        return publicVibeViews.load(new PublicVibeViewKey(id, viewerAccountId, servedUnder),
+                () -> loadPublicVibe(id, viewerAccountId, minVersion));
+    }
 
-        boolean isOwner = false;
+    /**
+     * The cached profile (vibe and fields), its counters and the viewer's relationship to it are independent reads, so they run
+     * concurrently on virtual threads and the view costs about one round trip. All of them must finish within
+     * {@code vibe.public-profile.deadline}; whatever is still running after a failure or timeout is cancelled.
+     */
+    private VibeDto loadPublicVibe(UUID id, String viewerAccountId, long minVersion) {
         UUID viewerUUID = null;
-
         if (viewerAccountId != null && !viewerAccountId.isBlank()) {
             try {
                 viewerUUID = UUID.fromString(viewerAccountId);
-                isOwner = vibe.getVibeAccountId().equals(viewerUUID);
             } catch (Exception ignored) {
             }
         }
+        UUID viewer = viewerUUID;
+
+        Future<Optional<PublicVibeProfile>> profileRead = profileReads.submit(() -> publicVibeProfileService.find(id, minVersion));
+        Future<VibeStats> statsRead = profileReads.submit(() -> stats(id));
+        Future<List<ViewerSubscriptionRow>> relationRead = viewer == null
+                ? CompletableFuture.completedFuture(List.of())
+                : profileReads.submit(() -> interactionRepositoryPort.findViewerSubscriptions(id, viewer));
+
+        joinWithinDeadline(List.of(profileRead, statsRead, relationRead));
+
+        PublicVibeProfile profile = profileRead.resultNow()
+                .orElseThrow(() -> new RuntimeException("Vibe not found"));
 
+        VibeDto vibeDto = VibeDtoMapper.toDto(profile);
+        vibeDto.setHasAccess(true);
+
+        VibeStats stats = statsRead.resultNow();
+        vibeDto.setSubscriberCount(stats.subscriberCount());
+        vibeDto.setFollowingCount(stats.followingCount());
+
+        boolean isOwner = viewer != null && profile.vibeAccountId().equals(viewer);
         vibeDto.setOwner(isOwner);
 
-        if (viewerUUID == null) {
-            if (!isOwner && vibe.getPrivacy() == VibePrivacy.PRIVATE) {
+        if (viewer == null) {
+            if (profile.privacy() == VibePrivacy.PRIVATE) {
                 return buildPrivateDto(vibeDto);
             }
             vibeDto.setSubscriberVibes(List.of());
             return vibeDto;
         }
 
-        List<Vibe> myVibes = vibeRepositoryPort.findAllByAccountId(viewerUUID);
-        if (myVibes == null) myVibes = List.of();
-
-        List<UUID> myVibeIds = myVibes.stream()
-                .map(Vibe::getId)
+        // one row per viewer vibe subscribed to this one; APPROVED wins over PENDING
+        List<ViewerSubscriptionRow> mine = relationRead.resultNow();
+        List<MiniVibeDto> approvedVibes = mine.stream()
+                .filter(r -> r.status() == InteractionStatus.APPROVED)
+                .map(ViewerSubscriptionRow::toMini)
                 .toList();
-
-        boolean approved = false;
-        boolean pending = false;
-
-        if (!myVibeIds.isEmpty()) {
-            approved = interactionRepositoryPort.existsSubscription(
-                    id,
-                    InteractionType.SUBSCRIBE,
-                    InteractionStatus.APPROVED,
-                    myVibeIds
-            );
-
-            pending = interactionRepositoryPort.existsSubscription(
-                    id,
-                    InteractionType.SUBSCRIBE,
-                    InteractionStatus.PENDING,
-                    myVibeIds
-            );
-        }
+        boolean approved = !approvedVibes.isEmpty();
+        boolean pending = mine.stream().anyMatch(r -> r.status() == InteractionStatus.PENDING);
 
         if (approved) {
             vibeDto.setMySubscriptionStatus(InteractionStatus.APPROVED);
@@ -345,42 +386,36 @@ public class VibeServiceImpl implements CreateVibeUseCase, UpdateVibeUseCase, De
             vibeDto.setMySubscriptionStatus(null);
         }
 
-        if (!isOwner && vibe.getPrivacy() == VibePrivacy.PRIVATE) {
-            if (!approved) {
-                return buildPrivateDto(vibeDto);
-            }
-        }
-
-        if (myVibeIds.isEmpty()) {
-            vibeDto.setSubscriberVibes(List.of());
-            return vibeDto;
+        if (!isOwner && profile.privacy() == VibePrivacy.PRIVATE && !approved) {
+            return buildPrivateDto(vibeDto);
         }
 
-        List<UUID> subscribedIds = interactionRepositoryPort
-                .findActiveSubscriberVibeIdsForTargetAndSubscriberIn(
-                        id,
-                        InteractionType.SUBSCRIBE,
-                        myVibeIds
-                );
+        vibeDto.setSubscriberVibes(approvedVibes);
+        return vibeDto;
+    }
 
-        if (subscribedIds == null || subscribedIds.isEmpty()) {
-            vibeDto.setSubscriberVibes(List.of());
-            return vibeDto;
+    private void joinWithinDeadline(List<Future<?>> reads) {
+        long deadline = System.nanoTime() + profileDeadline.toNanos();
+        try {
+            for (Future<?> read : reads) {
+                read.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Vibe profile read timed out");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Vibe profile read interrupted");
+        } finally {
+            // no-op for reads that completed
+            reads.forEach(r -> r.cancel(true));
         }
+    }
 
-        List<MiniVibeDto> minis = myVibes.stream()
-                .filter(v -> subscribedIds.contains(v.getId()))
-                .map(v -> {
-                    MiniVibeDto m = new MiniVibeDto();
-                    m.setId(v.getId());
-                    m.setName(v.getName());
-                    m.setType(v.getType());
-                    m.setPhoto(v.getPhoto());
-                    return m;
-                })
-                .toList();
-
-        vibeDto.setSubscriberVibes(minis);
-        return vibeDto;
+    @PreDestroy
+    void shutdownProfileReads() {
+        profileReads.shutdown();
     }
-}
\ No newline at end of file
+}
@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
 import org.springframework.boot.Banner;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -18,17 +19,17 @@ import java.util.UUID;
 public class VibeVisibilityService implements SetVisibilityUseCase {
 
     private final VibeRepositoryPort vibeRepositoryPort;
-    private final CodeGenerationService codeGenerationService;
+    private final PublicCodeAllocator publicCodeAllocator;
     private final ModelMapper modelMapper;
+    private final PublicVibeProfileService publicVibeProfileService;
 
     @Override
+    @Transactional
     public String setVisibility(UUID vibeId) {
 
         Vibe foundVibe = vibeRepositoryPort.findById(vibeId).orElseThrow(()->new RuntimeException("Vibe not found"));
 
-        String code = codeGenerationService.generateUniqueCode(
-                candidate -> vibeRepositoryPort.findByPublicCodeAndVisibleTrue(candidate).isPresent()
-        );
+        String code = publicCodeAllocator.claim(vibeId);
 
         foundVibe.setVisible(true);
 
@@ -37,33 +38,52 @@ public class VibeVisibilityService implements SetVisibilityUseCase {
         foundVibe.setCodeGeneratedAt(LocalDateTime.now());
 
         vibeRepositoryPort.save(foundVibe);
+        publicVibeProfileService.vibeChanged(vibeId);
 
         return code;
     }
 
     @Override
+    @Transactional
     public boolean cancelVisibility(UUID vibeId) {
 
         Vibe foundVibe = vibeRepositoryPort.findById(vibeId).orElseThrow(()->new RuntimeException("Vibe not found"));
 
+        // the vibe keeps showing its last code to the owner, but the code goes back to the pool
+        publicCodeAllocator.release(vibeId);
+
         foundVibe.setVisible(false);
 
         foundVibe.setCodeGeneratedAt(LocalDateTime.now());
 
         vibeRepositoryPort.save(foundVibe);
+        publicVibeProfileService.vibeChanged(vibeId);
 
         return true;
     }
 
     public VibeResponse findByPublicCodeAndVisibleTrue(String code){
 
-        Vibe optionalVibe = vibeRepositoryPort.findByPublicCodeAndVisibleTrue(code).orElseThrow(()->new RuntimeException("Vibe nod found by code"));
+        // a miss may be a stale index entry, dropped by the first attempt
+        Vibe optionalVibe = findVisibleByCode(code)
+                .or(() -> findVisibleByCode(code))
+                .orElseThrow(()->new RuntimeException("Vibe nod found by code"));
 
         VibeResponse vibeResponse = modelMapper.map(optionalVibe, VibeResponse.class);
 
         return vibeResponse;
     }
 
+    private Optional<Vibe> findVisibleByCode(String code) {
+        Optional<UUID> vibeId = publicCodeAllocator.findVibeId(code);
+        if (vibeId.isEmpty()) return Optional.empty();
+
+        Optional<Vibe> vibe = vibeRepositoryPort.findActiveWithFieldsById(vibeId.get())
+                .filter(v -> Boolean.TRUE.equals(v.getVisible()) && code.equals(v.getPublicCode()));
+        if (vibe.isEmpty()) publicCodeAllocator.forget(code, vibeId.get());
+        return vibe;
+    }
+
     public String findCodeByVibeId(UUID id){
 
         Vibe foundVibe = vibeRepositoryPort.findById(id).orElseThrow(()->new RuntimeException("Vibe not found"));
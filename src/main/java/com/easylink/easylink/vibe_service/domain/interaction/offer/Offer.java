@@ -46,4 +46,7 @@ public class Offer {
 
     @UpdateTimestamp
     private Instant updatedAt;
+
+    @Version
+    private long version;
 }
@@ -26,6 +26,9 @@ public class Item {
     @JoinColumn(name="vibe_id", nullable = false)
     private Vibe vibe;
 
+    @Version
+    private long version;
+
     public Item(Vibe vibe, String title, String description, String imageUrl, BigDecimal price) {
         this.vibe = vibe;
         this.title = title;
@@ -60,4 +60,8 @@ public class Vibe {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private SubscribeMode subscribeMode = SubscribeMode.OPEN;
+
+    // bumped in SQL on every change to the vibe or its fields (ETags); never written through JPA
+    @Column(insertable = false, updatable = false)
+    private long version;
 }
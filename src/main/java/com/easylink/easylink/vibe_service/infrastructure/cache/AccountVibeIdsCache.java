@@ -0,0 +1,87 @@
+package com.easylink.easylink.vibe_service.infrastructure.cache;
+
+import com.easylink.easylink.vibe_service.infrastructure.repository.SpringDataVibeRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ids of an account's live vibes, kept briefly per node. Vibe create and delete evict the account here and,
+ * through pub/sub, on the other nodes; the TTL covers a missed message.
+ */
+@Slf4j
+@Component
+public class AccountVibeIdsCache implements MessageListener {
+
+    private final SpringDataVibeRepository springDataVibeRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<UUID, List<UUID>> cache;
+    private final String channel;
+
+    public AccountVibeIdsCache(SpringDataVibeRepository springDataVibeRepository,
+                               StringRedisTemplate redisTemplate,
+                               RedisMessageListenerContainer vibeCacheListenerContainer,
+                               @Value("${vibe.viewer.vibe-ids-max-size:50000}") long maxSize,
+                               @Value("${vibe.viewer.vibe-ids-ttl:30s}") Duration ttl,
+                               @Value("${vibe.viewer.channel:vibe:account-vibes:invalidate}") String channel) {
+        this.springDataVibeRepository = springDataVibeRepository;
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        vibeCacheListenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    }
+
+    public List<UUID> get(UUID accountId) {
+        return cache.get(accountId, id -> List.copyOf(springDataVibeRepository.findAliveIdsByVibeAccountId(id)));
+    }
+
+    /**
+     * The account gained or lost a vibe. Evicts now and, inside a transaction, again after commit.
+     */
+    public void accountChanged(UUID accountId) {
+        evict(accountId);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(accountId);
+            }
+        });
+    }
+
+    private void evict(UUID accountId) {
+        cache.invalidate(accountId);
+        try {
+            redisTemplate.convertAndSend(channel, accountId.toString());
+        } catch (Exception e) {
+            log.warn("Account vibe ids invalidation broadcast failed for {}", accountId, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            cache.invalidate(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping malformed account vibe ids invalidation on {}", channel);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.easylink.easylink.vibe_service.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one: the first caller runs the loader, callers arriving
+ * while it runs wait for its result (or its exception) instead of issuing the same queries.
+ * <p>
+ * With a non-zero {@code staleWhileRevalidate} the last result per key is also kept for that long and served
+ * straight away; once it is older than half the window, one background load refreshes it. Results are shared
+ * between callers and must not be modified.
+ */
+@Slf4j
+public class SingleFlight<K, V> {
+
+    private record Loaded<V>(V value, long loadedAtNanos) {
+    }
+
+    private final String name;
+    private final long refreshAfterNanos;
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    // null when stale-while-revalidate is off
+    private final Cache<K, Loaded<V>> recent;
+    // bumped by forget; a load that overlaps one does not remember its result
+    private final AtomicLong forgets = new AtomicLong();
+
+    private final Counter leaders;
+    private final Counter collapsed;
+    private final Counter stale;
+
+    public SingleFlight(String name, Duration staleWhileRevalidate, long maxRecent, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.refreshAfterNanos = staleWhileRevalidate.toNanos() / 2;
+        this.recent = staleWhileRevalidate.isZero() ? null : Caffeine.newBuilder()
+                .maximumSize(maxRecent)
+                .expireAfterWrite(staleWhileRevalidate)
+                .build();
+
+        this.leaders = meterRegistry.counter("singleflight.loads", "name", name, "result", "leader");
+        this.collapsed = meterRegistry.counter("singleflight.loads", "name", name, "result", "collapsed");
+        this.stale = meterRegistry.counter("singleflight.loads", "name", name, "result", "stale");
+        meterRegistry.gauge("singleflight.in_flight", Tags.of("name", name), inFlight, Map::size);
+    }
+
+    public V load(K key, Supplier<V> loader) {
+        if (recent != null) {
+            Loaded<V> last = recent.getIfPresent(key);
+            if (last != null) {
+                stale.increment();
+                if (System.nanoTime() - last.loadedAtNanos() > refreshAfterNanos && !inFlight.containsKey(key)) {
+                    Thread.ofVirtual().name("singleflight-" + name).start(() -> refresh(key, loader));
+                }
+                return last.value();
+            }
+        }
+        return join(key, loader);
+    }
+
+    // drops the remembered result so the next call loads; a load already running is not affected
+    public void forget(K key) {
+        if (recent == null) return;
+        forgets.incrementAndGet();
+        recent.invalidate(key);
+    }
+
+    public void forgetIf(Predicate<K> matches) {
+        if (recent == null) return;
+        forgets.incrementAndGet();
+        recent.asMap().keySet().removeIf(matches);
+    }
+
+    private V join(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            collapsed.increment();
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error err) throw err;
+                throw e;
+            }
+        }
+
+        leaders.increment();
+        try {
+            long started = System.nanoTime();
+            long generation = forgets.get();
+            V value = loader.get();
+            if (recent != null && value != null && forgets.get() == generation) {
+                recent.put(key, new Loaded<>(value, started));
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private void refresh(K key, Supplier<V> loader) {
+        try {
+            join(key, loader);
+        } catch (Exception e) {
+            // keep serving the remembered result until it expires
+            log.debug("Background refresh of {} {} failed", name, key, e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.easylink.easylink.vibe_service.infrastructure.cache;
+
+import com.easylink.easylink.vibe_service.application.dto.CatalogViewKey;
+import com.easylink.easylink.vibe_service.application.dto.ItemDTO;
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeViewKey;
+import com.easylink.easylink.vibe_service.application.dto.VibeDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class SingleFlightConfig {
+
+    @Bean
+    public SingleFlight<PublicVibeViewKey, VibeDto> publicVibeViews(
+            MeterRegistry meterRegistry,
+            @Value("${vibe.single-flight.public-profile.stale-while-revalidate:0s}") Duration staleWhileRevalidate,
+            @Value("${vibe.single-flight.max-recent:10000}") long maxRecent) {
+        return new SingleFlight<>("public_vibe", staleWhileRevalidate, maxRecent, meterRegistry);
+    }
+
+    @Bean
+    public SingleFlight<CatalogViewKey, List<ItemDTO>> catalogReads(
+            MeterRegistry meterRegistry,
+            @Value("${vibe.single-flight.catalog.stale-while-revalidate:0s}") Duration staleWhileRevalidate,
+            @Value("${vibe.single-flight.max-recent:10000}") long maxRecent) {
+        return new SingleFlight<>("catalog", staleWhileRevalidate, maxRecent, meterRegistry);
+    }
+}
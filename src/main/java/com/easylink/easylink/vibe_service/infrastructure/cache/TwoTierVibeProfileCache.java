@@ -0,0 +1,146 @@
+package com.easylink.easylink.vibe_service.infrastructure.cache;
+
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeProfile;
+import com.easylink.easylink.vibe_service.application.port.out.VibeProfileCachePort;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Public vibe profiles in a per-node Caffeine cache (L1) in front of Redis (L2, {@code vibe:profile:<id>} as JSON).
+ * Evictions delete the Redis key and are broadcast on a pub/sub channel so every node drops its L1 copy.
+ * Pub/sub is fire-and-forget, so the L1 TTL is kept short: a node that misses a message serves the old
+ * profile for at most that long.
+ */
+@Slf4j
+@Component
+public class TwoTierVibeProfileCache implements VibeProfileCachePort, MessageListener {
+
+    private static final String KEY_PREFIX = "vibe:profile:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Cache<UUID, PublicVibeProfile> local;
+    private final Duration redisTtl;
+    private final String channel;
+
+    // bumped on every eviction seen by this node, local or broadcast
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final Counter l1Hits;
+    private final Counter l2Hits;
+    private final Counter misses;
+
+    public TwoTierVibeProfileCache(StringRedisTemplate redisTemplate,
+                                   ObjectMapper objectMapper,
+                                   RedisMessageListenerContainer vibeCacheListenerContainer,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${vibe.profile-cache.local-max-size:10000}") long localMaxSize,
+                                   @Value("${vibe.profile-cache.local-ttl:30s}") Duration localTtl,
+                                   @Value("${vibe.profile-cache.redis-ttl:10m}") Duration redisTtl,
+                                   @Value("${vibe.profile-cache.channel:vibe:profile:invalidate}") String channel) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.redisTtl = redisTtl;
+        this.channel = channel;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .build();
+
+        vibeCacheListenerContainer.addMessageListener(this, new ChannelTopic(channel));
+
+        this.l1Hits = meterRegistry.counter("vibe.profile_cache.requests", "result", "l1_hit");
+        this.l2Hits = meterRegistry.counter("vibe.profile_cache.requests", "result", "l2_hit");
+        this.misses = meterRegistry.counter("vibe.profile_cache.requests", "result", "miss");
+        meterRegistry.gauge("vibe.profile_cache.local_size", local, Cache::estimatedSize);
+    }
+
+    @Override
+    public Optional<PublicVibeProfile> get(UUID vibeId) {
+        PublicVibeProfile cached = local.getIfPresent(vibeId);
+        if (cached != null) {
+            l1Hits.increment();
+            return Optional.of(cached);
+        }
+
+        long token = evictions.get();
+        try {
+            String json = redisTemplate.opsForValue().get(key(vibeId));
+            if (json != null) {
+                PublicVibeProfile profile = objectMapper.readValue(json, PublicVibeProfile.class);
+                if (evictions.get() == token) local.put(vibeId, profile);
+                l2Hits.increment();
+                return Optional.of(profile);
+            }
+        } catch (Exception e) {
+            log.warn("Vibe profile cache read failed for {}", vibeId, e);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    @Override
+    public long loadToken() {
+        return evictions.get();
+    }
+
+    @Override
+    public void put(PublicVibeProfile profile, long loadToken) {
+        // an eviction landed while the profile was loading; it may predate the change, so leave the slot empty
+        if (evictions.get() != loadToken) return;
+
+        local.put(profile.id(), profile);
+        try {
+            redisTemplate.opsForValue().set(key(profile.id()), objectMapper.writeValueAsString(profile), redisTtl);
+        } catch (Exception e) {
+            log.warn("Vibe profile cache write failed for {}", profile.id(), e);
+        }
+    }
+
+    @Override
+    public void evict(UUID vibeId) {
+        evictLocal(vibeId);
+        try {
+            redisTemplate.delete(key(vibeId));
+            redisTemplate.convertAndSend(channel, vibeId.toString());
+        } catch (Exception e) {
+            // the Redis copy and other nodes' copies live out their TTLs
+            log.warn("Vibe profile cache eviction failed for {}", vibeId, e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            evictLocal(UUID.fromString(new String(message.getBody(), StandardCharsets.UTF_8)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping malformed vibe profile invalidation on {}", channel);
+        }
+    }
+
+    private void evictLocal(UUID vibeId) {
+        evictions.incrementAndGet();
+        local.invalidate(vibeId);
+    }
+
+    private static String key(UUID vibeId) {
+        return KEY_PREFIX + vibeId;
+    }
+}
@@ -0,0 +1,381 @@
+package com.easylink.easylink.vibe_service.infrastructure.graph;
+
+import com.easylink.easylink.vibe_service.application.port.out.FollowGraphPort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Follow graph as adjacency lists of dense int ids. Every vibe gets an int on first sight, and its following
+ * and followers are sorted int arrays, so a mutual count is one merge of two arrays and a suggestion pass is
+ * a sort over the second-degree neighbourhood, with no boxing and no queries.
+ * <p>
+ * Loaded in keyset batches after startup and reloaded every {@code rebuild-interval-ms}, which also picks up
+ * writes made on other nodes. Local commits are applied incrementally in between; edits that arrive while a
+ * reload is running are journaled and replayed onto the new graph before it is swapped in.
+ */
+@Slf4j
+@Component
+public class InMemoryFollowGraph implements FollowGraphPort {
+
+    private static final int[] EMPTY = new int[0];
+    private static final int LOAD_BATCH_SIZE = 50_000;
+    // smallest value in Postgres uuid ordering
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    // same predicate as vibe_stats
+    private static final String EDGES_SQL = """
+            select i.id, i.subscriber_vibe_id, i.target_vibe_id
+            from interaction i
+            join vibe sv on sv.id = i.subscriber_vibe_id
+            join vibe tv on tv.id = i.target_vibe_id
+            where i.interaction_type = 'SUBSCRIBE'
+              and i.active
+              and i.status = 'APPROVED'
+              and sv.deleted_at is null
+              and tv.deleted_at is null
+              and i.id > :after
+            order by i.id
+            limit :limit
+            """;
+
+    private enum Op { ADD, REMOVE, REMOVE_VIBE }
+
+    private record Edit(Op op, UUID a, UUID b) {}
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int maxScan;
+    private final Timer rebuildTimer;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private Graph graph = new Graph();          // guarded by lock
+    private List<Edit> journal;                 // non-null while a reload runs; guarded by lock
+    private volatile boolean ready;
+
+    public InMemoryFollowGraph(NamedParameterJdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${vibe.follow-graph.suggestion-max-scan:200000}") int maxScan) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxScan = maxScan;
+        this.rebuildTimer = meterRegistry.timer("vibe.follow_graph.rebuild");
+
+        Gauge.builder("vibe.follow_graph.edges", this, g -> g.read(Graph::edgeCount)).register(meterRegistry);
+        Gauge.builder("vibe.follow_graph.vibes", this, g -> g.read(Graph::size)).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void loadOnStartup() {
+        Thread.ofVirtual().name("follow-graph-load").start(this::rebuild);
+    }
+
+    @Scheduled(initialDelayString = "${vibe.follow-graph.rebuild-interval-ms:600000}",
+            fixedDelayString = "${vibe.follow-graph.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!rebuilding.compareAndSet(false, true)) return;
+        try {
+            write(() -> journal = new ArrayList<>());
+            Graph fresh = rebuildTimer.record(this::load);
+
+            write(() -> {
+                journal.forEach(e -> apply(fresh, e));
+                journal = null;
+                graph = fresh;
+            });
+            ready = true;
+            log.info("Follow graph loaded: {} vibes, {} edges", fresh.size(), fresh.edgeCount());
+        } catch (Exception e) {
+            write(() -> journal = null);
+            log.error("Follow graph load failed", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    private Graph load() {
+        Graph g = new Graph();
+        EdgeBuffer edges = new EdgeBuffer();
+        UUID[] last = {MIN_UUID};
+
+        while (true) {
+            int before = edges.n;
+            jdbcTemplate.query(EDGES_SQL, Map.of("after", last[0], "limit", LOAD_BATCH_SIZE), (RowCallbackHandler) rs -> {
+                edges.add(g.intern(rs.getObject("subscriber_vibe_id", UUID.class)),
+                        g.intern(rs.getObject("target_vibe_id", UUID.class)));
+                last[0] = rs.getObject("id", UUID.class);
+            });
+            if (edges.n - before < LOAD_BATCH_SIZE) break;
+        }
+
+        g.bulkLoad(edges.src, edges.dst, edges.n);
+        return g;
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public void addEdge(UUID subscriberVibeId, UUID targetVibeId) {
+        edit(new Edit(Op.ADD, subscriberVibeId, targetVibeId));
+    }
+
+    @Override
+    public void removeEdge(UUID subscriberVibeId, UUID targetVibeId) {
+        edit(new Edit(Op.REMOVE, subscriberVibeId, targetVibeId));
+    }
+
+    @Override
+    public void removeVibe(UUID vibeId) {
+        edit(new Edit(Op.REMOVE_VIBE, vibeId, null));
+    }
+
+    private void edit(Edit e) {
+        write(() -> {
+            apply(graph, e);
+            if (journal != null) journal.add(e);
+        });
+    }
+
+    private static void apply(Graph g, Edit e) {
+        switch (e.op()) {
+            case ADD -> g.add(g.intern(e.a()), g.intern(e.b()));
+            case REMOVE -> {
+                Integer s = g.ids.get(e.a());
+                Integer t = g.ids.get(e.b());
+                if (s != null && t != null) g.remove(s, t);
+            }
+            case REMOVE_VIBE -> {
+                Integer v = g.ids.get(e.a());
+                if (v != null) g.removeVertex(v);
+            }
+        }
+    }
+
+    @Override
+    public int countFollowingWhoFollow(UUID viewerVibeId, UUID targetVibeId) {
+        return read(g -> {
+            Integer v = g.ids.get(viewerVibeId);
+            Integer t = g.ids.get(targetVibeId);
+            if (v == null || t == null) return 0;
+            return intersectionSize(g.following[v], g.followers[t]);
+        });
+    }
+
+    @Override
+    public List<UUID> suggest(UUID viewerVibeId, int limit) {
+        return read(g -> {
+            Integer v = g.ids.get(viewerVibeId);
+            if (v == null) return List.of();
+            int[] mine = g.following[v];
+
+            // second-degree neighbourhood, capped so one vibe following thousands of hubs stays cheap
+            int n = 0;
+            int[] candidates = new int[Math.min(maxScan, 1024)];
+            scan:
+            for (int f : mine) {
+                for (int c : g.following[f]) {
+                    if (n == maxScan) break scan;
+                    if (n == candidates.length) candidates = Arrays.copyOf(candidates, Math.min(maxScan, n * 2));
+                    candidates[n++] = c;
+                }
+            }
+            Arrays.sort(candidates, 0, n);
+
+            // (shared count << 32 | id), so one sort ranks by count
+            long[] ranked = new long[n];
+            int r = 0;
+            for (int i = 0; i < n; ) {
+                int c = candidates[i];
+                int j = i;
+                while (j < n && candidates[j] == c) j++;
+                if (c != v && Arrays.binarySearch(mine, c) < 0) {
+                    ranked[r++] = ((long) (j - i) << 32) | c;
+                }
+                i = j;
+            }
+            Arrays.sort(ranked, 0, r);
+
+            List<UUID> result = new ArrayList<>(Math.min(limit, r));
+            for (int i = r - 1; i >= 0 && result.size() < limit; i--) {
+                result.add(g.vibes[(int) ranked[i]]);
+            }
+            return result;
+        });
+    }
+
+    private static int intersectionSize(int[] a, int[] b) {
+        int i = 0, j = 0, count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    private <T> T read(Function<Graph, T> query) {
+        lock.readLock().lock();
+        try {
+            return query.apply(graph);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Runnable mutation) {
+        lock.writeLock().lock();
+        try {
+            mutation.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static final class EdgeBuffer {
+
+        int[] src = new int[1024];
+        int[] dst = new int[1024];
+        int n;
+
+        void add(int s, int t) {
+            if (n == src.length) {
+                src = Arrays.copyOf(src, n * 2);
+                dst = Arrays.copyOf(dst, n * 2);
+            }
+            src[n] = s;
+            dst[n] = t;
+            n++;
+        }
+    }
+
+    /**
+     * Not thread-safe on its own; all access goes through the enclosing lock, or happens before publication.
+     */
+    private static final class Graph {
+
+        final Map<UUID, Integer> ids = new HashMap<>();
+        UUID[] vibes = new UUID[1024];
+        int[][] following = new int[1024][];
+        int[][] followers = new int[1024][];
+        int size;
+        long edges;
+
+        int intern(UUID vibeId) {
+            Integer id = ids.get(vibeId);
+            if (id != null) return id;
+
+            if (size == vibes.length) {
+                int capacity = size * 2;
+                vibes = Arrays.copyOf(vibes, capacity);
+                following = Arrays.copyOf(following, capacity);
+                followers = Arrays.copyOf(followers, capacity);
+            }
+            vibes[size] = vibeId;
+            following[size] = EMPTY;
+            followers[size] = EMPTY;
+            ids.put(vibeId, size);
+            return size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        long edgeCount() {
+            return edges;
+        }
+
+        void bulkLoad(int[] src, int[] dst, int n) {
+            int[] outDegree = new int[size];
+            int[] inDegree = new int[size];
+            for (int i = 0; i < n; i++) {
+                outDegree[src[i]]++;
+                inDegree[dst[i]]++;
+            }
+            for (int v = 0; v < size; v++) {
+                following[v] = outDegree[v] == 0 ? EMPTY : new int[outDegree[v]];
+                followers[v] = inDegree[v] == 0 ? EMPTY : new int[inDegree[v]];
+            }
+
+            // degrees count down as slots are filled
+            for (int i = 0; i < n; i++) {
+                following[src[i]][--outDegree[src[i]]] = dst[i];
+                followers[dst[i]][--inDegree[dst[i]]] = src[i];
+            }
+            for (int v = 0; v < size; v++) {
+                Arrays.sort(following[v]);
+                Arrays.sort(followers[v]);
+            }
+            edges = n;
+        }
+
+        void add(int s, int t) {
+            int[] out = insert(following[s], t);
+            if (out == following[s]) return;
+            following[s] = out;
+            followers[t] = insert(followers[t], s);
+            edges++;
+        }
+
+        void remove(int s, int t) {
+            int[] out = delete(following[s], t);
+            if (out == following[s]) return;
+            following[s] = out;
+            followers[t] = delete(followers[t], s);
+            edges--;
+        }
+
+        void removeVertex(int v) {
+            for (int t : following[v]) followers[t] = delete(followers[t], v);
+            for (int s : followers[v]) following[s] = delete(following[s], v);
+            edges -= following[v].length + followers[v].length;
+            following[v] = EMPTY;
+            followers[v] = EMPTY;
+        }
+
+        // copy-on-write keeps each array exactly sized; degrees are small compared to the number of reads
+        private static int[] insert(int[] sorted, int value) {
+            int at = Arrays.binarySearch(sorted, value);
+            if (at >= 0) return sorted;
+            at = -at - 1;
+            int[] copy = new int[sorted.length + 1];
+            System.arraycopy(sorted, 0, copy, 0, at);
+            copy[at] = value;
+            System.arraycopy(sorted, at, copy, at + 1, sorted.length - at);
+            return copy;
+        }
+
+        private static int[] delete(int[] sorted, int value) {
+            int at = Arrays.binarySearch(sorted, value);
+            if (at < 0) return sorted;
+            int[] copy = new int[sorted.length - 1];
+            System.arraycopy(sorted, 0, copy, 0, at);
+            System.arraycopy(sorted, at + 1, copy, at, sorted.length - at - 1);
+            return copy;
+        }
+    }
+}
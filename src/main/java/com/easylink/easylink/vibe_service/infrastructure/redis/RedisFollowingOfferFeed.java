@@ -0,0 +1,211 @@
+package com.easylink.easylink.vibe_service.infrastructure.redis;
+
+import com.easylink.easylink.vibe_service.application.port.out.FollowingOfferFeedPort;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisZSetCommands.ZAddArgs;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Feeds are sorted sets {@code feed:following-offers:{<subscriberVibeId>}} of followed vibe ids.
+ * Vibes with too many followers are not fanned out; their score lives once in {@code feed:following-offers-large}
+ * and is copied into a feed when that feed is read.
+ * <p>
+ * Every evict bumps the feed's generation {@code feed:following-offers-gen:{<subscriberVibeId>}} (same hash slot).
+ * A rebuild is stored by a script only while the generation is still the one read before the rebuild started.
+ * <p>
+ * A rebuild that finds no followed vibes stores the single member {@code empty} scored -inf, so the feed stays
+ * materialized and is not rebuilt from Postgres on every read; pages never return it.
+ */
+@Slf4j
+@Component
+public class RedisFollowingOfferFeed implements FollowingOfferFeedPort {
+
+    private static final String PREFIX = "feed:following-offers:";
+    private static final String GEN_PREFIX = "feed:following-offers-gen:";
+    private static final String LARGE_KEY = "feed:following-offers-large";
+    // not a uuid, and scored below every real member, so it is always last and simply filtered out
+    private static final String EMPTY_MARKER = "empty";
+
+    // KEYS: feed, generation; ARGV: expected generation, ttl seconds, then score/member pairs
+    private static final RedisScript<Long> STORE_IF_CURRENT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end
+            redis.call('DEL', KEYS[1])
+            for i = 3, #ARGV, 2 do
+                redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            redis.call('EXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisFollowingOfferFeed(StringRedisTemplate redisTemplate,
+                                   @Value("${feed.following-offers.ttl:7d}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public Optional<List<UUID>> readPage(UUID subscriberVibeId, long offset, int limit) {
+        String key = key(subscriberVibeId);
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(key))) return Optional.empty();
+
+            applyLargeScores(key);
+
+            Set<String> page = redisTemplate.opsForZSet().reverseRange(key, offset, offset + limit - 1);
+            redisTemplate.expire(key, ttl);
+            return Optional.of(page == null ? List.of() : page.stream()
+                    .filter(member -> !EMPTY_MARKER.equals(member))
+                    .map(UUID::fromString)
+                    .toList());
+        } catch (Exception e) {
+            log.warn("Following-offer feed read failed for {}", subscriberVibeId, e);
+            return Optional.empty();
+        }
+    }
+
+    private void applyLargeScores(String key) {
+        Set<TypedTuple<String>> large = redisTemplate.opsForZSet().rangeWithScores(LARGE_KEY, 0, -1);
+        if (large == null || large.isEmpty()) return;
+
+        List<TypedTuple<String>> tuples = new ArrayList<>(large);
+        List<Double> current = redisTemplate.opsForZSet().score(key, tuples.stream().map(TypedTuple::getValue).toArray());
+        if (current == null) return;
+
+        Set<TypedTuple<String>> stale = new HashSet<>();
+        for (int i = 0; i < tuples.size(); i++) {
+            Double score = current.get(i);
+            // only vibes this feed follows; others are not added
+            if (score != null && !score.equals(tuples.get(i).getScore())) {
+                stale.add(tuples.get(i));
+            }
+        }
+        if (!stale.isEmpty()) {
+            redisTemplate.opsForZSet().add(key, stale);
+        }
+    }
+
+    @Override
+    public long loadToken(UUID subscriberVibeId) {
+        try {
+            String generation = redisTemplate.opsForValue().get(genKey(subscriberVibeId));
+            return generation == null ? 0 : Long.parseLong(generation);
+        } catch (Exception e) {
+            log.warn("Following-offer feed generation read failed for {}", subscriberVibeId, e);
+            // never matches, so nothing is stored
+            return -1;
+        }
+    }
+
+    @Override
+    public void store(UUID subscriberVibeId, Map<UUID, Long> scores, long loadToken) {
+        if (loadToken < 0) return;
+
+        List<String> args = new ArrayList<>(2 + Math.max(1, scores.size()) * 2);
+        args.add(Long.toString(loadToken));
+        args.add(Long.toString(ttl.toSeconds()));
+        scores.forEach((target, score) -> {
+            args.add(Long.toString(score));
+            args.add(target.toString());
+        });
+        if (scores.isEmpty()) {
+            args.add("-inf");
+            args.add(EMPTY_MARKER);
+        }
+
+        try {
+            Long stored = redisTemplate.execute(STORE_IF_CURRENT,
+                    List.of(key(subscriberVibeId), genKey(subscriberVibeId)), args.toArray());
+            if (!Long.valueOf(1).equals(stored)) {
+                log.debug("Following-offer feed for {} changed during rebuild, not stored", subscriberVibeId);
+            }
+        } catch (Exception e) {
+            log.warn("Following-offer feed store failed for {}", subscriberVibeId, e);
+        }
+    }
+
+    @Override
+    public void publish(UUID targetVibeId, long score, List<UUID> subscriberVibeIds) {
+        if (subscriberVibeIds.isEmpty()) return;
+        byte[] member = bytes(targetVibeId.toString());
+
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (UUID subscriber : subscriberVibeIds) {
+                // XX: feeds that are not materialized stay absent and are built from Postgres on first read
+                connection.zSetCommands().zAdd(bytes(key(subscriber)), score, member, ZAddArgs.empty().ifExists());
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void publishLarge(UUID targetVibeId, long score) {
+        redisTemplate.opsForZSet().add(LARGE_KEY, targetVibeId.toString(), score);
+    }
+
+    @Override
+    public void clearLarge(UUID targetVibeId) {
+        redisTemplate.opsForZSet().remove(LARGE_KEY, targetVibeId.toString());
+    }
+
+    @Override
+    public void remove(UUID subscriberVibeId, Collection<UUID> targetVibeIds) {
+        if (targetVibeIds.isEmpty()) return;
+        try {
+            redisTemplate.opsForZSet().remove(key(subscriberVibeId), targetVibeIds.stream().map(UUID::toString).toArray());
+        } catch (Exception e) {
+            log.warn("Following-offer feed cleanup failed for {}", subscriberVibeId, e);
+        }
+    }
+
+    @Override
+    public void evict(Collection<UUID> subscriberVibeIds) {
+        if (subscriberVibeIds.isEmpty()) return;
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (UUID subscriber : subscriberVibeIds) {
+                    byte[] gen = bytes(genKey(subscriber));
+                    connection.keyCommands().del(bytes(key(subscriber)));
+                    connection.stringCommands().incr(gen);
+                    // outlives any feed built under an older generation
+                    connection.keyCommands().expire(gen, ttl.toSeconds() * 2);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            // a stale feed keeps its old membership until the TTL runs out
+            log.warn("Following-offer feed eviction failed for {} feeds", subscriberVibeIds.size(), e);
+        }
+    }
+
+    private static String key(UUID subscriberVibeId) {
+        return PREFIX + "{" + subscriberVibeId + "}";
+    }
+
+    private static String genKey(UUID subscriberVibeId) {
+        return GEN_PREFIX + "{" + subscriberVibeId + "}";
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,311 @@
+package com.easylink.easylink.vibe_service.infrastructure.redis;
+
+import com.easylink.easylink.vibe_service.application.dto.PendingInteraction;
+import com.easylink.easylink.vibe_service.application.port.out.InteractionWriteBehindPort;
+import com.easylink.easylink.vibe_service.domain.interaction.InteractionType;
+import com.easylink.easylink.vibe_service.infrastructure.repository.InteractionJdbcRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind for high-volume interactions (everything except SUBSCRIBE/UNSUBSCRIBE).
+ * Requests append to a Redis stream; a worker reads it through a consumer group and inserts rows in
+ * JDBC batches once {@code batch-size} entries are buffered or {@code flush-interval-ms} has passed.
+ * Entries are acknowledged only after the batch commits, so a crash leaves them pending and
+ * {@link #reclaimStale()} hands them to a live worker; inserts are idempotent on the row id.
+ * <p>
+ * A batch rejected by a constraint is retried row by row; rows that still fail, malformed entries and entries
+ * delivered {@code max-deliveries} times go to a dead-letter stream, so one bad record cannot hold back the
+ * rest of its batch. Other database errors leave the batch pending for a later retry.
+ */
+@Slf4j
+@Component
+public class RedisInteractionWriteBehind implements InteractionWriteBehindPort {
+
+    private static final String GROUP = "interaction-writers";
+
+    private final StringRedisTemplate redisTemplate;
+    private final InteractionJdbcRepository interactionJdbcRepository;
+
+    private final boolean enabled;
+    private final String streamKey;
+    private final String deadLetterKey;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final long maxBacklog;
+    private final Duration claimIdle;
+    private final long maxDeliveries;
+    private final String consumerName = "writer-" + UUID.randomUUID();
+
+    private final AtomicLong backlog = new AtomicLong();
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter fallbacks;
+    private final Counter deadLettered;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public RedisInteractionWriteBehind(StringRedisTemplate redisTemplate,
+                                       InteractionJdbcRepository interactionJdbcRepository,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${interactions.write-behind.enabled:false}") boolean enabled,
+                                       @Value("${interactions.write-behind.stream-key:interactions:write-behind}") String streamKey,
+                                       @Value("${interactions.write-behind.batch-size:500}") int batchSize,
+                                       @Value("${interactions.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                       @Value("${interactions.write-behind.max-backlog:100000}") long maxBacklog,
+                                       @Value("${interactions.write-behind.claim-idle-ms:60000}") long claimIdleMs,
+                                       @Value("${interactions.write-behind.max-deliveries:5}") long maxDeliveries,
+                                       @Value("${interactions.write-behind.dead-letter-key:interactions:write-behind:dead}") String deadLetterKey) {
+        this.redisTemplate = redisTemplate;
+        this.interactionJdbcRepository = interactionJdbcRepository;
+        this.enabled = enabled;
+        this.streamKey = streamKey;
+        this.batchSize = batchSize;
+        this.flushInterval = Duration.ofMillis(flushIntervalMs);
+        this.maxBacklog = maxBacklog;
+        this.claimIdle = Duration.ofMillis(claimIdleMs);
+        this.maxDeliveries = maxDeliveries;
+        this.deadLetterKey = deadLetterKey;
+
+        meterRegistry.gauge("interactions.write_behind.backlog", backlog);
+        this.flushTimer = meterRegistry.timer("interactions.write_behind.flush");
+        this.batchSizes = DistributionSummary.builder("interactions.write_behind.batch_size").register(meterRegistry);
+        this.fallbacks = meterRegistry.counter("interactions.write_behind.fallback");
+        this.deadLettered = meterRegistry.counter("interactions.write_behind.dead_lettered");
+    }
+
+    @PostConstruct
+    void start() {
+        if (!enabled) return;
+        try {
+            redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), GROUP);
+        } catch (Exception e) {
+            // BUSYGROUP: another node or an earlier run already created it
+            log.debug("Write-behind group {} already exists", GROUP);
+        }
+        running = true;
+        worker = Thread.ofVirtual().name("interaction-write-behind").start(this::run);
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (worker != null) worker.interrupt();
+    }
+
+    @Override
+    public boolean offer(PendingInteraction i) {
+        if (!running || backlog.get() >= maxBacklog) {
+            fallbacks.increment();
+            return false;
+        }
+        try {
+            redisTemplate.opsForStream().add(StreamRecords.string(toFields(i)).withStreamKey(streamKey));
+            backlog.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            log.warn("Write-behind append failed, writing interaction {} synchronously", i.id(), e);
+            fallbacks.increment();
+            return false;
+        }
+    }
+
+    private void run() {
+        List<MapRecord<String, Object, Object>> buffer = new ArrayList<>(batchSize);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+
+        while (running) {
+            try {
+                long waitMillis = Math.max(1, (deadline - System.nanoTime()) / 1_000_000);
+                List<MapRecord<String, Object, Object>> records = redisTemplate.opsForStream().read(
+                        Consumer.from(GROUP, consumerName),
+                        StreamReadOptions.empty().count(batchSize - buffer.size()).block(Duration.ofMillis(waitMillis)),
+                        StreamOffset.create(streamKey, ReadOffset.lastConsumed())
+                );
+                if (records != null) buffer.addAll(records);
+
+                if (buffer.size() >= batchSize || System.nanoTime() >= deadline) {
+                    if (!buffer.isEmpty()) flush(buffer);
+                    buffer.clear();
+                    deadline = System.nanoTime() + flushInterval.toNanos();
+                    refreshBacklog();
+                }
+            } catch (Exception e) {
+                if (!running) return;
+                // unacknowledged entries stay pending and are reclaimed later
+                log.warn("Write-behind flush failed, {} entries left pending", buffer.size(), e);
+                buffer.clear();
+                sleepQuietly(flushInterval);
+            }
+        }
+    }
+
+    private void flush(List<MapRecord<String, Object, Object>> records) {
+        List<MapRecord<String, Object, Object>> valid = new ArrayList<>(records.size());
+        List<PendingInteraction> rows = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            try {
+                rows.add(fromFields(record.getValue()));
+                valid.add(record);
+            } catch (RuntimeException e) {
+                deadLetter(record, e);
+            }
+        }
+        if (rows.isEmpty()) return;
+
+        try {
+            flushTimer.record(() -> interactionJdbcRepository.batchInsert(rows));
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Write-behind batch of {} rejected, retrying row by row", rows.size(), e);
+            flushRowByRow(valid, rows);
+            return;
+        }
+        batchSizes.record(rows.size());
+        settle(valid.stream().map(MapRecord::getId).toArray(RecordId[]::new));
+    }
+
+    // only constraint violations are blamed on the row; any other error propagates and leaves the rest pending
+    private void flushRowByRow(List<MapRecord<String, Object, Object>> records, List<PendingInteraction> rows) {
+        for (int i = 0; i < records.size(); i++) {
+            try {
+                interactionJdbcRepository.batchInsert(List.of(rows.get(i)));
+            } catch (DataIntegrityViolationException e) {
+                deadLetter(records.get(i), e);
+                continue;
+            }
+            settle(records.get(i).getId());
+        }
+    }
+
+    private void deadLetter(MapRecord<String, Object, Object> record, Exception cause) {
+        Map<String, String> fields = new HashMap<>();
+        record.getValue().forEach((k, v) -> fields.put(String.valueOf(k), String.valueOf(v)));
+        fields.put("sourceId", record.getId().getValue());
+        fields.put("error", String.valueOf(cause.getMessage()));
+
+        redisTemplate.opsForStream().add(StreamRecords.string(fields).withStreamKey(deadLetterKey));
+        settle(record.getId());
+        deadLettered.increment();
+        log.warn("Write-behind entry {} moved to {}", record.getId(), deadLetterKey, cause);
+    }
+
+    private void settle(RecordId... ids) {
+        redisTemplate.opsForStream().acknowledge(streamKey, GROUP, ids);
+        redisTemplate.opsForStream().delete(streamKey, ids);
+    }
+
+    /**
+     * Takes over entries a dead or stuck worker read but never acknowledged, and writes them. Entries that
+     * have already been delivered {@code max-deliveries} times are dead-lettered instead of retried again.
+     * Then removes consumers that hold no entries and have been idle for {@code claim-idle-ms}.
+     */
+    @Scheduled(fixedDelayString = "${interactions.write-behind.claim-idle-ms:60000}")
+    public void reclaimStale() {
+        if (!running) return;
+        try {
+            var pending = redisTemplate.opsForStream().pending(streamKey, GROUP, Range.unbounded(), batchSize);
+            Map<RecordId, Long> deliveries = new HashMap<>();
+            pending.stream()
+                    .filter(p -> p.getElapsedTimeSinceLastDelivery().compareTo(claimIdle) >= 0)
+                    .forEach(p -> deliveries.put(p.getId(), p.getTotalDeliveryCount()));
+
+            if (!deliveries.isEmpty()) {
+                List<MapRecord<String, Object, Object>> claimed = redisTemplate.opsForStream().claim(
+                        streamKey, GROUP, consumerName, claimIdle, deliveries.keySet().toArray(RecordId[]::new));
+
+                List<MapRecord<String, Object, Object>> retry = new ArrayList<>(claimed.size());
+                for (MapRecord<String, Object, Object> record : claimed) {
+                    if (deliveries.getOrDefault(record.getId(), 0L) >= maxDeliveries) {
+                        deadLetter(record, new IllegalStateException("Delivered " + maxDeliveries + " times without being written"));
+                    } else {
+                        retry.add(record);
+                    }
+                }
+                if (!retry.isEmpty()) {
+                    log.info("Reclaimed {} stale write-behind entries", retry.size());
+                    flush(retry);
+                }
+            }
+            removeIdleConsumers();
+        } catch (Exception e) {
+            log.warn("Write-behind reclaim failed", e);
+        }
+    }
+
+    // a consumer with nothing pending loses nothing when deleted; if it is alive after all, its next read re-creates it
+    private void removeIdleConsumers() {
+        redisTemplate.opsForStream().consumers(streamKey, GROUP).forEach(c -> {
+            if (c.consumerName().equals(consumerName) || c.pendingCount() > 0) return;
+            if (c.idleTimeMs() < claimIdle.toMillis()) return;
+            redisTemplate.opsForStream().deleteConsumer(streamKey, Consumer.from(GROUP, c.consumerName()));
+            log.info("Removed idle write-behind consumer {}", c.consumerName());
+        });
+    }
+
+    private void refreshBacklog() {
+        Long size = redisTemplate.opsForStream().size(streamKey);
+        if (size != null) backlog.set(size);
+    }
+
+    private static Map<String, String> toFields(PendingInteraction i) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("id", i.id().toString());
+        fields.put("target", i.targetVibeId().toString());
+        fields.put("subscriber", i.subscriberVibeId().toString());
+        if (i.userEmail() != null) fields.put("email", i.userEmail());
+        fields.put("anonymous", Boolean.toString(i.anonymous()));
+        fields.put("type", i.interactionType().name());
+        fields.put("active", Boolean.toString(i.active()));
+        fields.put("createdAt", i.createdAt().toString());
+        return fields;
+    }
+
+    private static PendingInteraction fromFields(Map<Object, Object> f) {
+        return new PendingInteraction(
+                UUID.fromString((String) f.get("id")),
+                UUID.fromString((String) f.get("target")),
+                UUID.fromString((String) f.get("subscriber")),
+                (String) f.get("email"),
+                Boolean.parseBoolean((String) f.get("anonymous")),
+                InteractionType.valueOf((String) f.get("type")),
+                Boolean.parseBoolean((String) f.get("active")),
+                LocalDateTime.parse((String) f.get("createdAt"))
+        );
+    }
+
+    private static void sleepQuietly(Duration d) {
+        try {
+            Thread.sleep(d);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
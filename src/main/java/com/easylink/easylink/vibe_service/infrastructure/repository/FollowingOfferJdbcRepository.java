@@ -0,0 +1,106 @@
+package com.easylink.easylink.vibe_service.infrastructure.repository;
+
+import com.easylink.easylink.vibe_service.application.dto.FollowingOfferDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Postgres side of the following-with-offers feed: scores for rebuilding a feed, the live offer count
+ * and card data for one page, and follower lists for fan-out. A followed vibe is an active SUBSCRIBE edge
+ * to a live vibe, whatever its status, and a live offer is one that has not ended.
+ */
+@Repository
+@RequiredArgsConstructor
+public class FollowingOfferJdbcRepository {
+
+    // latest create/update of a live offer, in epoch millis; 0 when the vibe has none
+    private static final String ACTIVITY = """
+            coalesce(cast(extract(epoch from max(coalesce(o.updated_at, o.created_at))) * 1000 as bigint), 0)
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Map<UUID, Long> findFeedScores(UUID subscriberVibeId) {
+        Map<UUID, Long> scores = new HashMap<>();
+        jdbcTemplate.query("""
+                select i.target_vibe_id, %s as activity
+                from interaction i
+                join vibe tv on tv.id = i.target_vibe_id
+                left join offer o on o.vibe_id = tv.id and o.end_time >= now()
+                where i.subscriber_vibe_id = :subscriber
+                  and i.interaction_type = 'SUBSCRIBE'
+                  and i.active
+                  and tv.deleted_at is null
+                group by i.target_vibe_id
+                """.formatted(ACTIVITY), Map.of("subscriber", subscriberVibeId),
+                (RowCallbackHandler) rs -> scores.put(rs.getObject("target_vibe_id", UUID.class), rs.getLong("activity")));
+        return scores;
+    }
+
+    public long findOfferActivity(UUID vibeId) {
+        Long activity = jdbcTemplate.queryForObject("""
+                select %s
+                from offer o
+                where o.vibe_id = :vibe and o.end_time >= now()
+                """.formatted(ACTIVITY), Map.of("vibe", vibeId), Long.class);
+        return activity != null ? activity : 0L;
+    }
+
+    // rows come back in no particular order; targets that are no longer followed or deleted are missing
+    public List<FollowingOfferDto> findPageRows(UUID subscriberVibeId, List<UUID> targetVibeIds) {
+        if (targetVibeIds.isEmpty()) return List.of();
+
+        return jdbcTemplate.query("""
+                select i.id as interaction_id, tv.id as vibe_id, tv.name, tv.type, tv.description,
+                       (select count(*) from offer o where o.vibe_id = tv.id and o.end_time >= now()) as live_offers
+                from interaction i
+                join vibe tv on tv.id = i.target_vibe_id
+                where i.subscriber_vibe_id = :subscriber
+                  and i.target_vibe_id in (:targets)
+                  and i.interaction_type = 'SUBSCRIBE'
+                  and i.active
+                  and tv.deleted_at is null
+                """, Map.of("subscriber", subscriberVibeId, "targets", targetVibeIds),
+                (rs, n) -> new FollowingOfferDto(
+                        rs.getObject("interaction_id", UUID.class),
+                        rs.getObject("vibe_id", UUID.class),
+                        rs.getString("name"),
+                        rs.getString("type"),
+                        rs.getString("description"),
+                        rs.getInt("live_offers")
+                ));
+    }
+
+    // keyset page of live follower vibe ids, for fan-out
+    public List<UUID> findFollowerVibeIdsAfter(UUID targetVibeId, UUID afterVibeId, int limit) {
+        return jdbcTemplate.queryForList("""
+                select i.subscriber_vibe_id
+                from interaction i
+                join vibe sv on sv.id = i.subscriber_vibe_id
+                where i.target_vibe_id = :target
+                  and i.interaction_type = 'SUBSCRIBE'
+                  and i.active
+                  and sv.deleted_at is null
+                  and i.subscriber_vibe_id > :after
+                order by i.subscriber_vibe_id
+                limit :limit
+                """, Map.of("target", targetVibeId, "after", afterVibeId, "limit", limit), UUID.class);
+    }
+
+    public List<UUID> findVibeIdsWithOffersEndedBetween(Instant from, Instant to) {
+        return jdbcTemplate.queryForList("""
+                select distinct o.vibe_id
+                from offer o
+                where o.end_time > :from and o.end_time <= :to
+                """, Map.of("from", Timestamp.from(from), "to", Timestamp.from(to)), UUID.class);
+    }
+}
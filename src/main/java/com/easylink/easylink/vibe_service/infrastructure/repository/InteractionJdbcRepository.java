@@ -0,0 +1,164 @@
+package com.easylink.easylink.vibe_service.infrastructure.repository;
+
+import com.easylink.easylink.vibe_service.application.dto.PendingInteraction;
+import com.easylink.easylink.vibe_service.application.dto.ResolvedRequest;
+import com.easylink.easylink.vibe_service.application.dto.SubscribeUpsert;
+import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Set-based writes for the interaction table that would otherwise load both vibes and the existing row through JPA.
+ */
+@Repository
+@RequiredArgsConstructor
+public class InteractionJdbcRepository {
+
+    // relies on ux_interaction_subscribe_pair; the update only fires when the state actually changes,
+    // and never demotes an approved, active subscription back to PENDING
+    private static final String UPSERT_SUBSCRIBE_SQL = """
+            insert into interaction (id, target_vibe_id, subscriber_vibe_id, user_email, anonymous,
+                                     interaction_type, active, status, created_at)
+            select :id, t.id, s.id, :email, :anonymous, 'SUBSCRIBE', true,
+                   case when t.subscribe_mode = 'APPROVAL' then 'PENDING' else 'APPROVED' end,
+                   now()
+            from vibe t
+            join vibe s on s.id = :subscriber and s.deleted_at is null
+            where t.id = :target and t.deleted_at is null
+            on conflict (subscriber_vibe_id, target_vibe_id, interaction_type) where interaction_type = 'SUBSCRIBE'
+            do update set active = true,
+                          anonymous = excluded.anonymous,
+                          user_email = excluded.user_email,
+                          status = excluded.status
+            where not (interaction.active
+                       and (interaction.status = 'APPROVED' or interaction.status = excluded.status))
+            returning id, target_vibe_id, status, anonymous, user_email, created_at,
+                      (select v.vibe_account_id from vibe v where v.id = target_vibe_id) as owner_account_id,
+                      (select v.name from vibe v where v.id = subscriber_vibe_id) as subscriber_name
+            """;
+
+    private static final String FIND_SUBSCRIBE_SQL = """
+            select i.id, i.target_vibe_id, i.status, i.anonymous, i.user_email, i.created_at,
+                   t.vibe_account_id as owner_account_id, s.name as subscriber_name
+            from interaction i
+            join vibe t on t.id = i.target_vibe_id
+            join vibe s on s.id = i.subscriber_vibe_id
+            where i.subscriber_vibe_id = :subscriber
+              and i.target_vibe_id = :target
+              and i.interaction_type = 'SUBSCRIBE'
+              and t.deleted_at is null
+              and s.deleted_at is null
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * Creates or re-activates the subscription in one statement. Empty when a vibe is missing or deleted,
+     * or when the subscription was already in place (see {@link #findSubscription}).
+     */
+    public Optional<SubscribeUpsert> upsertSubscription(UUID subscriberVibeId, UUID targetVibeId,
+                                                        String userEmail, boolean anonymous) {
+        var params = new MapSqlParameterSource()
+                .addValue("id", UUID.randomUUID())
+                .addValue("subscriber", subscriberVibeId)
+                .addValue("target", targetVibeId)
+                .addValue("email", userEmail)
+                .addValue("anonymous", anonymous);
+
+        return jdbcTemplate.query(UPSERT_SUBSCRIBE_SQL, params, (rs, n) -> map(rs, true))
+                .stream()
+                .findFirst();
+    }
+
+    public Optional<SubscribeUpsert> findSubscription(UUID subscriberVibeId, UUID targetVibeId) {
+        var params = new MapSqlParameterSource()
+                .addValue("subscriber", subscriberVibeId)
+                .addValue("target", targetVibeId);
+
+        return jdbcTemplate.query(FIND_SUBSCRIBE_SQL, params, (rs, n) -> map(rs, false))
+                .stream()
+                .findFirst();
+    }
+
+    private static SubscribeUpsert map(ResultSet rs, boolean changed) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new SubscribeUpsert(
+                rs.getObject("id", UUID.class),
+                rs.getObject("target_vibe_id", UUID.class),
+                InteractionStatus.valueOf(rs.getString("status")),
+                rs.getBoolean("anonymous"),
+                rs.getString("user_email"),
+                createdAt != null ? createdAt.toLocalDateTime() : null,
+                changed,
+                rs.getObject("owner_account_id", UUID.class),
+                rs.getString("subscriber_name")
+        );
+    }
+
+    /**
+     * Moves pending, active SUBSCRIBE requests of a target to {@code status} in one UPDATE.
+     * {@code interactionIds == null} means every pending request of the target.
+     */
+    public List<ResolvedRequest> resolvePendingRequests(UUID targetVibeId, List<UUID> interactionIds,
+                                                        InteractionStatus status, boolean active) {
+        var params = new MapSqlParameterSource()
+                .addValue("target", targetVibeId)
+                .addValue("status", status.name())
+                .addValue("active", active);
+
+        String idFilter = "";
+        if (interactionIds != null) {
+            if (interactionIds.isEmpty()) return List.of();
+            idFilter = "and i.id in (:ids)";
+            params.addValue("ids", interactionIds);
+        }
+
+        return jdbcTemplate.query("""
+                update interaction i
+                set status = :status, active = :active
+                from vibe sv
+                where sv.id = i.subscriber_vibe_id
+                  and sv.deleted_at is null
+                  and i.target_vibe_id = :target
+                  and i.interaction_type = 'SUBSCRIBE'
+                  and i.status = 'PENDING'
+                  and i.active
+                  %s
+                returning i.id, i.subscriber_vibe_id, sv.vibe_account_id
+                """.formatted(idFilter), params, (rs, n) -> new ResolvedRequest(
+                rs.getObject("id", UUID.class),
+                rs.getObject("subscriber_vibe_id", UUID.class),
+                rs.getObject("vibe_account_id", UUID.class)
+        ));
+    }
+
+    // ON CONFLICT keeps redelivered write-behind entries idempotent
+    public void batchInsert(List<PendingInteraction> rows) {
+        if (rows.isEmpty()) return;
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate("""
+                insert into interaction (id, target_vibe_id, subscriber_vibe_id, user_email, anonymous,
+                                         interaction_type, active, created_at)
+                values (?, ?, ?, ?, ?, ?, ?, ?)
+                on conflict (id) do nothing
+                """, rows, rows.size(), (ps, i) -> {
+            ps.setObject(1, i.id());
+            ps.setObject(2, i.targetVibeId());
+            ps.setObject(3, i.subscriberVibeId());
+            ps.setString(4, i.userEmail());
+            ps.setBoolean(5, i.anonymous());
+            ps.setString(6, i.interactionType().name());
+            ps.setBoolean(7, i.active());
+            ps.setObject(8, i.createdAt());
+        });
+    }
+}
@@ -0,0 +1,133 @@
+package com.easylink.easylink.vibe_service.infrastructure.repository;
+
+import com.easylink.easylink.vibe_service.application.dto.VibeStats;
+import com.easylink.easylink.vibe_service.application.port.out.VibeStatsPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class JdbcVibeStatsAdapter implements VibeStatsPort {
+
+    private static final RowMapper<VibeStats> ROW_MAPPER = (rs, n) -> new VibeStats(
+            rs.getObject("vibe_id", UUID.class),
+            rs.getLong("subscriber_count"),
+            rs.getLong("following_count")
+    );
+
+    // same predicate as SpringDataInteraction.countActiveByTarget / countActiveBySubscriber
+    private static final String RECOMPUTE_SQL = """
+            insert into vibe_stats (vibe_id, subscriber_count, following_count, updated_at)
+            select v.id,
+                   (select count(*)
+                      from interaction i
+                      join vibe sv on sv.id = i.subscriber_vibe_id
+                     where i.target_vibe_id = v.id
+                       and i.interaction_type = 'SUBSCRIBE'
+                       and i.active
+                       and i.status = 'APPROVED'
+                       and sv.deleted_at is null),
+                   (select count(*)
+                      from interaction i
+                      join vibe tv on tv.id = i.target_vibe_id
+                     where i.subscriber_vibe_id = v.id
+                       and i.interaction_type = 'SUBSCRIBE'
+                       and i.active
+                       and i.status = 'APPROVED'
+                       and tv.deleted_at is null),
+                   now()
+            from vibe v
+            where v.id in (%s)
+            on conflict (vibe_id) do update
+            set subscriber_count = excluded.subscriber_count,
+                following_count = excluded.following_count,
+                updated_at = excluded.updated_at
+            returning vibe_id, subscriber_count, following_count
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<VibeStats> find(UUID vibeId) {
+        return jdbcTemplate.query(
+                "select vibe_id, subscriber_count, following_count from vibe_stats where vibe_id = :id",
+                Map.of("id", vibeId), ROW_MAPPER
+        ).stream().findFirst();
+    }
+
+    @Override
+    public void adjust(UUID targetVibeId, UUID subscriberVibeId, long delta) {
+        if (delta == 0) return;
+        var params = Map.of("target", targetVibeId, "subscriber", subscriberVibeId, "delta", delta);
+
+        jdbcTemplate.update("""
+                update vibe_stats
+                set subscriber_count = greatest(subscriber_count + :delta, 0), updated_at = now()
+                where vibe_id = :target
+                """, params);
+        jdbcTemplate.update("""
+                update vibe_stats
+                set following_count = greatest(following_count + :delta, 0), updated_at = now()
+                where vibe_id = :subscriber
+                """, params);
+    }
+
+    @Override
+    public void addSubscribers(UUID targetVibeId, List<UUID> subscriberVibeIds) {
+        if (subscriberVibeIds.isEmpty()) return;
+
+        jdbcTemplate.update("""
+                update vibe_stats
+                set subscriber_count = subscriber_count + :n, updated_at = now()
+                where vibe_id = :target
+                """, Map.of("target", targetVibeId, "n", subscriberVibeIds.size()));
+        jdbcTemplate.update("""
+                update vibe_stats
+                set following_count = following_count + 1, updated_at = now()
+                where vibe_id in (:subscribers)
+                """, Map.of("subscribers", subscriberVibeIds));
+    }
+
+    @Override
+    public VibeStats recompute(UUID vibeId) {
+        return jdbcTemplate.query(RECOMPUTE_SQL.formatted(":ids"), Map.of("ids", List.of(vibeId)), ROW_MAPPER)
+                .stream()
+                .findFirst()
+                .orElse(new VibeStats(vibeId, 0, 0));
+    }
+
+    @Override
+    public int recompute(List<UUID> vibeIds) {
+        if (vibeIds.isEmpty()) return 0;
+        return jdbcTemplate.query(RECOMPUTE_SQL.formatted(":ids"), Map.of("ids", vibeIds), ROW_MAPPER).size();
+    }
+
+    @Override
+    public int recomputeNeighbours(UUID vibeId) {
+        String neighbours = """
+                select i.subscriber_vibe_id from interaction i
+                where i.target_vibe_id = :id and i.interaction_type = 'SUBSCRIBE'
+                union
+                select i.target_vibe_id from interaction i
+                where i.subscriber_vibe_id = :id and i.interaction_type = 'SUBSCRIBE'
+                """;
+        return jdbcTemplate.query(RECOMPUTE_SQL.formatted(neighbours), Map.of("id", vibeId), ROW_MAPPER).size();
+    }
+
+    @Override
+    public List<UUID> findVibeIdsAfter(UUID afterId, int limit) {
+        return jdbcTemplate.queryForList("""
+                select id from vibe
+                where deleted_at is null and id > :after
+                order by id
+                limit :limit
+                """, Map.of("after", afterId, "limit", limit), UUID.class);
+    }
+}
@@ -1,15 +1,22 @@
 package com.easylink.easylink.vibe_service.infrastructure.repository;
 
-import com.easylink.easylink.vibe_service.application.dto.InteractionWithOffersDTO;
 import com.easylink.easylink.vibe_service.application.port.out.InteractionRepositoryPort;
 import com.easylink.easylink.vibe_service.domain.interaction.Interaction;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionType;
 import com.easylink.easylink.vibe_service.domain.model.Vibe;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Repository;
 import com.easylink.easylink.vibe_service.application.dto.MiniVibeDto;
+import com.easylink.easylink.vibe_service.application.dto.MiniVibeRow;
+import com.easylink.easylink.vibe_service.application.dto.ViewerSubscriptionRow;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -18,6 +25,9 @@ public class JpaInteractionRepositoryAdapter implements InteractionRepositoryPor
 
     private final SpringDataInteraction delegateRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public JpaInteractionRepositoryAdapter(SpringDataInteraction springDataInteraction) {
         this.delegateRepository = springDataInteraction;
     }
@@ -32,15 +42,6 @@ public class JpaInteractionRepositoryAdapter implements InteractionRepositoryPor
         return delegateRepository.findActiveFollowingsAlive(subscriberVibe);
     }
 
-    @Override
-    public List<InteractionWithOffersDTO> getAllFollowingsWithOffers(Vibe subscriberVibe) {
-        List<Object[]> rows = delegateRepository.findAllBySubscriberVibeWithOffers(subscriberVibe);
-
-        return rows.stream()
-                .map(arr -> new InteractionWithOffersDTO((Interaction) arr[0], ((Long) arr[1]).intValue()))
-                .toList();
-    }
-
     // SUBSCRIBE + active=true
     public boolean isSubscribed(Vibe subscriberVibe, Vibe targetVibe) {
         return delegateRepository.existsBySubscriberVibeAndTargetVibeAndInteractionTypeAndActiveTrue(
@@ -58,6 +59,15 @@ public class JpaInteractionRepositoryAdapter implements InteractionRepositoryPor
         return delegateRepository.findPendingSubscribersAlive(targetVibe);
     }
 
+    /**
+     * Re-reads the row with FOR UPDATE, so the state a caller derives a counter delta from cannot be changed by a
+     * concurrent transaction before this one commits. Call before modifying the entity; pending changes are discarded.
+     */
+    public Interaction lockForUpdate(Interaction interaction) {
+        entityManager.refresh(interaction, LockModeType.PESSIMISTIC_WRITE);
+        return interaction;
+    }
+
     public Optional<Interaction> findAnySubscription(Vibe subscriberVibe, Vibe targetVibe) {
         return delegateRepository.findFirstBySubscriberVibeAndTargetVibeAndInteractionTypeOrderByIdDesc(
                 subscriberVibe, targetVibe, InteractionType.SUBSCRIBE
@@ -133,6 +143,44 @@ public class JpaInteractionRepositoryAdapter implements InteractionRepositoryPor
         );
     }
 
+    @Override
+    public List<ViewerSubscriptionRow> findViewerSubscriptions(UUID targetVibeId, UUID viewerAccountId) {
+        if (targetVibeId == null || viewerAccountId == null) return List.of();
+        return delegateRepository.findViewerSubscriptions(targetVibeId, viewerAccountId);
+    }
+
+    @Override
+    public List<UUID> findActiveSubscriberAccountIdsAfter(UUID targetVibeId, UUID afterAccountId, int limit) {
+        if (targetVibeId == null || afterAccountId == null) return List.of();
+        return delegateRepository.findActiveSubscriberAccountIdsAfter(
+                targetVibeId, afterAccountId, PageRequest.of(0, limit)
+        );
+    }
+
+    public List<MiniVibeRow> findApprovedSubscriberMiniAfter(UUID targetVibeId, UUID afterInteractionId, int limit) {
+        return delegateRepository.findApprovedSubscriberMiniAfter(
+                targetVibeId, afterInteractionId, PageRequest.of(0, limit)
+        );
+    }
+
+    public List<MiniVibeRow> findFollowingMiniAfter(UUID subscriberVibeId, UUID afterInteractionId, int limit) {
+        return delegateRepository.findFollowingMiniAfter(
+                subscriberVibeId, afterInteractionId, PageRequest.of(0, limit)
+        );
+    }
+
+    // target id -> strongest status among the given subscribers (APPROVED over PENDING); targets without one are absent
+    public Map<UUID, InteractionStatus> findSubscriptionStatuses(List<UUID> subscriberVibeIds, List<UUID> targetVibeIds) {
+        if (subscriberVibeIds.isEmpty() || targetVibeIds.isEmpty()) return Map.of();
+
+        Map<UUID, InteractionStatus> statuses = new HashMap<>();
+        for (Object[] row : delegateRepository.findSubscriptionStatuses(subscriberVibeIds, targetVibeIds)) {
+            statuses.merge((UUID) row[0], (InteractionStatus) row[1],
+                    (a, b) -> a == InteractionStatus.APPROVED ? a : b);
+        }
+        return statuses;
+    }
+
     public Optional<Interaction> findById(UUID id) {
         return delegateRepository.findById(id);
     }
@@ -56,6 +56,11 @@ public class JpaVibeRepositoryAdapter  implements VibeRepositoryPort {
         return delegate.findByIdAndDeletedAtIsNull(id);
     }
 
+    @Override
+    public Optional<Vibe> findActiveWithFieldsById(UUID id) {
+        return delegate.findWithFieldsByIdAndDeletedAtIsNull(id);
+    }
+
     @Override
     public long countActiveByVibeAccountId(UUID userId) {
         return delegate.countByVibeAccountIdAndDeletedAtIsNull(userId);
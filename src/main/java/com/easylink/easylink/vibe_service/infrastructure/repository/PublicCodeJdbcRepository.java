@@ -0,0 +1,144 @@
+package com.easylink.easylink.vibe_service.infrastructure.repository;
+
+import com.easylink.easylink.vibe_service.application.port.out.PublicCodePoolPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The public_code pool: one row per code, free while vibe_id is null. Codes are handed out in the order of a
+ * random slot fixed at seeding, so a claim is one index probe instead of a guess-and-check loop, and
+ * consecutive claims still look unrelated.
+ * <p>
+ * public_code_length keeps claimed/total per length in {@link #STRIPES} rows (V11). Claims and releases adjust the
+ * vibe's stripe in the same statement as the code row, so the counters stay exact and a claim never counts the pool.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PublicCodeJdbcRepository implements PublicCodePoolPort {
+
+    private static final String ASCENDING = "123456789";
+    // must match the stripes V11 creates
+    static final int STRIPES = 16;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Utilization utilization(int length) {
+        return jdbcTemplate.queryForObject("""
+                select coalesce(sum(claimed), 0) as claimed, coalesce(sum(total), 0) as total
+                from public_code_length
+                where length = :length
+                """, Map.of("length", length),
+                (rs, i) -> new Utilization(rs.getLong("claimed"), rs.getLong("total")));
+    }
+
+    // same rules as V10: no single repeated digit, no ascending run. The codes and their total land in one
+    // statement, so a length counts as seeded only once all of it is there; a concurrent seed inserts nothing
+    @Override
+    public void seed(int length) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("length", length)
+                .addValue("from", (long) Math.pow(10, length - 1))
+                .addValue("to", (long) Math.pow(10, length) - 1)
+                .addValue("ascending", ASCENDING.substring(0, Math.min(length, ASCENDING.length())));
+
+        jdbcTemplate.update("""
+                insert into public_code_length (length, stripe)
+                select :length, s
+                from generate_series(0, %d) s
+                on conflict (length, stripe) do nothing
+                """.formatted(STRIPES - 1), params);
+
+        jdbcTemplate.update("""
+                with seeded as (
+                    insert into public_code (code, length, slot)
+                    select g::text, :length, row_number() over (order by random())
+                    from generate_series(cast(:from as bigint), cast(:to as bigint)) g
+                    where g::text !~ '^(.)\\1*$'
+                      and g::text <> :ascending
+                    on conflict (code) do nothing
+                    returning 1
+                )
+                update public_code_length
+                set total = total + (select count(*) from seeded)
+                where length = :length and stripe = 0
+                """, params);
+    }
+
+    // skip locked: concurrent claims take different rows instead of queueing on the same one
+    @Override
+    public Optional<String> claim(UUID vibeId, int length) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("vibe", vibeId)
+                .addValue("length", length)
+                .addValue("stripe", stripe(vibeId));
+
+        List<String> codes = jdbcTemplate.queryForList("""
+                with next as (
+                    select code
+                    from public_code
+                    where vibe_id is null and length = :length
+                    order by slot
+                    limit 1
+                    for update skip locked
+                ), taken as (
+                    update public_code p
+                    set vibe_id = :vibe, claimed_at = now()
+                    from next
+                    where p.code = next.code
+                    returning p.code, p.length
+                ), counted as (
+                    update public_code_length c
+                    set claimed = c.claimed + 1
+                    from taken
+                    where c.length = taken.length and c.stripe = :stripe
+                )
+                select code from taken
+                """, params, String.class);
+        return codes.stream().findFirst();
+    }
+
+    @Override
+    public Optional<String> release(UUID vibeId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("vibe", vibeId)
+                .addValue("stripe", stripe(vibeId));
+
+        List<String> codes = jdbcTemplate.queryForList("""
+                with freed as (
+                    update public_code
+                    set vibe_id = null, claimed_at = null
+                    where vibe_id = :vibe
+                    returning code, length
+                ), counted as (
+                    update public_code_length c
+                    set claimed = c.claimed - 1
+                    from freed
+                    where c.length = freed.length and c.stripe = :stripe
+                )
+                select code from freed
+                """, params, String.class);
+        return codes.stream().findFirst();
+    }
+
+    @Override
+    public Optional<UUID> findVibeIdByCode(String code) {
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "select vibe_id from public_code where code = :code and vibe_id is not null",
+                Map.of("code", code), UUID.class);
+        return ids.stream().findFirst();
+    }
+
+    // by vibe, so the release and re-claim in one transaction touch one stripe and two claims rarely share a row;
+    // a stripe's own count may still go negative, only the sum is meaningful
+    private static int stripe(UUID vibeId) {
+        return Math.floorMod(vibeId.hashCode(), STRIPES);
+    }
+}
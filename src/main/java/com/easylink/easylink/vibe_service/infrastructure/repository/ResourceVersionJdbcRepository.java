@@ -0,0 +1,82 @@
+package com.easylink.easylink.vibe_service.infrastructure.repository;
+
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeFingerprint;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Version fingerprints for conditional GETs: one query per response, touching only ids, version columns and
+ * counters, so an unchanged resource is answered with 304 before any entity is loaded.
+ * Each fingerprint covers everything the response is built from; a missing vibe yields empty so the
+ * regular path produces its usual error.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ResourceVersionJdbcRepository {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * The vibe's version (its own columns and its fields), its counters and the viewer's subscriptions to it,
+     * including the version of each subscribing vibe because those are shown as cards. The vibe's version is also
+     * returned on its own so cached profiles older than it can be skipped.
+     */
+    public Optional<PublicVibeFingerprint> findPublicVibeFingerprint(UUID vibeId, UUID viewerAccountId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", vibeId)
+                .addValue("viewer", viewerAccountId);
+
+        List<PublicVibeFingerprint> rows = jdbcTemplate.query("""
+                select v.version,
+                       concat_ws('|', v.version, v.vibe_account_id,
+                       coalesce(s.subscriber_count, -1), coalesce(s.following_count, -1),
+                       coalesce((select string_agg(i.subscriber_vibe_id || ':' || i.status || ':' || sv.version, ','
+                                                   order by i.subscriber_vibe_id)
+                        from interaction i
+                        join vibe sv on sv.id = i.subscriber_vibe_id
+                        where i.target_vibe_id = v.id
+                          and i.interaction_type = 'SUBSCRIBE'
+                          and i.active
+                          and i.status in ('APPROVED', 'PENDING')
+                          and sv.vibe_account_id = cast(:viewer as uuid)
+                          and sv.deleted_at is null), '')) as fingerprint
+                from vibe v
+                left join vibe_stats s on s.vibe_id = v.id
+                where v.id = :id and v.deleted_at is null
+                """, params, (rs, n) -> new PublicVibeFingerprint(rs.getLong("version"), rs.getString("fingerprint")));
+        return rows.stream().findFirst();
+    }
+
+    // not viewer-specific; an unknown vibe has an empty catalog, like the endpoint
+    public String findCatalogFingerprint(UUID vibeId) {
+        String digest = jdbcTemplate.queryForObject("""
+                select md5(string_agg(i.id || ':' || i.version, ',' order by i.id))
+                from item i
+                where i.vibe_id = :vibe
+                """, Map.of("vibe", vibeId), String.class);
+        return digest != null ? digest : "";
+    }
+
+    public Optional<String> findOffersFingerprint(UUID vibeId) {
+        List<String> rows = jdbcTemplate.queryForList("""
+                select coalesce((select md5(string_agg(o.id || ':' || o.version, ',' order by o.id))
+                                 from offer o
+                                 where o.vibe_id = v.id), '')
+                from vibe v
+                where v.id = :vibe and v.deleted_at is null
+                """, Map.of("vibe", vibeId), String.class);
+        return rows.stream().findFirst();
+    }
+
+    // vibe.version is read-only in JPA; every change to what a vibe shows bumps it here
+    public void bumpVibeVersion(UUID vibeId) {
+        jdbcTemplate.update("update vibe set version = version + 1 where id = :id", Map.of("id", vibeId));
+    }
+}
@@ -1,10 +1,13 @@
 package com.easylink.easylink.vibe_service.infrastructure.repository;
 
 import com.easylink.easylink.vibe_service.application.dto.MiniVibeDto;
+import com.easylink.easylink.vibe_service.application.dto.MiniVibeRow;
+import com.easylink.easylink.vibe_service.application.dto.ViewerSubscriptionRow;
 import com.easylink.easylink.vibe_service.domain.interaction.Interaction;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionType;
 import com.easylink.easylink.vibe_service.domain.model.Vibe;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -31,19 +34,6 @@ public interface SpringDataInteraction extends JpaRepository<Interaction, UUID>
             InteractionType interactionType
     );
 
-    @Query("""
-        SELECT i, COUNT(o)
-        FROM Interaction i
-        join i.targetVibe tv
-        LEFT JOIN Offer o ON o.vibe = tv AND o.endTime >= CURRENT_TIMESTAMP
-        WHERE i.subscriberVibe = :subscriberVibe
-          and i.active = true
-          and i.interactionType = com.easylink.easylink.vibe_service.domain.interaction.InteractionType.SUBSCRIBE
-          and tv.deletedAt is null
-        GROUP BY i
-    """)
-    List<Object[]> findAllBySubscriberVibeWithOffers(@Param("subscriberVibe") Vibe subscriberVibe);
-
     @Query("""
     select count(i)
     from Interaction i
@@ -218,4 +208,113 @@ where tv.id = :targetId
             @Param("status") InteractionStatus status,
             @Param("subscriberIds") List<UUID> subscriberIds
     );
+
+    @Query("""
+select distinct sv.vibeAccountId
+from Interaction i
+join i.subscriberVibe sv
+join i.targetVibe tv
+where tv.id = :targetId
+  and i.active = true
+  and i.interactionType = com.easylink.easylink.vibe_service.domain.interaction.InteractionType.SUBSCRIBE
+  and sv.deletedAt is null
+  and tv.deletedAt is null
+  and sv.vibeAccountId <> tv.vibeAccountId
+  and sv.vibeAccountId > :afterAccountId
+order by sv.vibeAccountId
+""")
+    List<UUID> findActiveSubscriberAccountIdsAfter(
+            @Param("targetId") UUID targetId,
+            @Param("afterAccountId") UUID afterAccountId,
+            Pageable page
+    );
+
+    // keyset pages of mini cards, ordered by interaction id (interaction.created_at is not populated)
+    @Query("""
+select new com.easylink.easylink.vibe_service.application.dto.MiniVibeRow(
+  i.id, sv.id, sv.name, sv.type, sv.photo
+)
+from Interaction i
+join i.subscriberVibe sv
+join i.targetVibe tv
+where tv.id = :targetId
+  and i.active = true
+  and i.interactionType = com.easylink.easylink.vibe_service.domain.interaction.InteractionType.SUBSCRIBE
+  and i.status = com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus.APPROVED
+  and sv.deletedAt is null
+  and tv.deletedAt is null
+  and i.id > :afterId
+order by i.id
+""")
+    List<MiniVibeRow> findApprovedSubscriberMiniAfter(
+            @Param("targetId") UUID targetId,
+            @Param("afterId") UUID afterId,
+            Pageable page
+    );
+
+    @Query("""
+select new com.easylink.easylink.vibe_service.application.dto.MiniVibeRow(
+  i.id, tv.id, tv.name, tv.type, tv.photo
+)
+from Interaction i
+join i.subscriberVibe sv
+join i.targetVibe tv
+where sv.id = :subscriberId
+  and i.active = true
+  and i.interactionType = com.easylink.easylink.vibe_service.domain.interaction.InteractionType.SUBSCRIBE
+  and i.status = com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus.APPROVED
+  and sv.deletedAt is null
+  and tv.deletedAt is null
+  and i.id > :afterId
+order by i.id
+""")
+    List<MiniVibeRow> findFollowingMiniAfter(
+            @Param("subscriberId") UUID subscriberId,
+            @Param("afterId") UUID afterId,
+            Pageable page
+    );
+
+    @Query("""
+select tv.id, i.status
+from Interaction i
+join i.subscriberVibe sv
+join i.targetVibe tv
+where sv.id in :subscriberIds
+  and tv.id in :targetIds
+  and i.active = true
+  and i.interactionType = com.easylink.easylink.vibe_service.domain.interaction.InteractionType.SUBSCRIBE
+  and i.status in (
+      com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus.APPROVED,
+      com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus.PENDING
+  )
+  and sv.deletedAt is null
+  and tv.deletedAt is null
+""")
+    List<Object[]> findSubscriptionStatuses(
+            @Param("subscriberIds") List<UUID> subscriberIds,
+            @Param("targetIds") List<UUID> targetIds
+    );
+
+    @Query("""
+select new com.easylink.easylink.vibe_service.application.dto.ViewerSubscriptionRow(
+    sv.id, sv.name, sv.type, sv.photo, i.status
+)
+from Interaction i
+join i.subscriberVibe sv
+join i.targetVibe tv
+where tv.id = :targetId
+  and sv.vibeAccountId = :accountId
+  and i.active = true
+  and i.interactionType = com.easylink.easylink.vibe_service.domain.interaction.InteractionType.SUBSCRIBE
+  and i.status in (
+      com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus.APPROVED,
+      com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus.PENDING
+  )
+  and sv.deletedAt is null
+  and tv.deletedAt is null
+""")
+    List<ViewerSubscriptionRow> findViewerSubscriptions(
+            @Param("targetId") UUID targetId,
+            @Param("accountId") UUID accountId
+    );
 }
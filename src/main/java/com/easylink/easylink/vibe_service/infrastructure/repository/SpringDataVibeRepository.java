@@ -1,11 +1,13 @@
 package com.easylink.easylink.vibe_service.infrastructure.repository;
 
+import com.easylink.easylink.vibe_service.application.dto.MiniVibeDto;
 import com.easylink.easylink.vibe_service.domain.model.Vibe;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -21,6 +23,8 @@ public interface SpringDataVibeRepository extends JpaRepository<Vibe, UUID> {
     List<Vibe> findAllByDeletedAtIsNull();
     Optional<Vibe> findByPublicCodeAndVisibleTrueAndDeletedAtIsNull(String publicCode);
     Optional<Vibe> findByIdAndDeletedAtIsNull(UUID id);
+    @EntityGraph(attributePaths = "fields")
+    Optional<Vibe> findWithFieldsByIdAndDeletedAtIsNull(UUID id);
     // SpringDataVibeRepository.java
 
     @Query("""
@@ -30,4 +34,20 @@ public interface SpringDataVibeRepository extends JpaRepository<Vibe, UUID> {
           and v.vibeAccountId = :accountId
         """)
     List<UUID> findAliveIdsByVibeAccountId(@Param("accountId") UUID accountId);
+
+    @Query("""
+        select v.vibeAccountId
+        from Vibe v
+        where v.id = :id
+          and v.deletedAt is null
+        """)
+    Optional<UUID> findAccountIdById(@Param("id") UUID id);
+
+    @Query("""
+        select new com.easylink.easylink.vibe_service.application.dto.MiniVibeDto(v.id, v.name, v.type, v.photo)
+        from Vibe v
+        where v.id in :ids
+          and v.deletedAt is null
+        """)
+    List<MiniVibeDto> findMiniByIdIn(@Param("ids") Collection<UUID> ids);
 }
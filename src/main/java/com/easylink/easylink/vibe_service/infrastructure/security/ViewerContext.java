@@ -0,0 +1,61 @@
+package com.easylink.easylink.vibe_service.infrastructure.security;
+
+import com.easylink.easylink.vibe_service.infrastructure.cache.AccountVibeIdsCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The caller of the current request: the account from the JWT subject and the ids of its live vibes.
+ * Both are resolved on first use and then reused for the rest of the request. Request-scoped, so it must
+ * be used on the request thread.
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class ViewerContext {
+
+    private final AccountVibeIdsCache accountVibeIds;
+
+    private boolean accountResolved;
+    private UUID accountId;
+    private List<UUID> vibeIds;
+
+    // empty for anonymous requests and subjects that are not an account id
+    public Optional<UUID> accountId() {
+        if (!accountResolved) {
+            accountId = subject();
+            accountResolved = true;
+        }
+        return Optional.ofNullable(accountId);
+    }
+
+    // the viewer's live vibes, no entities loaded; empty for anonymous requests
+    public List<UUID> vibeIds() {
+        if (vibeIds == null) {
+            vibeIds = accountId().map(accountVibeIds::get).orElse(List.of());
+        }
+        return vibeIds;
+    }
+
+    public boolean owns(UUID vibeId) {
+        return vibeIds().contains(vibeId);
+    }
+
+    private static UUID subject() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !(auth.getPrincipal() instanceof Jwt jwt) || jwt.getSubject() == null) return null;
+        try {
+            return UUID.fromString(jwt.getSubject());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -6,6 +6,8 @@ import com.easylink.easylink.vibe_service.application.dto.ItemDTO;
 import com.easylink.easylink.vibe_service.application.port.in.catalog.CreateItemUseCase;
 import com.easylink.easylink.vibe_service.application.port.out.CatalogRepositoryPort;
 import com.easylink.easylink.vibe_service.application.service.CatalogService;
+import com.easylink.easylink.vibe_service.infrastructure.repository.ResourceVersionJdbcRepository;
+import com.easylink.easylink.vibe_service.web.ETags;
 import com.easylink.easylink.vibe_service.web.dto.CreateItemRequest;
 import com.easylink.easylink.vibe_service.web.dto.ItemResponse;
 import com.easylink.easylink.vibe_service.web.dto.UpdateItemRequest;
@@ -14,6 +16,8 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -32,6 +36,7 @@ public class CatalogController {
     private final CreateItemUseCase createItemUseCase;
     private final CatalogService catalogService;
     private final ModelMapper modelMapper;
+    private final ResourceVersionJdbcRepository resourceVersionJdbcRepository;
 
     @Operation(summary = "Create item", description = "Create new item")
     @PostMapping
@@ -47,12 +52,21 @@ public class CatalogController {
 
     @Operation(summary = "Get all items", description = "Get all items by VibeId")
     @GetMapping
-    public ResponseEntity<List<ItemResponse>> getAllItemsByVibeId(@RequestParam UUID vibeId){
-        List<ItemDTO> itemDTOList = catalogService.getAllItemsByVibeId(vibeId);
+    public ResponseEntity<List<ItemResponse>> getAllItemsByVibeId(
+            @RequestParam UUID vibeId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ){
+        String fingerprint = resourceVersionJdbcRepository.findCatalogFingerprint(vibeId);
+        String etag = ETags.of("catalog", vibeId.toString(), fingerprint);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
+        List<ItemDTO> itemDTOList = catalogService.getAllItemsByVibeId(vibeId, fingerprint);
         List<ItemResponse> itemResponseList = itemDTOList.stream()
                 .map(item -> modelMapper.map(item, ItemResponse.class))
                 .toList();
-        return ResponseEntity.ok(itemResponseList);
+        return ResponseEntity.ok().eTag(etag).cacheControl(ETags.REVALIDATE).body(itemResponseList);
     }
 
     @GetMapping("/{id}")
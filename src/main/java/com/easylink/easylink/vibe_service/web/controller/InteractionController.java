@@ -1,12 +1,16 @@
 package com.easylink.easylink.vibe_service.web.controller;
 
 import com.easylink.easylink.vibe_service.application.dto.EarlyAccessRequestDTO;
-import com.easylink.easylink.vibe_service.application.dto.InteractionWithOffersDTO;
+import com.easylink.easylink.vibe_service.application.dto.FollowingOfferPage;
+import com.easylink.easylink.vibe_service.application.dto.MiniVibeDto;
+import com.easylink.easylink.vibe_service.application.dto.MiniVibePage;
 import com.easylink.easylink.vibe_service.application.dto.VibeDto;
 import com.easylink.easylink.vibe_service.application.port.in.interaction.CreateEarlyAccessUseCase;
 import com.easylink.easylink.vibe_service.application.port.in.interaction.CreateInteractionUseCase;
+import com.easylink.easylink.vibe_service.application.service.FollowGraphService;
+import com.easylink.easylink.vibe_service.application.service.FollowingOfferFeedService;
 import com.easylink.easylink.vibe_service.application.service.InteractionService;
-import com.easylink.easylink.vibe_service.domain.interaction.Interaction;
+import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
 import com.easylink.easylink.vibe_service.web.dto.*;
 import com.easylink.easylink.vibe_service.web.mapper.VibeResponseMapper;
 import lombok.RequiredArgsConstructor;
@@ -17,6 +21,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -26,6 +31,8 @@ public class InteractionController {
 
     private final CreateInteractionUseCase createInteractionUseCase;
     private final InteractionService interactionService;
+    private final FollowingOfferFeedService followingOfferFeedService;
+    private final FollowGraphService followGraphService;
     private final CreateEarlyAccessUseCase createEarlyAccessUseCase;
     private final ModelMapper modelMapper;
 
@@ -56,30 +63,51 @@ public class InteractionController {
         return ResponseEntity.ok(vibeResponseList);
     }
 
+    @GetMapping("/{id}/following/page")
+    public ResponseEntity<MiniVibePage> getFollowingPage(@PathVariable UUID id,
+                                                         @RequestParam(required = false) UUID after,
+                                                         @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(interactionService.getFollowingPage(id, after, limit));
+    }
+
     @GetMapping("/{id}/following-offer")
     public ResponseEntity<List<InteractionWithOfferResponse>> getFollowingWithOffers(@PathVariable UUID id,@AuthenticationPrincipal Jwt jwt){
 
-        List<InteractionWithOffersDTO> interactionWithOffersDTO = interactionService.getFollowingWithOffers(id);
-
-        //   List<InteractionWithOfferResponse> interactionWithOfferResponse = interactionWithOffersDTO.stream().map(dto-> modelMapper.map(dto, InteractionWithOfferResponse.class)).toList();
-        List<InteractionWithOfferResponse> responses = interactionWithOffersDTO.stream()
-                .map(dto -> {
-                    Interaction i = dto.interaction();
-                    return new InteractionWithOfferResponse(
-                            i.getId(),
-                            i.getTargetVibe().getId(),
-                            i.getTargetVibe().getName(),
-                            i.getTargetVibe().getType().toString(),
-                            i.getTargetVibe().getDescription(),
-                            dto.count()
-                    );
-                })
+        List<InteractionWithOfferResponse> responses = followingOfferFeedService.getAll(id).stream()
+                .map(dto -> new InteractionWithOfferResponse(
+                        dto.interactionId(),
+                        dto.targetVibeId(),
+                        dto.targetVibeName(),
+                        dto.targetVibeType(),
+                        dto.targetVibeDescription(),
+                        dto.count()
+                ))
                 .toList();
 
-
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/{id}/following-offer/page")
+    public ResponseEntity<FollowingOfferPage> getFollowingWithOffersPage(@PathVariable UUID id,
+                                                                         @RequestParam(required = false) Long offset,
+                                                                         @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(followingOfferFeedService.getPage(id, offset, limit));
+    }
+
+    @GetMapping("/{id}/suggestions")
+    public ResponseEntity<List<MiniVibeDto>> suggestions(@PathVariable UUID id,
+                                                         @RequestParam(required = false) Integer limit,
+                                                         @AuthenticationPrincipal Jwt jwt) {
+        return ResponseEntity.ok(followGraphService.getSuggestions(id, limit, jwt.getSubject()));
+    }
+
+    @GetMapping("/{id}/following-who-follow")
+    public ResponseEntity<Integer> followingWhoFollow(@PathVariable UUID id,
+                                                      @RequestParam UUID targetVibeId,
+                                                      @AuthenticationPrincipal Jwt jwt) {
+        return ResponseEntity.ok(followGraphService.countFollowingWhoFollow(id, targetVibeId, jwt.getSubject()));
+    }
+
     @GetMapping("/{subscriberVibeId}/subscribed")
     public ResponseEntity<Boolean> isSubscribed(@PathVariable UUID subscriberVibeId, @RequestParam UUID targetVibeId, @AuthenticationPrincipal Jwt jwt){
 
@@ -88,6 +116,15 @@ public class InteractionController {
         return ResponseEntity.ok(isSubscribed);
     }
 
+    @PostMapping("/subscription-status")
+    public ResponseEntity<Map<UUID, InteractionStatus>> subscriptionStatuses(@RequestBody SubscriptionStatusRequest request,
+                                                                             @AuthenticationPrincipal Jwt jwt) {
+        return ResponseEntity.ok(interactionService.getSubscriptionStatuses(
+                request.getSubscriberVibeId(),
+                request.getTargetVibeIds()
+        ));
+    }
+
     @PostMapping("/early-access")
     public ResponseEntity<EarlyRequestAccessResponse> requestEarlySubscription(@RequestParam String email, @AuthenticationPrincipal Jwt jwt){
         EarlyAccessRequestDTO earlyAccessRequestDTO= createEarlyAccessUseCase.create(email);
@@ -108,6 +145,13 @@ public class InteractionController {
         return interactionService.getSubscribers(vibeId);
     }
 
+    @GetMapping("/{vibeId}/subscribers/page")
+    public MiniVibePage subscribersPublicPage(@PathVariable UUID vibeId,
+                                              @RequestParam(required = false) UUID after,
+                                              @RequestParam(required = false) Integer limit) {
+        return interactionService.getSubscribersPage(vibeId, after, limit);
+    }
+
 //    @RequestMapping("/followers")
 //    public ResponseEntity<VibeResponse> getFollowers(@RequestParam UUID vibeId,@AuthenticationPrincipal Jwt jwt){
 //
@@ -3,12 +3,16 @@ package com.easylink.easylink.vibe_service.web.controller;
 import com.easylink.easylink.vibe_service.application.dto.CreateOfferCommand;
 import com.easylink.easylink.vibe_service.application.dto.OfferDto;
 import com.easylink.easylink.vibe_service.application.service.OfferServiceImpl;
+import com.easylink.easylink.vibe_service.infrastructure.repository.ResourceVersionJdbcRepository;
+import com.easylink.easylink.vibe_service.web.ETags;
 import com.easylink.easylink.vibe_service.web.dto.CreateOfferRequest;
 import com.easylink.easylink.vibe_service.web.dto.OfferPatchRequest;
 import com.easylink.easylink.vibe_service.web.dto.OfferResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
@@ -25,6 +29,7 @@ public class OfferController {
 
     private final OfferServiceImpl offerService;
     private final ModelMapper modelMapper;
+    private final ResourceVersionJdbcRepository resourceVersionJdbcRepository;
 
     @PostMapping
     public ResponseEntity<OfferResponse> createOffer(
@@ -43,12 +48,21 @@ public class OfferController {
     @GetMapping("/vibe/{vibeId}")
     public ResponseEntity<List<OfferResponse>> getOffersByVibeId(
             @PathVariable UUID vibeId,
-            @AuthenticationPrincipal Jwt jwt
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ){
-        List<OfferDto> offerDtoList = offerService.findAllById(vibeId);
-
         UUID me = currentVibeId(jwt);
 
+        // canManage depends on the caller's vibe claim, so it is part of the tag
+        String etag = resourceVersionJdbcRepository.findOffersFingerprint(vibeId)
+                .map(f -> ETags.of("offers", vibeId.toString(), String.valueOf(me), f))
+                .orElse(null);
+        if (etag != null && ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
+
+        List<OfferDto> offerDtoList = offerService.findAllById(vibeId);
+
         List<OfferResponse> list = offerDtoList.stream()
                 .map(dto -> {
                     OfferResponse r = modelMapper.map(dto, OfferResponse.class);
@@ -57,7 +71,11 @@ public class OfferController {
                 })
                 .toList();
 
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(ETags.REVALIDATE)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(list);
     }
 
     @GetMapping("/{id}")
@@ -1,5 +1,6 @@
 package com.easylink.easylink.vibe_service.web.controller;
 
+import com.easylink.easylink.vibe_service.application.dto.MiniVibePage;
 import com.easylink.easylink.vibe_service.application.dto.VibeDto;
 import com.easylink.easylink.vibe_service.application.service.InteractionService;
 import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
@@ -8,6 +9,8 @@ import com.easylink.easylink.vibe_service.domain.model.SubscribeMode;
 import com.easylink.easylink.vibe_service.domain.model.Vibe;
 import com.easylink.easylink.vibe_service.infrastructure.repository.SpringDataInteraction;
 import com.easylink.easylink.vibe_service.infrastructure.repository.SpringDataVibeRepository;
+import com.easylink.easylink.vibe_service.infrastructure.security.ViewerContext;
+import com.easylink.easylink.vibe_service.web.dto.BulkRequestsRequest;
 import com.easylink.easylink.vibe_service.web.dto.PendingRequestResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -28,19 +31,36 @@ public class VibeAccessController {
     private final InteractionService interactionService;
     private final SpringDataVibeRepository springDataVibeRepository;
     private final SpringDataInteraction springDataInteraction;
+    private final ViewerContext viewerContext;
 
     @GetMapping("/{id}/subscribers")
     public ResponseEntity<List<VibeDto>> subscribers(
             @PathVariable UUID id,
             @AuthenticationPrincipal Jwt jwt
     ) {
+        checkSubscribersAccess(id, jwt);
+        return ResponseEntity.ok(interactionService.getSubscribers(id));
+    }
+
+    @GetMapping("/{id}/subscribers/page")
+    public ResponseEntity<MiniVibePage> subscribersPage(
+            @PathVariable UUID id,
+            @RequestParam(required = false) UUID after,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        checkSubscribersAccess(id, jwt);
+        return ResponseEntity.ok(interactionService.getSubscribersPage(id, after, limit));
+    }
+
+    private void checkSubscribersAccess(UUID id, Jwt jwt) {
         Vibe targetVibe = springDataVibeRepository
                 .findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Vibe not found"));
 
         // PUBLIC vibe (без approval) → видно всем
         if (targetVibe.getSubscribeMode() != SubscribeMode.APPROVAL) {
-            return ResponseEntity.ok(interactionService.getSubscribers(id));
+            return;
         }
 
         // PRIVATE (APPROVAL) → owner или approved subscriber
@@ -52,19 +72,16 @@ public class VibeAccessController {
 
         // owner
         if (targetVibe.getVibeAccountId().toString().equals(requesterUserId)) {
-            return ResponseEntity.ok(interactionService.getSubscribers(id));
+            return;
         }
 
         // subscriber: проверяем, что у текущего аккаунта есть APPROVED подписка на этот target vibe
-        UUID accountId;
-        try {
-            accountId = UUID.fromString(requesterUserId);
-        } catch (IllegalArgumentException e) {
+        if (viewerContext.accountId().isEmpty()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid subject");
         }
 
-        List<UUID> myVibeIds = springDataVibeRepository.findAliveIdsByVibeAccountId(accountId);
-        if (myVibeIds == null || myVibeIds.isEmpty()) {
+        List<UUID> myVibeIds = viewerContext.vibeIds();
+        if (myVibeIds.isEmpty()) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No access");
         }
 
@@ -78,8 +95,6 @@ public class VibeAccessController {
         if (!approved) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No access");
         }
-
-        return ResponseEntity.ok(interactionService.getSubscribers(id));
     }
 
     // остальное можешь оставить как было (requests/approve/reject/remove)
@@ -114,6 +129,37 @@ public class VibeAccessController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/{id}/requests/approve")
+    public ResponseEntity<List<UUID>> approveMany(
+            @PathVariable UUID id,
+            @RequestBody BulkRequestsRequest request,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        if (jwt == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        if (request.getInteractionIds() == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "interactionIds required");
+        return ResponseEntity.ok(interactionService.approveRequests(id, request.getInteractionIds(), jwt.getSubject()));
+    }
+
+    @PostMapping("/{id}/requests/approve-all")
+    public ResponseEntity<List<UUID>> approveAll(
+            @PathVariable UUID id,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        if (jwt == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        return ResponseEntity.ok(interactionService.approveRequests(id, null, jwt.getSubject()));
+    }
+
+    @PostMapping("/{id}/requests/reject")
+    public ResponseEntity<List<UUID>> rejectMany(
+            @PathVariable UUID id,
+            @RequestBody BulkRequestsRequest request,
+            @AuthenticationPrincipal Jwt jwt
+    ) {
+        if (jwt == null) throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized");
+        if (request.getInteractionIds() == null) throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "interactionIds required");
+        return ResponseEntity.ok(interactionService.rejectRequests(id, request.getInteractionIds(), jwt.getSubject()));
+    }
+
     @DeleteMapping("/{id}/subscribers/{subscriberVibeId}")
     public ResponseEntity<Void> removeSubscriber(
             @PathVariable UUID id,
@@ -1,16 +1,23 @@
 package com.easylink.easylink.vibe_service.web.controller;
 
+import com.easylink.easylink.vibe_service.application.dto.PublicVibeFingerprint;
 import com.easylink.easylink.vibe_service.application.dto.VibeDto;
 import com.easylink.easylink.vibe_service.application.port.in.vibe.GetVibeByIdUseCase;
+import com.easylink.easylink.vibe_service.infrastructure.repository.ResourceVersionJdbcRepository;
+import com.easylink.easylink.vibe_service.infrastructure.security.ViewerContext;
+import com.easylink.easylink.vibe_service.web.ETags;
 import com.easylink.easylink.vibe_service.web.dto.VibeResponse;
 import com.easylink.easylink.vibe_service.web.mapper.VibeResponseMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
 import java.util.UUID;
 
 @RestController
@@ -19,17 +26,36 @@ import java.util.UUID;
 public class VibePublicController {
 
     private final GetVibeByIdUseCase getVibeByIdUseCase;
+    private final ResourceVersionJdbcRepository resourceVersionJdbcRepository;
+    private final ViewerContext viewerContext;
 
     @Operation(summary = "Get public vibe", description = "Get public Vibe profile using ID")
     @GetMapping("/{id}")
     public ResponseEntity<VibeResponse> getById(
             @PathVariable UUID id,
-            @AuthenticationPrincipal Jwt jwt
+            @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
         String viewerAccountId = (jwt != null ? jwt.getSubject() : null);
 
-        VibeDto vibeDto = getVibeByIdUseCase.getPublicVibeById(id, viewerAccountId);
+        // the response depends on the viewer, so the viewer is part of the tag
+        Optional<UUID> viewer = viewerContext.accountId();
+        Optional<PublicVibeFingerprint> fingerprint =
+                resourceVersionJdbcRepository.findPublicVibeFingerprint(id, viewer.orElse(null));
+        String etag = fingerprint
+                .map(f -> ETags.of("vibe", id.toString(), viewer.map(UUID::toString).orElse(""), f.value()))
+                .orElse(null);
+        if (etag != null && ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(ETags.REVALIDATE).build();
+        }
 
-        return ResponseEntity.ok(VibeResponseMapper.toResponse(vibeDto));
+        // loaded no older than the fingerprint, so the body is never staler than its tag
+        VibeDto vibeDto = getVibeByIdUseCase.getPublicVibeById(id, viewerAccountId, fingerprint.orElse(null));
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(ETags.REVALIDATE)
+                .varyBy(HttpHeaders.AUTHORIZATION)
+                .body(VibeResponseMapper.toResponse(vibeDto));
     }
 }
\ No newline at end of file
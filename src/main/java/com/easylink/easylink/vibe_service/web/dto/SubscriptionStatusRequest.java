@@ -0,0 +1,15 @@
+package com.easylink.easylink.vibe_service.web.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+public class SubscriptionStatusRequest {
+    // optional; when absent, every live vibe of the caller's account counts as subscriber
+    private UUID subscriberVibeId;
+    private List<UUID> targetVibeIds;
+}
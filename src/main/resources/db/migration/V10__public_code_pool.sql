@@ -0,0 +1,37 @@
+-- pool of public codes: a row per code, free while vibe_id is null. slot is a random order fixed at seeding,
+-- so claims walk the free codes in an order that does not reveal which codes are taken.
+-- 4-digit codes are seeded here; longer lengths are seeded by the application when utilization crosses
+-- vibe.public-code.grow-threshold
+CREATE TABLE IF NOT EXISTS public_code (
+    code       VARCHAR(16) PRIMARY KEY,
+    length     SMALLINT    NOT NULL,
+    slot       BIGINT      NOT NULL,
+    vibe_id    UUID,
+    claimed_at TIMESTAMP
+);
+
+-- a vibe holds at most one code
+CREATE UNIQUE INDEX IF NOT EXISTS ux_public_code_vibe
+    ON public_code (vibe_id)
+    WHERE vibe_id IS NOT NULL;
+
+-- next free code of a length
+CREATE INDEX IF NOT EXISTS ix_public_code_free
+    ON public_code (length, slot)
+    WHERE vibe_id IS NULL;
+
+-- same rules as the old generator: no single repeated digit, no 1234
+INSERT INTO public_code (code, length, slot)
+SELECT g::text, 4, row_number() OVER (ORDER BY random())
+FROM generate_series(1000, 9999) g
+WHERE g::text !~ '^(.)\1*$'
+  AND g::text <> '1234'
+ON CONFLICT (code) DO NOTHING;
+
+-- codes of currently visible vibes stay with them; if a code was handed out twice, the latest holder keeps it
+INSERT INTO public_code (code, length, slot, vibe_id, claimed_at)
+SELECT DISTINCT ON (v.public_code) v.public_code, length(v.public_code), 0, v.id, coalesce(v.code_generated_at, now())
+FROM vibe v
+WHERE v.visible AND v.deleted_at IS NULL AND v.public_code IS NOT NULL
+ORDER BY v.public_code, v.code_generated_at DESC NULLS LAST
+ON CONFLICT (code) DO UPDATE SET vibe_id = excluded.vibe_id, claimed_at = excluded.claimed_at;
@@ -0,0 +1,38 @@
+-- per-length claimed/total counters, so a claim reads a few rows instead of counting the pool.
+-- Each length has STRIPES rows (PublicCodeJdbcRepository); claims and releases update the vibe's one so they
+-- do not all queue on a single row lock, and readers sum them
+CREATE TABLE IF NOT EXISTS public_code_length (
+    length  SMALLINT NOT NULL,
+    stripe  SMALLINT NOT NULL,
+    claimed BIGINT   NOT NULL DEFAULT 0,
+    total   BIGINT   NOT NULL DEFAULT 0,
+    PRIMARY KEY (length, stripe)
+);
+
+-- 5- and 6-digit codes (the default max-length) are seeded here rather than inside the claim that first
+-- needs them; longer lengths are seeded by PublicCodeSeedScheduler
+INSERT INTO public_code (code, length, slot)
+SELECT g::text, 5, row_number() OVER (ORDER BY random())
+FROM generate_series(10000, 99999) g
+WHERE g::text !~ '^(.)\1*$'
+  AND g::text <> '12345'
+ON CONFLICT (code) DO NOTHING;
+
+INSERT INTO public_code (code, length, slot)
+SELECT g::text, 6, row_number() OVER (ORDER BY random())
+FROM generate_series(100000, 999999) g
+WHERE g::text !~ '^(.)\1*$'
+  AND g::text <> '123456'
+ON CONFLICT (code) DO NOTHING;
+
+INSERT INTO public_code_length (length, stripe)
+SELECT l.length, s
+FROM (SELECT DISTINCT length FROM public_code) l, generate_series(0, 15) s
+ON CONFLICT (length, stripe) DO NOTHING;
+
+UPDATE public_code_length c
+SET claimed = x.claimed, total = x.total
+FROM (SELECT length, count(vibe_id) AS claimed, count(*) AS total
+      FROM public_code
+      GROUP BY length) x
+WHERE c.length = x.length AND c.stripe = 0;
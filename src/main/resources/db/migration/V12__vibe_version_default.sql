@@ -0,0 +1,3 @@
+-- vibe.version is never written through JPA; where Hibernate created the column (local schemas, tests) V9 found
+-- it already there without a default, and every vibe insert failed on NOT NULL
+ALTER TABLE vibe ALTER COLUMN version SET DEFAULT 0;
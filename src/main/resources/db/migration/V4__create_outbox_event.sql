@@ -0,0 +1,16 @@
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id           UUID PRIMARY KEY,
+    event_type   VARCHAR(64)  NOT NULL,
+    payload      TEXT         NOT NULL,
+    created_at   TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    published_at TIMESTAMPTZ,
+    locked_until TIMESTAMPTZ,
+    attempts     INTEGER      NOT NULL DEFAULT 0,
+    last_error   VARCHAR(500),
+    -- set once attempts run out; kept for inspection, never claimed again
+    dead_at      TIMESTAMPTZ
+);
+
+CREATE INDEX IF NOT EXISTS idx_outbox_event_pending
+    ON outbox_event (created_at)
+    WHERE published_at IS NULL AND dead_at IS NULL;
@@ -0,0 +1,7 @@
+-- unread counts and bulk "read all" (optionally bounded by created_at)
+CREATE INDEX IF NOT EXISTS idx_notification_user_read_created
+    ON notification (user_id, is_read, created_at);
+
+-- keyset feed: newest first, id as tie-breaker
+CREATE INDEX IF NOT EXISTS idx_notification_user_created_id
+    ON notification (user_id, created_at DESC, id DESC);
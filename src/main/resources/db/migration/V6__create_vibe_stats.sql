@@ -0,0 +1,29 @@
+-- maintained subscriber/following counts per vibe; recomputed from interaction by the reconciliation job
+CREATE TABLE IF NOT EXISTS vibe_stats (
+    vibe_id          UUID PRIMARY KEY,
+    subscriber_count BIGINT      NOT NULL DEFAULT 0,
+    following_count  BIGINT      NOT NULL DEFAULT 0,
+    updated_at       TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO vibe_stats (vibe_id, subscriber_count, following_count)
+SELECT v.id,
+       (SELECT count(*)
+          FROM interaction i
+          JOIN vibe sv ON sv.id = i.subscriber_vibe_id
+         WHERE i.target_vibe_id = v.id
+           AND i.interaction_type = 'SUBSCRIBE'
+           AND i.active
+           AND i.status = 'APPROVED'
+           AND sv.deleted_at IS NULL),
+       (SELECT count(*)
+          FROM interaction i
+          JOIN vibe tv ON tv.id = i.target_vibe_id
+         WHERE i.subscriber_vibe_id = v.id
+           AND i.interaction_type = 'SUBSCRIBE'
+           AND i.active
+           AND i.status = 'APPROVED'
+           AND tv.deleted_at IS NULL)
+FROM vibe v
+WHERE v.deleted_at IS NULL
+ON CONFLICT (vibe_id) DO NOTHING;
@@ -0,0 +1,38 @@
+-- one SUBSCRIBE row per (subscriber, target): keep the row that grants the most (active, then approved), then the newest id
+WITH ranked AS (
+    SELECT id,
+           row_number() OVER (
+               PARTITION BY subscriber_vibe_id, target_vibe_id
+               ORDER BY active DESC, (status = 'APPROVED') DESC, id DESC
+           ) AS rn
+    FROM interaction
+    WHERE interaction_type = 'SUBSCRIBE'
+)
+DELETE FROM interaction i
+USING ranked r
+WHERE i.id = r.id
+  AND r.rn > 1;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_interaction_subscribe_pair
+    ON interaction (subscriber_vibe_id, target_vibe_id, interaction_type)
+    WHERE interaction_type = 'SUBSCRIBE';
+
+-- duplicates were counted in vibe_stats
+UPDATE vibe_stats s
+SET subscriber_count = (SELECT count(*)
+                          FROM interaction i
+                          JOIN vibe sv ON sv.id = i.subscriber_vibe_id
+                         WHERE i.target_vibe_id = s.vibe_id
+                           AND i.interaction_type = 'SUBSCRIBE'
+                           AND i.active
+                           AND i.status = 'APPROVED'
+                           AND sv.deleted_at IS NULL),
+    following_count  = (SELECT count(*)
+                          FROM interaction i
+                          JOIN vibe tv ON tv.id = i.target_vibe_id
+                         WHERE i.subscriber_vibe_id = s.vibe_id
+                           AND i.interaction_type = 'SUBSCRIBE'
+                           AND i.active
+                           AND i.status = 'APPROVED'
+                           AND tv.deleted_at IS NULL),
+    updated_at       = now();
@@ -0,0 +1,52 @@
+-- Postgres does not index foreign keys on its own; every index below matches a query shape in
+-- SpringDataInteraction, SpringDataVibeRepository or the JDBC repositories.
+
+-- approved subscribers of a target: counts, lists, keyset pages (ordered by id) and "which of my vibes follow it"
+CREATE INDEX IF NOT EXISTS ix_interaction_approved_by_target
+    ON interaction (target_vibe_id, id)
+    INCLUDE (subscriber_vibe_id)
+    WHERE interaction_type = 'SUBSCRIBE' AND active AND status = 'APPROVED';
+
+-- approved followings of a subscriber: counts, lists and keyset pages
+CREATE INDEX IF NOT EXISTS ix_interaction_approved_by_subscriber
+    ON interaction (subscriber_vibe_id, id)
+    INCLUDE (target_vibe_id)
+    WHERE interaction_type = 'SUBSCRIBE' AND active AND status = 'APPROVED';
+
+-- pending access requests of a target, newest first; also the bulk approve/reject UPDATE
+CREATE INDEX IF NOT EXISTS ix_interaction_pending_by_target
+    ON interaction (target_vibe_id, created_at DESC)
+    INCLUDE (subscriber_vibe_id)
+    WHERE interaction_type = 'SUBSCRIBE' AND active AND status = 'PENDING';
+
+-- target-side mirror of ux_interaction_subscribe_pair: subscribers in any state (fan-out ordered by
+-- subscriber, active-subscriber lists, neighbours of a deleted vibe); active/status ride along for index-only scans
+CREATE INDEX IF NOT EXISTS ix_interaction_subscribe_by_target
+    ON interaction (target_vibe_id, subscriber_vibe_id)
+    INCLUDE (active, status)
+    WHERE interaction_type = 'SUBSCRIBE';
+
+-- non-subscribe interactions by subscriber (findAllBySubscriberVibe)
+CREATE INDEX IF NOT EXISTS ix_interaction_subscriber_type
+    ON interaction (subscriber_vibe_id, interaction_type);
+
+-- live vibes of an account; every entity query on vibe carries deleted_at IS NULL through @Where
+CREATE INDEX IF NOT EXISTS ix_vibe_account_alive
+    ON vibe (vibe_account_id)
+    INCLUDE (id)
+    WHERE deleted_at IS NULL;
+
+-- offers of a vibe, and live offers (end_time >= now()) for the following-with-offers feed
+CREATE INDEX IF NOT EXISTS ix_offer_vibe_end_time
+    ON offer (vibe_id, end_time);
+
+-- offers that ended since the last expiry sweep
+CREATE INDEX IF NOT EXISTS ix_offer_end_time
+    ON offer (end_time);
+
+-- fields and catalog items are always read per vibe
+CREATE INDEX IF NOT EXISTS ix_vibe_field_vibe
+    ON vibe_field (vibe_id);
+
+CREATE INDEX IF NOT EXISTS ix_item_vibe
+    ON item (vibe_id);
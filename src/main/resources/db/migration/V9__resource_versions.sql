@@ -0,0 +1,6 @@
+-- change counters behind the ETags of the public vibe, catalog and offer reads.
+-- item and offer are JPA @Version columns; vibe.version is bumped explicitly because field edits
+-- change what a vibe shows without touching its row
+ALTER TABLE vibe  ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE item  ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE offer ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
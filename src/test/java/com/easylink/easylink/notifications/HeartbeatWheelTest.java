@@ -0,0 +1,99 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.config.NotificationSseProperties.OverflowPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class HeartbeatWheelTest {
+
+    private static final Duration INTERVAL = Duration.ofMillis(200);
+
+    private final Map<SseConnection, AtomicInteger> visits = new ConcurrentHashMap<>();
+    private HeartbeatWheel wheel;
+
+    @AfterEach
+    void stop() {
+        if (wheel != null) wheel.stop();
+    }
+
+    private static SseConnection connection(String userId) {
+        return new SseConnection(userId, mock(SseEmitter.class), 8, OverflowPolicy.DROP_OLDEST, Runnable::run,
+                new SseConnection.Listener() {
+                    @Override
+                    public void onDrop(SseConnection connection, SseConnection.OfferResult reason) {
+                    }
+
+                    @Override
+                    public void onFailure(SseConnection connection) {
+                    }
+                });
+    }
+
+    private int visitsOf(SseConnection connection) {
+        AtomicInteger count = visits.get(connection);
+        return count == null ? 0 : count.get();
+    }
+
+    @Test
+    void everyConnectionIsVisitedOncePerTurn() throws InterruptedException {
+        wheel = new HeartbeatWheel(8, INTERVAL, c -> visits.computeIfAbsent(c, k -> new AtomicInteger()).incrementAndGet());
+        List<SseConnection> connections = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            SseConnection c = connection("user-" + i);
+            connections.add(c);
+            wheel.add(c);
+        }
+
+        TimeUnit.MILLISECONDS.sleep(INTERVAL.toMillis() * 5 / 2);
+
+        // about two and a half turns (20 ticks): each stream got two or three pings, give or take scheduler jitter,
+        // and never one per tick
+        for (SseConnection c : connections) {
+            assertThat(visitsOf(c)).isBetween(1, 4);
+        }
+    }
+
+    @Test
+    void removedConnectionsAreNoLongerVisited() throws InterruptedException {
+        wheel = new HeartbeatWheel(4, INTERVAL, c -> visits.computeIfAbsent(c, k -> new AtomicInteger()).incrementAndGet());
+        SseConnection kept = connection("kept");
+        SseConnection removed = connection("removed");
+        wheel.add(kept);
+        wheel.add(removed);
+        wheel.remove(removed);
+
+        TimeUnit.MILLISECONDS.sleep(INTERVAL.toMillis() * 2);
+
+        assertThat(visitsOf(kept)).isPositive();
+        assertThat(visitsOf(removed)).isZero();
+    }
+
+    @Test
+    void aFailingVisitDoesNotStopTheWheel() throws InterruptedException {
+        SseConnection failing = connection("failing");
+        SseConnection healthy = connection("healthy");
+        wheel = new HeartbeatWheel(2, INTERVAL, c -> {
+            visits.computeIfAbsent(c, k -> new AtomicInteger()).incrementAndGet();
+            if (c == failing) throw new IllegalStateException("emitter gone");
+        });
+        wheel.add(failing);
+        wheel.add(healthy);
+
+        TimeUnit.MILLISECONDS.sleep(INTERVAL.toMillis() * 3);
+
+        assertThat(visitsOf(failing)).isGreaterThan(1);
+        assertThat(visitsOf(healthy)).isGreaterThan(1);
+    }
+}
@@ -0,0 +1,325 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.config.NotificationSseProperties;
+import com.easylink.easylink.dtos.SseConnectedDto;
+import com.sun.management.UnixOperatingSystemMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.codec.CodecsAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.HttpHandlerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.ReactiveWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.WebFluxAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Memory and CPU of 10k idle notification streams on both stacks: the emitter hub on Tomcat as served today,
+ * and a per-user {@link Sinks.Many} stream with Flux heartbeats and a bounded back-pressure buffer on Netty.
+ * Each stack runs alone in this JVM; heap, direct memory and platform threads are read after a GC before and
+ * after the streams open, and process CPU over an idle window long enough for several heartbeat rounds.
+ * <p>
+ * The clients are raw NIO sockets on one selector thread in the same JVM. Their cost is the same for both
+ * stacks, so the difference between the two lines is the server's. Needs an open-file limit above twice the
+ * connection count; {@code -Dbenchmark.sse.connections} lowers the count.
+ */
+@Tag("benchmark")
+class IdleStreamBenchmarkTest {
+
+    private static final int CONNECTIONS = Integer.getInteger("benchmark.sse.connections", 10_000);
+    private static final Duration HEARTBEAT = Duration.ofSeconds(5);
+    private static final Duration IDLE = Duration.ofSeconds(30);
+    private static final Duration OPEN_TIMEOUT = Duration.ofSeconds(60);
+    private static final int QUEUE_CAPACITY = 64;
+    private static final double MB = 1024 * 1024;
+
+    private record Footprint(long heapBytes, long directBytes, int threads) {}
+
+    @BeforeAll
+    static void enoughFileDescriptors() {
+        if (ManagementFactory.getOperatingSystemMXBean() instanceof UnixOperatingSystemMXBean os) {
+            assumeTrue(os.getMaxFileDescriptorCount() > 2L * CONNECTIONS + 1_000,
+                    "open-file limit too low for " + CONNECTIONS + " client and server sockets; raise ulimit -n");
+        }
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({ServletWebServerFactoryAutoConfiguration.class, DispatcherServletAutoConfiguration.class,
+            WebMvcAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import({NotificationSseHub.class, StreamAdmission.class, EmitterStreams.class})
+    static class ServletStack {
+
+        @Bean
+        NotificationSseProperties notificationSseProperties() {
+            NotificationSseProperties properties = new NotificationSseProperties();
+            properties.setHeartbeatInterval(HEARTBEAT);
+            properties.setQueueCapacity(QUEUE_CAPACITY);
+            return properties;
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    // the production subscribe path without authentication and admission; admission would pace 10k opens over minutes
+    @RestController
+    static class EmitterStreams {
+
+        private final NotificationSseHub hub;
+
+        EmitterStreams(NotificationSseHub hub) {
+            this.hub = hub;
+        }
+
+        @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        SseEmitter stream(@RequestParam("user") String user) {
+            return hub.subscribe(user, new SseConnectedDto("ok", 0), null, (after, limit) -> List.of());
+        }
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({ReactiveWebServerFactoryAutoConfiguration.class, HttpHandlerAutoConfiguration.class,
+            WebFluxAutoConfiguration.class, CodecsAutoConfiguration.class, JacksonAutoConfiguration.class})
+    @Import(FluxStreams.class)
+    static class ReactiveStack {
+
+        // Tomcat is on the classpath as well and would be picked for the reactive server otherwise
+        @Bean
+        NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+            return new NettyReactiveWebServerFactory();
+        }
+    }
+
+    @RestController
+    static class FluxStreams {
+
+        private final Map<String, Sinks.Many<ServerSentEvent<Object>>> sinks = new ConcurrentHashMap<>();
+
+        @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+        Flux<ServerSentEvent<Object>> stream(@RequestParam("user") String user) {
+            Flux<ServerSentEvent<Object>> live = sinks
+                    .computeIfAbsent(user, u -> Sinks.many().multicast().directBestEffort())
+                    .asFlux()
+                    .onBackpressureBuffer(QUEUE_CAPACITY, dropped -> {}, BufferOverflowStrategy.DROP_OLDEST);
+            Flux<ServerSentEvent<Object>> pings = Flux.interval(HEARTBEAT)
+                    .map(i -> ServerSentEvent.<Object>builder("ok").event("ping").build())
+                    .onBackpressureDrop();
+
+            return Flux.concat(
+                            Flux.just(ServerSentEvent.<Object>builder(new SseConnectedDto("ok", 0)).event("connected").build()),
+                            Flux.merge(live, pings))
+                    .doFinally(signal -> sinks.remove(user));
+        }
+    }
+
+    @Test
+    void emitterStreamsOnTomcat() throws Exception {
+        measure("emitter / tomcat", new SpringApplicationBuilder(ServletStack.class)
+                .web(WebApplicationType.SERVLET)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--server.port=0", "--server.tomcat.max-connections=" + (CONNECTIONS + 1_000)));
+    }
+
+    @Test
+    void fluxStreamsOnNetty() throws Exception {
+        measure("flux / netty", new SpringApplicationBuilder(ReactiveStack.class)
+                .web(WebApplicationType.REACTIVE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run("--server.port=0"));
+    }
+
+    private void measure(String stack, ConfigurableApplicationContext context) throws Exception {
+        try (context; IdleClients clients = new IdleClients()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            Footprint before = footprint();
+
+            clients.open(port, CONNECTIONS);
+            Footprint open = footprint();
+
+            long cpuBefore = processCpuNanos();
+            long reads = clients.idle(IDLE);
+            long cpu = processCpuNanos() - cpuBefore;
+
+            double per10k = 10_000.0 / CONNECTIONS;
+            System.out.printf("%-28s %-36s %10.1f MB%n", "idle sse streams", stack + " heap per 10k",
+                    (open.heapBytes() - before.heapBytes()) * per10k / MB);
+            System.out.printf("%-28s %-36s %10.1f MB%n", "idle sse streams", stack + " direct per 10k",
+                    (open.directBytes() - before.directBytes()) * per10k / MB);
+            System.out.printf("%-28s %-36s %10d%n", "idle sse streams", stack + " added threads",
+                    open.threads() - before.threads());
+            System.out.printf("%-28s %-36s %10.1f ms/s%n", "idle sse streams", stack + " cpu per 10k",
+                    cpu / 1_000_000.0 / IDLE.toSeconds() * per10k);
+
+            assertThat(clients.answered()).isEqualTo(CONNECTIONS);
+            assertThat(clients.closed()).isZero();
+            // every stream got at least one heartbeat while idle
+            assertThat(reads).isGreaterThanOrEqualTo(CONNECTIONS);
+            // neither stack may park a thread per idle stream
+            assertThat(open.threads() - before.threads()).isLessThan(Math.max(50, CONNECTIONS / 100));
+        }
+    }
+
+    private static Footprint footprint() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(200);
+        }
+        long direct = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+        return new Footprint(ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed(), direct,
+                ManagementFactory.getThreadMXBean().getThreadCount());
+    }
+
+    private static long processCpuNanos() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+    }
+
+    // one selector thread reading and discarding everything; a stream counts as answered on a 200 response head
+    private static final class IdleClients implements AutoCloseable {
+
+        private static final byte[] OK = "HTTP/1.1 200".getBytes(StandardCharsets.US_ASCII);
+
+        private final Selector selector = Selector.open();
+        private final ByteBuffer buffer = ByteBuffer.allocate(16 * 1024);
+        private final List<SocketChannel> channels = new ArrayList<>();
+        private int answered;
+        private int closed;
+        private long reads;
+
+        IdleClients() throws IOException {
+        }
+
+        int answered() {
+            return answered;
+        }
+
+        int closed() {
+            return closed;
+        }
+
+        void open(int port, int count) throws IOException {
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+            for (int i = 0; i < count; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.write(ByteBuffer.wrap(("GET /stream?user=user-" + i + " HTTP/1.1\r\n"
+                        + "Host: localhost\r\nAccept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII)));
+                channel.configureBlocking(false);
+                channel.register(selector, SelectionKey.OP_READ);
+                channels.add(channel);
+                // opened in steps, so a stack that stalls shows up as a timeout instead of a connect backlog
+                if ((i + 1) % 500 == 0) pumpUntil(() -> answered >= channels.size(), OPEN_TIMEOUT);
+            }
+            pumpUntil(() -> answered >= count, OPEN_TIMEOUT);
+        }
+
+        // keeps reading for the whole window; returns how many reads the heartbeats caused
+        long idle(Duration window) throws IOException {
+            long before = reads;
+            pumpUntil(() -> false, window);
+            return reads - before;
+        }
+
+        private void pumpUntil(BooleanSupplier done, Duration timeout) throws IOException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (!done.getAsBoolean() && System.nanoTime() < deadline) {
+                if (selector.select(100) == 0) continue;
+                for (SelectionKey key : selector.selectedKeys()) {
+                    SocketChannel channel = (SocketChannel) key.channel();
+                    buffer.clear();
+                    int read;
+                    try {
+                        read = channel.read(buffer);
+                    } catch (IOException e) {
+                        read = -1;
+                    }
+                    if (read < 0) {
+                        key.cancel();
+                        channel.close();
+                        closed++;
+                        continue;
+                    }
+                    reads++;
+                    if (key.attachment() == null) {
+                        key.attach(Boolean.TRUE);
+                        if (!startsWithOk()) {
+                            throw new IllegalStateException("Stream rejected: "
+                                    + new String(buffer.array(), 0, Math.min(buffer.position(), 200), StandardCharsets.US_ASCII));
+                        }
+                        answered++;
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        }
+
+        private boolean startsWithOk() {
+            if (buffer.position() < OK.length) return false;
+            for (int i = 0; i < OK.length; i++) {
+                if (buffer.get(i) != OK[i]) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (SocketChannel channel : channels) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+            }
+            selector.close();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.notifications.SseConnection.OutboundEvent;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplayBufferTest {
+
+    private static OutboundEvent event(long id) {
+        return new OutboundEvent(id, "notification.created", "n" + id);
+    }
+
+    @Test
+    void replaysOnlyEventsAfterLastEventId() {
+        ReplayBuffer buffer = new ReplayBuffer(10, 100);
+        buffer.add(event(101));
+        buffer.add(event(102));
+        buffer.add(event(103));
+
+        assertThat(buffer.after(101)).extracting(OutboundEvent::id).containsExactly(102L, 103L);
+        assertThat(buffer.after(103)).isEmpty();
+    }
+
+    @Test
+    void lastEventIdAtTheStartOfCoverageIsStillServed() {
+        ReplayBuffer buffer = new ReplayBuffer(10, 100);
+        buffer.add(event(101));
+
+        assertThat(buffer.after(100)).extracting(OutboundEvent::id).containsExactly(101L);
+    }
+
+    @Test
+    void returnsNullOnceEvictionPassedLastEventId() {
+        ReplayBuffer buffer = new ReplayBuffer(2, 100);
+        buffer.add(event(101));
+        buffer.add(event(102));
+        buffer.add(event(103));
+
+        // 101 was evicted, so a client that saw only 100 may have missed it
+        assertThat(buffer.after(100)).isNull();
+        assertThat(buffer.after(101)).extracting(OutboundEvent::id).containsExactly(102L, 103L);
+    }
+
+    @Test
+    void idsBeforeTheBufferWasCreatedGoToTheDatabase() {
+        ReplayBuffer buffer = new ReplayBuffer(10, 100);
+
+        assertThat(buffer.after(99)).isNull();
+    }
+
+    @Test
+    void eventIdsRoundTripAtMicrosecondPrecision() {
+        OffsetDateTime createdAt = OffsetDateTime.of(2026, 3, 1, 12, 0, 0, 123_456_000, ZoneOffset.UTC);
+
+        long id = NotificationSseHub.toEventId(createdAt);
+
+        assertThat(NotificationSseHub.toTime(id)).isEqualTo(createdAt);
+        // rows one microsecond apart get distinct, ordered ids
+        assertThat(NotificationSseHub.toEventId(createdAt.plus(1, ChronoUnit.MICROS))).isEqualTo(id + 1);
+    }
+}
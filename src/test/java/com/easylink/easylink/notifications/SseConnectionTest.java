@@ -0,0 +1,146 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.config.NotificationSseProperties.OverflowPolicy;
+import com.easylink.easylink.dtos.UnreadDeltaDto;
+import com.easylink.easylink.notifications.SseConnection.OfferResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class SseConnectionTest {
+
+    // runs writer tasks only when asked, so events pile up in the queue like behind a slow client
+    private final List<Runnable> writerTasks = new ArrayList<>();
+    private final List<OfferResult> drops = new ArrayList<>();
+    private final List<SseConnection> failures = new ArrayList<>();
+    private final SseEmitter emitter = mock(SseEmitter.class);
+
+    private final SseConnection.Listener listener = new SseConnection.Listener() {
+        @Override
+        public void onDrop(SseConnection connection, OfferResult reason) {
+            drops.add(reason);
+        }
+
+        @Override
+        public void onFailure(SseConnection connection) {
+            failures.add(connection);
+        }
+    };
+
+    private SseConnection connection(int capacity, OverflowPolicy policy) {
+        return new SseConnection("user-1", emitter, capacity, policy, writerTasks::add, listener);
+    }
+
+    private void runWriter() {
+        List<Runnable> tasks = List.copyOf(writerTasks);
+        writerTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    @Test
+    void queuesWithinCapacityAndStartsOneWriter() throws IOException {
+        SseConnection c = connection(3, OverflowPolicy.DROP_OLDEST);
+
+        assertThat(c.offer("a", "1")).isEqualTo(OfferResult.QUEUED);
+        assertThat(c.offer("b", "2")).isEqualTo(OfferResult.QUEUED);
+
+        assertThat(c.depth()).isEqualTo(2);
+        assertThat(writerTasks).hasSize(1);
+
+        runWriter();
+        assertThat(c.depth()).isZero();
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        assertThat(drops).isEmpty();
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestEvents() {
+        SseConnection c = connection(2, OverflowPolicy.DROP_OLDEST);
+
+        c.offer("a", "1");
+        c.offer("b", "2");
+        assertThat(c.offer("c", "3")).isEqualTo(OfferResult.DROPPED);
+
+        assertThat(c.depth()).isEqualTo(2);
+        assertThat(drops).containsExactly(OfferResult.DROPPED);
+        assertThat(c.isClosed()).isFalse();
+    }
+
+    @Test
+    void coalesceUnreadMergesPendingDeltas() {
+        SseConnection c = connection(2, OverflowPolicy.COALESCE_UNREAD);
+
+        c.offer(SseConnection.UNREAD_CHANGED, new UnreadDeltaDto(1));
+        c.offer("notification", "n1");
+        assertThat(c.offer(SseConnection.UNREAD_CHANGED, new UnreadDeltaDto(2))).isEqualTo(OfferResult.COALESCED);
+
+        // the old delta was folded into the new one, so the queue did not grow
+        assertThat(c.depth()).isEqualTo(2);
+        assertThat(drops).containsExactly(OfferResult.COALESCED);
+    }
+
+    @Test
+    void coalesceUnreadDropsOldestWhenNothingCanBeMerged() {
+        SseConnection c = connection(2, OverflowPolicy.COALESCE_UNREAD);
+
+        c.offer("notification", "n1");
+        c.offer("notification", "n2");
+        assertThat(c.offer(SseConnection.UNREAD_CHANGED, new UnreadDeltaDto(1))).isEqualTo(OfferResult.DROPPED);
+        assertThat(c.offer("notification", "n3")).isEqualTo(OfferResult.DROPPED);
+
+        assertThat(c.depth()).isEqualTo(2);
+    }
+
+    @Test
+    void disconnectClosesTheStreamOnOverflow() {
+        SseConnection c = connection(1, OverflowPolicy.DISCONNECT);
+
+        c.offer("a", "1");
+        assertThat(c.offer("b", "2")).isEqualTo(OfferResult.OVERFLOW_DISCONNECT);
+
+        assertThat(c.isClosed()).isTrue();
+        assertThat(c.depth()).isZero();
+        verify(emitter).complete();
+        assertThat(c.offer("c", "3")).isEqualTo(OfferResult.DROPPED);
+    }
+
+    @Test
+    void failedWriteClosesAndReportsOnce() throws IOException {
+        doThrow(new IOException("broken pipe")).when(emitter).send(any(SseEmitter.SseEventBuilder.class));
+        SseConnection c = connection(4, OverflowPolicy.DROP_OLDEST);
+
+        c.offer("a", "1");
+        c.offer("b", "2");
+        runWriter();
+
+        assertThat(c.isClosed()).isTrue();
+        assertThat(c.depth()).isZero();
+        assertThat(failures).containsExactly(c);
+        verify(emitter, times(1)).send(any(SseEmitter.SseEventBuilder.class));
+    }
+
+    @Test
+    void writerRestartsAfterTheQueueEmptied() throws IOException {
+        SseConnection c = connection(4, OverflowPolicy.DROP_OLDEST);
+
+        c.offer("a", "1");
+        runWriter();
+        c.offer("b", "2");
+
+        assertThat(writerTasks).hasSize(1);
+        runWriter();
+        verify(emitter, times(2)).send(any(SseEmitter.SseEventBuilder.class));
+        verify(emitter, never()).complete();
+    }
+}
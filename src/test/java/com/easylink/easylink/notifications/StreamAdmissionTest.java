@@ -0,0 +1,87 @@
+package com.easylink.easylink.notifications;
+
+import com.easylink.easylink.config.NotificationSseProperties;
+import com.easylink.easylink.exceptions.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StreamAdmissionTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private StreamAdmission admission(double rate, int burst) {
+        NotificationSseProperties properties = new NotificationSseProperties();
+        properties.setAdmissionRate(rate);
+        properties.setAdmissionBurst(burst);
+        properties.setReconnectDelay(Duration.ofSeconds(1));
+        properties.setReconnectJitter(Duration.ofSeconds(15));
+        return new StreamAdmission(properties, meterRegistry);
+    }
+
+    private double rejected() {
+        return meterRegistry.counter("notifications.sse.admission.rejected").count();
+    }
+
+    @Test
+    void admitsTheBurstThenRejects() {
+        StreamAdmission admission = admission(0.001, 3);
+
+        admission.acquire();
+        admission.acquire();
+        admission.acquire();
+
+        assertThatThrownBy(admission::acquire).isInstanceOf(RateLimitExceededException.class);
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        StreamAdmission admission = admission(50, 1);
+        admission.acquire();
+        assertThatThrownBy(admission::acquire).isInstanceOf(RateLimitExceededException.class);
+
+        // 50/s is one token every 20 ms
+        TimeUnit.MILLISECONDS.sleep(60);
+
+        admission.acquire();
+    }
+
+    @Test
+    void refillNeverExceedsTheBurst() throws InterruptedException {
+        StreamAdmission admission = admission(20, 2);
+        // four tokens' worth of idle time, but only two fit
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        admission.acquire();
+        admission.acquire();
+        assertThatThrownBy(admission::acquire).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void rejectsEverythingOnceDraining() {
+        StreamAdmission admission = admission(100, 10);
+        admission.stopAccepting();
+
+        assertThatThrownBy(admission::acquire)
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(rejected()).isEqualTo(1);
+    }
+
+    @Test
+    void reconnectDelayStaysWithinBasePlusJitter() {
+        StreamAdmission admission = admission(100, 10);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(admission.reconnectDelayMillis()).isBetween(1000L, 16000L);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.easylink.easylink.outbox;
+
+import com.easylink.easylink.support.PostgresTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresTest
+@Import(OutboxRepository.class)
+class OutboxRepositoryTest {
+
+    private static final Duration LEASE = Duration.ofSeconds(30);
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private OutboxRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void emptyOutbox() {
+        jdbcTemplate.update("delete from outbox_event");
+    }
+
+    private UUID append(String type) {
+        UUID id = UUID.randomUUID();
+        repository.insert(id, type, "{}");
+        return id;
+    }
+
+    // as if the lease (or the retry backoff) ran out
+    private void expireLease(UUID id) {
+        jdbcTemplate.update("update outbox_event set locked_until = now() - interval '1 second' where id = ?", id);
+    }
+
+    private List<UUID> claim(int limit) {
+        return repository.claimBatch(limit, MAX_ATTEMPTS, LEASE).stream().map(OutboxEvent::id).toList();
+    }
+
+    @Test
+    void claimsOldestFirstAndCountsTheAttempt() {
+        UUID first = append("a");
+        jdbcTemplate.update("update outbox_event set created_at = now() - interval '1 minute' where id = ?", first);
+        UUID second = append("b");
+
+        List<OutboxEvent> claimed = repository.claimBatch(10, MAX_ATTEMPTS, LEASE);
+
+        assertThat(claimed).extracting(OutboxEvent::id).containsExactly(first, second);
+        assertThat(claimed).extracting(OutboxEvent::attempts).containsOnly(1);
+    }
+
+    @Test
+    void aLeasedEventIsNotClaimedAgainUntilTheLeaseExpires() {
+        UUID id = append("a");
+        assertThat(claim(10)).containsExactly(id);
+
+        assertThat(claim(10)).isEmpty();
+
+        expireLease(id);
+        assertThat(repository.claimBatch(10, MAX_ATTEMPTS, LEASE))
+                .singleElement()
+                .satisfies(e -> assertThat(e.attempts()).isEqualTo(2));
+    }
+
+    @Test
+    void aFailedEventWaitsForItsBackoff() {
+        UUID id = append("a");
+        claim(10);
+
+        repository.markFailed(id, "boom", Duration.ofMinutes(5));
+
+        assertThat(claim(10)).isEmpty();
+        OffsetDateTime retryAt = jdbcTemplate.queryForObject(
+                "select locked_until from outbox_event where id = ?", OffsetDateTime.class, id);
+        assertThat(retryAt).isAfter(OffsetDateTime.now().plusMinutes(4));
+        assertThat(jdbcTemplate.queryForObject("select last_error from outbox_event where id = ?", String.class, id))
+                .isEqualTo("boom");
+
+        expireLease(id);
+        assertThat(claim(10)).containsExactly(id);
+    }
+
+    @Test
+    void eventsOutOfAttemptsAreNotClaimed() {
+        UUID id = append("a");
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            assertThat(claim(10)).containsExactly(id);
+            expireLease(id);
+        }
+
+        assertThat(claim(10)).isEmpty();
+    }
+
+    @Test
+    void deadAndPublishedEventsAreNeverClaimed() {
+        UUID dead = append("a");
+        UUID published = append("b");
+        claim(10);
+
+        repository.markDead(dead, "x".repeat(600));
+        repository.markPublished(published);
+        expireLease(dead);
+        expireLease(published);
+
+        assertThat(claim(10)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("select length(last_error) from outbox_event where id = ?", Integer.class, dead))
+                .isEqualTo(500);
+    }
+
+    @Test
+    void publishedEventsAreDeletedAfterTheCutoff() {
+        UUID published = append("a");
+        UUID pending = append("b");
+        claim(10);
+        repository.markPublished(published);
+
+        assertThat(repository.deletePublishedBefore(OffsetDateTime.now().plusSeconds(1))).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from outbox_event where id = ?", Integer.class, pending))
+                .isEqualTo(1);
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentRelaysLeaseDisjointBatches() throws Exception {
+        for (int i = 0; i < 20; i++) append("e" + i);
+
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+
+        try (ExecutorService relays = Executors.newFixedThreadPool(2)) {
+            // the first relay keeps its transaction (and row locks) open while the second one polls
+            Future<List<UUID>> first = relays.submit(() -> tx.execute(status -> {
+                List<UUID> ids = claim(10);
+                firstClaimed.countDown();
+                await(secondDone);
+                return ids;
+            }));
+            Future<List<UUID>> second = relays.submit(() -> {
+                await(firstClaimed);
+                List<UUID> ids = tx.execute(status -> claim(10));
+                secondDone.countDown();
+                return ids;
+            });
+
+            List<UUID> a = first.get(30, TimeUnit.SECONDS);
+            List<UUID> b = second.get(30, TimeUnit.SECONDS);
+            assertThat(a).hasSize(10);
+            assertThat(b).hasSize(10).doesNotContainAnyElementsOf(a);
+        } finally {
+            jdbcTemplate.update("delete from outbox_event");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(30, TimeUnit.SECONDS)) throw new IllegalStateException("latch not released");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.easylink.easylink.repositories;
+
+import com.easylink.easylink.support.PostgresTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresTest
+@Import(NotificationJdbcRepository.class)
+class NotificationJdbcRepositoryTest {
+
+    @Autowired
+    private NotificationJdbcRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final OffsetDateTime now = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @Test
+    void insertsOneRowPerUser() {
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        List<UUID> inserted = repository.insertMissing(ids, List.of("u1", "u2"), "OFFER", "t", "b", "/x", now);
+
+        assertThat(inserted).containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(jdbcTemplate.queryForList("select user_id from notification where id in (?, ?)", String.class,
+                ids.get(0), ids.get(1)))
+                .containsExactlyInAnyOrder("u1", "u2");
+    }
+
+    @Test
+    void aRedeliveredBatchInsertsOnlyWhatIsMissing() {
+        UUID delivered = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        repository.insertMissing(List.of(delivered), List.of("u1"), "OFFER", "t", "b", null, now);
+
+        List<UUID> inserted = repository.insertMissing(List.of(delivered, missing), List.of("u1", "u2"),
+                "OFFER", "t", "b", null, now);
+
+        // only the new row counts towards unread counters and SSE pushes
+        assertThat(inserted).containsExactly(missing);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from notification where id in (?, ?)", Integer.class,
+                delivered, missing)).isEqualTo(2);
+    }
+
+    @Test
+    void emptyInputIsNotSent() {
+        assertThat(repository.insertMissing(List.of(), List.of(), "OFFER", "t", "b", null, now)).isEmpty();
+    }
+}
@@ -0,0 +1,132 @@
+package com.easylink.easylink.services;
+
+import com.easylink.easylink.dtos.NotificationDto;
+import com.easylink.easylink.notifications.NotificationSseHub;
+import com.easylink.easylink.notifications.RedisUnreadCounter;
+import com.easylink.easylink.repositories.NotificationJdbcRepository;
+import com.easylink.easylink.support.PostgresTest;
+import com.easylink.easylink.support.Timing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Notification feed of a user with 100k notifications, next to 100k rows of other users. A keyset page at
+ * the far end of the feed must cost about the same as the first page; OFFSET paging to the same depth is
+ * reported as the baseline it replaced. Also times read-all as a single UPDATE over all 100k rows.
+ */
+@PostgresTest
+@Tag("benchmark")
+@Import({NotificationJdbcRepository.class, NotificationService.class})
+class NotificationFeedBenchmarkTest {
+
+    private static final int NOTIFICATIONS = 100_000;
+    private static final int PAGE = 20;
+    private static final String USER = "feed-benchmark-user";
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Collaborators {
+
+        @Bean
+        NotificationSseHub notificationSseHub() {
+            return mock(NotificationSseHub.class, withSettings().stubOnly());
+        }
+
+        @Bean
+        RedisUnreadCounter redisUnreadCounter() {
+            return mock(RedisUnreadCounter.class, withSettings().stubOnly());
+        }
+    }
+
+    private record Cursor(OffsetDateTime createdAt, UUID id) {}
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                insert into notification (id, user_id, type, title, body, is_read, created_at)
+                select gen_random_uuid(), ?, 'OFFER', 'offer ' || g, 'body', false, now() - g * interval '1 second'
+                from generate_series(1, ?) g
+                """, USER, NOTIFICATIONS);
+        jdbcTemplate.update("""
+                insert into notification (id, user_id, type, title, body, is_read, created_at)
+                select gen_random_uuid(), 'feed-other-' || (g % 1000), 'OFFER', 'offer ' || g, 'body', g % 3 = 0,
+                       now() - g * interval '1 second'
+                from generate_series(1, ?) g
+                """, NOTIFICATIONS);
+        jdbcTemplate.execute("analyze notification");
+    }
+
+    // the (createdAt, id) of the row a client would hold after paging down to the given depth
+    private Cursor cursorAt(int depth) {
+        return jdbcTemplate.queryForObject("""
+                select created_at, id from notification
+                where user_id = ?
+                order by created_at desc, id desc
+                offset ? limit 1
+                """, (rs, i) -> new Cursor(rs.getObject("created_at", OffsetDateTime.class),
+                rs.getObject("id", UUID.class)), USER, depth - 1);
+    }
+
+    private List<UUID> offsetPage(int offset) {
+        return jdbcTemplate.queryForList("""
+                select id from notification
+                where user_id = ?
+                order by created_at desc, id desc
+                offset ? limit ?
+                """, UUID.class, USER, offset, PAGE);
+    }
+
+    @Test
+    void deepKeysetPagesCostAboutTheSameAsTheFirstPage() {
+        int depth = NOTIFICATIONS - PAGE;
+        Cursor deep = cursorAt(depth);
+
+        Duration first = Timing.median(21, run ->
+                assertThat(notificationService.list(USER, PAGE, null, null)).hasSize(PAGE));
+        Duration keyset = Timing.median(21, run -> {
+            List<NotificationDto> page = notificationService.list(USER, PAGE, deep.createdAt(), deep.id());
+            assertThat(page).hasSize(PAGE);
+            assertThat(page.get(0).getCreatedAt()).isBeforeOrEqualTo(deep.createdAt());
+        });
+        Duration offset = Timing.median(5, run -> assertThat(offsetPage(depth)).hasSize(PAGE));
+
+        Timing.report("notification feed", "first page", first);
+        Timing.report("notification feed", "keyset page at " + depth, keyset);
+        Timing.report("notification feed", "offset page at " + depth + " (old)", offset);
+
+        assertThat(keyset).isLessThan(offset);
+        assertThat(keyset).isLessThan(first.multipliedBy(5).plusMillis(2));
+    }
+
+    @Test
+    void readAllIsOneUpdateOverTheWholeFeed() {
+        long start = System.nanoTime();
+        int updated = notificationService.markAllRead(USER, null);
+        Duration readAll = Duration.ofNanos(System.nanoTime() - start);
+
+        Timing.report("notification feed", "read all " + NOTIFICATIONS, readAll);
+        assertThat(updated).isEqualTo(NOTIFICATIONS);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from notification where user_id = ? and not is_read", Long.class, USER)).isZero();
+    }
+}
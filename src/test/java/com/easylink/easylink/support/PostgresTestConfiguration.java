@@ -0,0 +1,36 @@
+package com.easylink.easylink.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+
+@TestConfiguration(proxyBeanMethods = false)
+public class PostgresTestConfiguration {
+
+    @Bean
+    @ServiceConnection
+    PostgreSQLContainer<?> postgres() {
+        return new PostgreSQLContainer<>("postgres:16-alpine");
+    }
+
+    /**
+     * The base schema comes from the entities, as it did in production, so the migrations run after Hibernate.
+     * V2 (seed questions) and V3 (a column the entity already has) predate that split and are baselined away.
+     */
+    @Bean
+    MigrateResult migrations(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("3")
+                .load()
+                .migrate();
+    }
+}
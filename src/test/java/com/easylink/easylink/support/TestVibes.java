@@ -0,0 +1,30 @@
+package com.easylink.easylink.support;
+
+import com.easylink.easylink.vibe_service.domain.model.SubscribeMode;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+// vibe rows written straight to the table, with only the columns the queries under test read
+public final class TestVibes {
+
+    private TestVibes() {
+    }
+
+    public static UUID insert(JdbcTemplate jdbcTemplate, SubscribeMode subscribeMode) {
+        return insert(jdbcTemplate, UUID.randomUUID(), subscribeMode);
+    }
+
+    public static UUID insert(JdbcTemplate jdbcTemplate, UUID accountId, SubscribeMode subscribeMode) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                insert into vibe (id, vibe_account_id, name, type, visible, privacy, subscribe_mode)
+                values (?, ?, ?, 'PERSONAL', true, 'PUBLIC', ?)
+                """, id, accountId, "vibe-" + id.toString().substring(0, 8), subscribeMode.name());
+        return id;
+    }
+
+    public static void delete(JdbcTemplate jdbcTemplate, UUID vibeId) {
+        jdbcTemplate.update("update vibe set deleted_at = now() where id = ?", vibeId);
+    }
+}
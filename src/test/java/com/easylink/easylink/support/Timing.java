@@ -0,0 +1,32 @@
+package com.easylink.easylink.support;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+// wall-clock timing for the @Tag("benchmark") tests: one warm-up run, then the median of the measured runs
+public final class Timing {
+
+    private Timing() {
+    }
+
+    /**
+     * Runs {@code action} once to warm up, then {@code runs} more times; the run number (0 for the warm-up) is
+     * passed in so each run can use fresh keys.
+     */
+    public static Duration median(int runs, IntConsumer action) {
+        action.accept(0);
+        long[] nanos = new long[runs];
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            action.accept(i + 1);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return Duration.ofNanos(nanos[runs / 2]);
+    }
+
+    public static void report(String benchmark, String label, Duration median) {
+        System.out.printf("%-28s %-36s %10.3f ms%n", benchmark, label, median.toNanos() / 1_000_000.0);
+    }
+}
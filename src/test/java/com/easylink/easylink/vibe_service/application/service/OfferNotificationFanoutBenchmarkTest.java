@@ -0,0 +1,122 @@
+package com.easylink.easylink.vibe_service.application.service;
+
+import com.easylink.easylink.notifications.NotificationSseHub;
+import com.easylink.easylink.notifications.RedisUnreadCounter;
+import com.easylink.easylink.repositories.NotificationJdbcRepository;
+import com.easylink.easylink.services.NotificationService;
+import com.easylink.easylink.support.PostgresTest;
+import com.easylink.easylink.support.Timing;
+import com.easylink.easylink.vibe_service.application.port.out.InteractionRepositoryPort;
+import com.easylink.easylink.vibe_service.infrastructure.repository.JpaInteractionRepositoryAdapter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Offer fan-out at 10k and 100k subscribers: keyset chunks of subscriber accounts, one insert per chunk.
+ * Checks that the cost per subscriber stays flat as the audience grows; also reports a redelivered fan-out,
+ * which reads every chunk again but inserts nothing.
+ */
+@PostgresTest
+@Tag("benchmark")
+@Import({JpaInteractionRepositoryAdapter.class, NotificationJdbcRepository.class, NotificationService.class})
+class OfferNotificationFanoutBenchmarkTest {
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Collaborators {
+
+        // stub-only: a fan-out calls them once per recipient, and recorded invocations would dominate the timing
+        @Bean
+        NotificationSseHub notificationSseHub() {
+            return mock(NotificationSseHub.class, withSettings().stubOnly());
+        }
+
+        @Bean
+        RedisUnreadCounter redisUnreadCounter() {
+            return mock(RedisUnreadCounter.class, withSettings().stubOnly());
+        }
+    }
+
+    @Autowired
+    private InteractionRepositoryPort interactionRepositoryPort;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // a target vibe with one approved subscriber vibe per account
+    private UUID seedAudience(int subscribers) {
+        UUID target = UUID.randomUUID();
+        String prefix = "fanout-" + target.toString().substring(0, 8) + "-";
+        jdbcTemplate.update("""
+                insert into vibe (id, vibe_account_id, name, type, visible, privacy, subscribe_mode)
+                values (?, ?, 'fanout-target', 'PERSONAL', true, 'PUBLIC', 'OPEN')
+                """, target, UUID.randomUUID());
+        jdbcTemplate.update("""
+                insert into vibe (id, vibe_account_id, name, type, visible, privacy, subscribe_mode)
+                select gen_random_uuid(), gen_random_uuid(), ? || g, 'PERSONAL', true, 'PUBLIC', 'OPEN'
+                from generate_series(1, ?) g
+                """, prefix, subscribers);
+        jdbcTemplate.update("""
+                insert into interaction (id, subscriber_vibe_id, target_vibe_id, interaction_type, anonymous,
+                                         active, status, created_at)
+                select gen_random_uuid(), v.id, ?, 'SUBSCRIBE', false, true, 'APPROVED', now()
+                from vibe v
+                where v.name like ? || '%'
+                """, target, prefix);
+        jdbcTemplate.execute("analyze vibe, interaction, notification");
+        return target;
+    }
+
+    @Test
+    void perSubscriberCostStaysFlatFromTenToAHundredThousand() {
+        OfferNotificationFanout fanout = new OfferNotificationFanout(
+                interactionRepositoryPort, notificationService, new SimpleMeterRegistry(), 1000);
+
+        double[] nanosPerSubscriber = new double[2];
+        int[] sizes = {10_000, 100_000};
+        for (int s = 0; s < sizes.length; s++) {
+            int subscribers = sizes[s];
+            UUID vibe = seedAudience(subscribers);
+            List<UUID> events = new ArrayList<>();
+            List<Long> notified = new ArrayList<>();
+
+            Duration first = Timing.median(3, run -> {
+                UUID eventId = UUID.randomUUID();
+                events.add(eventId);
+                notified.add(fanout.fanOut(eventId, vibe, "OFFER", "New offer", "body", "/offers/x"));
+            });
+            assertThat(notified).containsOnly((long) subscribers);
+
+            // the outbox redelivers the same event after a crash; every row is already there
+            UUID delivered = events.get(events.size() - 1);
+            Duration redelivery = Timing.median(3, run ->
+                    assertThat(fanout.fanOut(delivered, vibe, "OFFER", "New offer", "body", "/offers/x")).isZero());
+
+            Timing.report("offer fan-out", subscribers + " subscribers", first);
+            Timing.report("offer fan-out", subscribers + " subscribers, redelivered", redelivery);
+            nanosPerSubscriber[s] = (double) first.toNanos() / subscribers;
+        }
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from notification", Long.class))
+                .isGreaterThanOrEqualTo(4L * (sizes[0] + sizes[1]));
+        // keyset chunks: ten times the audience, roughly ten times the work; offset paging would grow quadratically
+        assertThat(nanosPerSubscriber[1]).isLessThan(nanosPerSubscriber[0] * 3);
+    }
+}
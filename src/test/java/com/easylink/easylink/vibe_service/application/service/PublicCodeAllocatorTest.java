@@ -0,0 +1,161 @@
+package com.easylink.easylink.vibe_service.application.service;
+
+import com.easylink.easylink.vibe_service.application.port.out.PublicCodePoolPort;
+import com.easylink.easylink.vibe_service.application.port.out.PublicCodePoolPort.Utilization;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PublicCodeAllocatorTest {
+
+    private final PublicCodePoolPort pool = mock(PublicCodePoolPort.class);
+    private final PublicCodeAllocator allocator = new PublicCodeAllocator(pool, 4, 6, 0.8);
+    private final UUID vibeId = UUID.randomUUID();
+
+    private void utilization(int length, long claimed, long total) {
+        when(pool.utilization(length)).thenReturn(new Utilization(claimed, total));
+    }
+
+    @Test
+    void claimsFromTheShortestLengthBelowTheThreshold() {
+        utilization(4, 7000, 8989);
+        when(pool.claim(vibeId, 4)).thenReturn(Optional.of("4821"));
+
+        assertThat(allocator.claim(vibeId)).isEqualTo("4821");
+        verify(pool, never()).claim(any(), eq(5));
+    }
+
+    @Test
+    void movesToTheNextLengthOnceTheThresholdIsReached() {
+        utilization(4, 7200, 8989);
+        utilization(5, 10, 89990);
+        when(pool.claim(vibeId, 5)).thenReturn(Optional.of("50417"));
+
+        assertThat(allocator.claim(vibeId)).isEqualTo("50417");
+        verify(pool, never()).claim(any(), eq(4));
+    }
+
+    @Test
+    void theLongestLengthIsUsedUpToTheLastCode() {
+        utilization(4, 8989, 8989);
+        utilization(5, 89990, 89990);
+        utilization(6, 899_980, 899_990);
+        when(pool.claim(vibeId, 6)).thenReturn(Optional.of("771203"));
+
+        assertThat(allocator.claim(vibeId)).isEqualTo("771203");
+    }
+
+    @Test
+    void fallsThroughWhenAClaimFindsNoFreeCode() {
+        // under the threshold by the counters, but a concurrent claim took the last free row
+        utilization(4, 10, 8989);
+        utilization(5, 10, 89990);
+        when(pool.claim(vibeId, 4)).thenReturn(Optional.empty());
+        when(pool.claim(vibeId, 5)).thenReturn(Optional.of("61188"));
+
+        assertThat(allocator.claim(vibeId)).isEqualTo("61188");
+    }
+
+    @Test
+    void unseededLengthsAreSkippedAndNeverSeededInsideAClaim() {
+        utilization(4, 8000, 8989);
+        utilization(5, 0, 0);
+        utilization(6, 0, 899_990);
+        when(pool.claim(vibeId, 6)).thenReturn(Optional.of("300512"));
+
+        assertThat(allocator.claim(vibeId)).isEqualTo("300512");
+        verify(pool, never()).seed(anyInt());
+        verify(pool, never()).claim(any(), eq(5));
+    }
+
+    @Test
+    void failsWithServiceUnavailableWhenNoCodeIsLeft() {
+        utilization(4, 8989, 8989);
+        utilization(5, 89990, 89990);
+        utilization(6, 899_990, 899_990);
+        when(pool.claim(any(), anyInt())).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> allocator.claim(vibeId))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    void releasesTheOldCodeBeforeClaiming() {
+        when(pool.release(vibeId)).thenReturn(Optional.of("1111"));
+        utilization(4, 0, 8989);
+        when(pool.claim(vibeId, 4)).thenReturn(Optional.of("4821"));
+
+        allocator.claim(vibeId);
+
+        InOrder order = inOrder(pool);
+        order.verify(pool).release(vibeId);
+        order.verify(pool).claim(vibeId, 4);
+    }
+
+    @Test
+    void lookupsAreServedFromTheIndexAfterTheFirstRead() {
+        when(pool.findVibeIdByCode("4821")).thenReturn(Optional.of(vibeId));
+
+        assertThat(allocator.findVibeId("4821")).contains(vibeId);
+        assertThat(allocator.findVibeId("4821")).contains(vibeId);
+        verify(pool, times(1)).findVibeIdByCode("4821");
+
+        allocator.forget("4821", vibeId);
+        allocator.findVibeId("4821");
+        verify(pool, times(2)).findVibeIdByCode("4821");
+    }
+
+    @Test
+    void claimAndReleaseKeepTheIndexCurrent() {
+        utilization(4, 0, 8989);
+        when(pool.claim(vibeId, 4)).thenReturn(Optional.of("4821"));
+        allocator.claim(vibeId);
+
+        assertThat(allocator.findVibeId("4821")).contains(vibeId);
+        verify(pool, never()).findVibeIdByCode("4821");
+
+        when(pool.release(vibeId)).thenReturn(Optional.of("4821"));
+        allocator.release(vibeId);
+        allocator.findVibeId("4821");
+        verify(pool).findVibeIdByCode("4821");
+    }
+
+    @Test
+    void seedsOnlyLengthsWithoutCodes() {
+        utilization(4, 100, 8989);
+        utilization(5, 0, 0);
+        utilization(6, 0, 0);
+
+        allocator.seedMissingLengths();
+
+        verify(pool, never()).seed(4);
+        verify(pool).seed(5);
+        verify(pool).seed(6);
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new PublicCodeAllocator(pool, 0, 6, 0.8)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PublicCodeAllocator(pool, 6, 4, 0.8)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PublicCodeAllocator(pool, 4, 10, 0.8)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PublicCodeAllocator(pool, 4, 6, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new PublicCodeAllocator(pool, 4, 6, 1.5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
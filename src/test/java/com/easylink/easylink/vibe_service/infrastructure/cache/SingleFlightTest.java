@@ -0,0 +1,161 @@
+package com.easylink.easylink.vibe_service.infrastructure.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SingleFlight<String, Integer> singleFlight(Duration staleWhileRevalidate) {
+        return new SingleFlight<>("test", staleWhileRevalidate, 100, meterRegistry);
+    }
+
+    private double loads(String result) {
+        return meterRegistry.counter("singleflight.loads", "name", "test", "result", result).count();
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        SingleFlight<String, Integer> flight = singleFlight(Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            results.add(callers.submit(() -> flight.load("k", () -> {
+                leaderStarted.countDown();
+                awaitRelease(release);
+                return calls.incrementAndGet();
+            })));
+            leaderStarted.await();
+            for (int i = 0; i < 9; i++) {
+                results.add(callers.submit(() -> flight.load("k", calls::incrementAndGet)));
+            }
+
+            await().until(() -> loads("collapsed") == 9);
+            release.countDown();
+
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+            }
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(loads("leader")).isEqualTo(1);
+    }
+
+    @Test
+    void waitersSeeTheLeadersException() throws Exception {
+        SingleFlight<String, Integer> flight = singleFlight(Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> leader = callers.submit(() -> flight.load("k", () -> {
+                leaderStarted.countDown();
+                awaitRelease(release);
+                throw new IllegalStateException("db down");
+            }));
+            leaderStarted.await();
+            Future<Integer> waiter = callers.submit(() -> flight.load("k", () -> 42));
+
+            await().until(() -> loads("collapsed") == 1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        }
+        // a failure is not remembered; the next call loads again
+        assertThat(flight.load("k", () -> 7)).isEqualTo(7);
+    }
+
+    @Test
+    void withoutStaleWhileRevalidateEveryCallLoads() {
+        SingleFlight<String, Integer> flight = singleFlight(Duration.ZERO);
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.load("k", calls::incrementAndGet);
+        flight.load("k", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void staleWhileRevalidateServesTheLastResult() {
+        SingleFlight<String, Integer> flight = singleFlight(Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThat(flight.load("k", calls::incrementAndGet)).isEqualTo(1);
+        assertThat(flight.load("k", calls::incrementAndGet)).isEqualTo(1);
+
+        assertThat(calls).hasValue(1);
+        assertThat(loads("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void aResultOlderThanHalfTheWindowIsRefreshedInTheBackground() throws InterruptedException {
+        SingleFlight<String, Integer> flight = singleFlight(Duration.ofMillis(400));
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.load("k", calls::incrementAndGet);
+        TimeUnit.MILLISECONDS.sleep(250);
+
+        // still served from memory while the refresh runs
+        assertThat(flight.load("k", calls::incrementAndGet)).isEqualTo(1);
+        await().untilAsserted(() -> assertThat(calls).hasValue(2));
+        await().untilAsserted(() -> assertThat(flight.load("k", () -> -1)).isEqualTo(2));
+    }
+
+    @Test
+    void forgetMakesTheNextCallLoad() {
+        SingleFlight<String, Integer> flight = singleFlight(Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.load("a", calls::incrementAndGet);
+        flight.load("b", calls::incrementAndGet);
+        flight.forget("a");
+
+        assertThat(flight.load("a", calls::incrementAndGet)).isEqualTo(3);
+        assertThat(flight.load("b", calls::incrementAndGet)).isEqualTo(2);
+
+        flight.forgetIf(key -> key.equals("b"));
+        assertThat(flight.load("b", calls::incrementAndGet)).isEqualTo(4);
+    }
+
+    @Test
+    void aLoadThatOverlapsAForgetIsNotRemembered() {
+        SingleFlight<String, Integer> flight = singleFlight(Duration.ofMinutes(1));
+
+        // the write lands while the load is reading, so its result may predate the write
+        assertThat(flight.load("k", () -> {
+            flight.forget("k");
+            return 1;
+        })).isEqualTo(1);
+
+        assertThat(flight.load("k", () -> 2)).isEqualTo(2);
+    }
+
+    private static void awaitRelease(CountDownLatch latch) {
+        try {
+            if (!latch.await(5, TimeUnit.SECONDS)) throw new IllegalStateException("latch not released");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
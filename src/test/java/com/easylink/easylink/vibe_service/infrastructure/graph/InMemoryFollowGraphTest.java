@@ -0,0 +1,210 @@
+package com.easylink.easylink.vibe_service.infrastructure.graph;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryFollowGraphTest {
+
+    private final NamedParameterJdbcTemplate jdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryFollowGraph graph = new InMemoryFollowGraph(jdbcTemplate, meterRegistry, 200_000);
+
+    private final UUID viewer = UUID.randomUUID();
+    private final UUID a = UUID.randomUUID();
+    private final UUID b = UUID.randomUUID();
+    private final UUID c = UUID.randomUUID();
+    private final UUID target = UUID.randomUUID();
+    private final UUID x = UUID.randomUUID();
+    private final UUID y = UUID.randomUUID();
+
+    private double edges() {
+        return meterRegistry.get("vibe.follow_graph.edges").gauge().value();
+    }
+
+    private record Row(UUID subscriber, UUID target) {}
+
+    // answers the keyset load with the given edges; duringLoad runs after the rows are read, like a write
+    // committed while the reload is still running
+    private void loadReturns(List<Row> rows, Runnable duringLoad) {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (Row row : rows) {
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getObject("subscriber_vibe_id", UUID.class)).thenReturn(row.subscriber());
+                when(rs.getObject("target_vibe_id", UUID.class)).thenReturn(row.target());
+                when(rs.getObject("id", UUID.class)).thenReturn(UUID.randomUUID());
+                handler.processRow(rs);
+            }
+            duringLoad.run();
+            return null;
+        }).when(jdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void addIsIdempotentAndRemoveUndoesIt() {
+        graph.addEdge(viewer, a);
+        graph.addEdge(viewer, a);
+        assertThat(edges()).isEqualTo(1);
+
+        graph.removeEdge(viewer, a);
+        graph.removeEdge(viewer, a);
+        assertThat(edges()).isZero();
+
+        // removing an edge between unknown vibes is a no-op
+        graph.removeEdge(UUID.randomUUID(), UUID.randomUUID());
+        assertThat(edges()).isZero();
+    }
+
+    @Test
+    void countsFollowingWhoFollowTheTarget() {
+        graph.addEdge(viewer, a);
+        graph.addEdge(viewer, b);
+        graph.addEdge(viewer, c);
+        graph.addEdge(a, target);
+        graph.addEdge(b, target);
+        graph.addEdge(x, target);
+
+        assertThat(graph.countFollowingWhoFollow(viewer, target)).isEqualTo(2);
+
+        graph.removeEdge(b, target);
+        assertThat(graph.countFollowingWhoFollow(viewer, target)).isEqualTo(1);
+
+        assertThat(graph.countFollowingWhoFollow(UUID.randomUUID(), target)).isZero();
+        assertThat(graph.countFollowingWhoFollow(viewer, UUID.randomUUID())).isZero();
+    }
+
+    @Test
+    void removeVertexDropsBothDirections() {
+        graph.addEdge(viewer, a);
+        graph.addEdge(a, target);
+        graph.addEdge(target, a);
+        assertThat(edges()).isEqualTo(3);
+
+        graph.removeVibe(a);
+
+        assertThat(edges()).isZero();
+        assertThat(graph.countFollowingWhoFollow(viewer, target)).isZero();
+        assertThat(graph.suggest(viewer, 10)).isEmpty();
+
+        // the vibe keeps its slot and can get edges again
+        graph.addEdge(viewer, a);
+        assertThat(edges()).isEqualTo(1);
+    }
+
+    @Test
+    void suggestsMostSharedFirstAndSkipsFollowedVibesAndTheViewer() {
+        graph.addEdge(viewer, a);
+        graph.addEdge(viewer, b);
+        graph.addEdge(a, x);
+        graph.addEdge(b, x);
+        graph.addEdge(a, y);
+        graph.addEdge(a, b);
+        graph.addEdge(b, viewer);
+
+        assertThat(graph.suggest(viewer, 10)).containsExactly(x, y);
+        assertThat(graph.suggest(viewer, 1)).containsExactly(x);
+        assertThat(graph.suggest(UUID.randomUUID(), 10)).isEmpty();
+    }
+
+    @Test
+    void suggestionScanIsCapped() {
+        InMemoryFollowGraph capped = new InMemoryFollowGraph(jdbcTemplate, new SimpleMeterRegistry(), 1);
+        capped.addEdge(viewer, a);
+        capped.addEdge(a, x);
+        capped.addEdge(a, y);
+
+        assertThat(capped.suggest(viewer, 10)).hasSize(1);
+    }
+
+    @Test
+    void rebuildLoadsEdgesAndBecomesReady() {
+        loadReturns(List.of(new Row(viewer, a), new Row(a, target), new Row(b, target)), () -> {});
+        assertThat(graph.isReady()).isFalse();
+
+        graph.rebuild();
+
+        assertThat(graph.isReady()).isTrue();
+        assertThat(edges()).isEqualTo(3);
+        assertThat(graph.countFollowingWhoFollow(viewer, target)).isEqualTo(1);
+    }
+
+    @Test
+    void editsMadeDuringRebuildAreReplayedOntoTheNewGraph() {
+        loadReturns(List.of(new Row(viewer, a), new Row(a, target)), () -> {
+            // committed after the rows were read: missing from the snapshot, or still in it
+            graph.addEdge(viewer, b);
+            graph.addEdge(b, target);
+            graph.removeEdge(a, target);
+        });
+
+        graph.rebuild();
+
+        assertThat(edges()).isEqualTo(3);
+        assertThat(graph.countFollowingWhoFollow(viewer, target)).isEqualTo(1);
+        assertThat(graph.suggest(viewer, 10)).containsExactly(target);
+    }
+
+    @Test
+    void failedRebuildKeepsTheCurrentGraphAndStopsJournaling() {
+        graph.addEdge(viewer, a);
+        doThrow(new DataAccessResourceFailureException("db down"))
+                .when(jdbcTemplate).query(anyString(), anyMap(), any(RowCallbackHandler.class));
+
+        graph.rebuild();
+
+        assertThat(graph.isReady()).isFalse();
+        assertThat(edges()).isEqualTo(1);
+
+        // the next reload does not replay edits made before it started
+        loadReturns(List.of(new Row(a, target)), () -> {});
+        graph.rebuild();
+        assertThat(edges()).isEqualTo(1);
+        assertThat(graph.countFollowingWhoFollow(viewer, target)).isZero();
+    }
+
+    @Test
+    void rebuildMatchesIncrementalEdits() {
+        List<Row> rows = new ArrayList<>();
+        List<UUID> vibes = new ArrayList<>();
+        for (int i = 0; i < 50; i++) vibes.add(UUID.randomUUID());
+        for (int i = 0; i < 50; i++) {
+            for (int j = 1; j <= 7; j++) {
+                UUID s = vibes.get(i);
+                UUID t = vibes.get((i * 3 + j * j) % 50);
+                if (s.equals(t)) continue;
+                rows.add(new Row(s, t));
+                graph.addEdge(s, t);
+            }
+        }
+        Map<UUID, List<UUID>> incremental = new HashMap<>();
+        for (UUID v : vibes) incremental.put(v, graph.suggest(v, 5));
+        double incrementalEdges = edges();
+
+        loadReturns(rows, () -> {});
+        graph.rebuild();
+
+        assertThat(edges()).isEqualTo(incrementalEdges);
+        for (UUID v : vibes) {
+            assertThat(graph.suggest(v, 5)).hasSameElementsAs(incremental.get(v));
+        }
+    }
+}
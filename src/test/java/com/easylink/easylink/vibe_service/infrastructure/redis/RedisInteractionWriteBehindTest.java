@@ -0,0 +1,262 @@
+package com.easylink.easylink.vibe_service.infrastructure.redis;
+
+import com.easylink.easylink.vibe_service.application.dto.PendingInteraction;
+import com.easylink.easylink.vibe_service.domain.interaction.InteractionType;
+import com.easylink.easylink.vibe_service.infrastructure.repository.InteractionJdbcRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RedisInteractionWriteBehindTest {
+
+    private static final String GROUP = "interaction-writers";
+    private static final String STREAM = "interactions:write-behind";
+    private static final String DEAD = "interactions:write-behind:dead";
+    private static final long CLAIM_IDLE_MS = 200;
+
+    @Container
+    static final GenericContainer<?> redis = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private final InteractionJdbcRepository repository = mock(InteractionJdbcRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LettuceConnectionFactory connectionFactory;
+    private StringRedisTemplate redisTemplate;
+    private RedisInteractionWriteBehind writeBehind;
+
+    @BeforeEach
+    void connect() {
+        connectionFactory = new LettuceConnectionFactory(redis.getHost(), redis.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterEach
+    void disconnect() {
+        if (writeBehind != null) writeBehind.stop();
+        redisTemplate.delete(List.of(STREAM, DEAD));
+        connectionFactory.destroy();
+    }
+
+    private RedisInteractionWriteBehind writeBehind(int batchSize, long maxDeliveries) {
+        writeBehind = new RedisInteractionWriteBehind(redisTemplate, repository, meterRegistry,
+                true, STREAM, batchSize, 50, 100_000, CLAIM_IDLE_MS, maxDeliveries, DEAD);
+        writeBehind.start();
+        return writeBehind;
+    }
+
+    private static PendingInteraction interaction() {
+        return new PendingInteraction(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(), null, false,
+                InteractionType.LIKE, true, LocalDateTime.now());
+    }
+
+    private static Map<String, String> fields(PendingInteraction i) {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("id", i.id().toString());
+        fields.put("target", i.targetVibeId().toString());
+        fields.put("subscriber", i.subscriberVibeId().toString());
+        fields.put("anonymous", Boolean.toString(i.anonymous()));
+        fields.put("type", i.interactionType().name());
+        fields.put("active", Boolean.toString(i.active()));
+        fields.put("createdAt", i.createdAt().toString());
+        return fields;
+    }
+
+    // entries a crashed worker read and never acknowledged; done before start() so the live worker cannot take them
+    private List<PendingInteraction> readByDeadWorker(int count) {
+        redisTemplate.opsForStream().createGroup(STREAM, ReadOffset.from("0"), GROUP);
+        List<PendingInteraction> rows = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PendingInteraction row = interaction();
+            rows.add(row);
+            redisTemplate.opsForStream().add(StreamRecords.string(fields(row)).withStreamKey(STREAM));
+        }
+        List<MapRecord<String, Object, Object>> read = redisTemplate.opsForStream().read(
+                Consumer.from(GROUP, "writer-dead"),
+                StreamReadOptions.empty().count(count),
+                StreamOffset.create(STREAM, ReadOffset.lastConsumed()));
+        assertThat(read).hasSize(count);
+        return rows;
+    }
+
+    private long pending() {
+        return redisTemplate.opsForStream().pending(STREAM, GROUP).getTotalPendingMessages();
+    }
+
+    private long streamSize(String key) {
+        Long size = redisTemplate.opsForStream().size(key);
+        return size == null ? 0 : size;
+    }
+
+    private List<String> consumers() {
+        return redisTemplate.opsForStream().consumers(STREAM, GROUP).stream().map(c -> c.consumerName()).toList();
+    }
+
+    private List<PendingInteraction> written() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PendingInteraction>> rows = ArgumentCaptor.forClass(List.class);
+        verify(repository, atLeastOnce()).batchInsert(rows.capture());
+        return rows.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    @Test
+    void offeredEntriesAreWrittenAndAcknowledged() {
+        writeBehind(3, 5);
+        List<PendingInteraction> rows = List.of(interaction(), interaction(), interaction());
+
+        rows.forEach(row -> assertThat(writeBehind.offer(row)).isTrue());
+
+        await().untilAsserted(() -> assertThat(written()).containsExactlyInAnyOrderElementsOf(rows));
+        await().untilAsserted(() -> {
+            assertThat(pending()).isZero();
+            assertThat(streamSize(STREAM)).isZero();
+        });
+    }
+
+    @Test
+    void entriesStayPendingWhileTheDatabaseIsDown() throws InterruptedException {
+        doThrow(new DataAccessResourceFailureException("db down")).when(repository).batchInsert(anyList());
+        writeBehind(1, 5);
+
+        writeBehind.offer(interaction());
+
+        await().untilAsserted(() -> verify(repository, atLeastOnce()).batchInsert(anyList()));
+        TimeUnit.MILLISECONDS.sleep(100);
+        assertThat(pending()).isEqualTo(1);
+        assertThat(streamSize(STREAM)).isEqualTo(1);
+        assertThat(streamSize(DEAD)).isZero();
+    }
+
+    @Test
+    void staleEntriesAreReclaimedWrittenAndTheIdleConsumerRemoved() throws InterruptedException {
+        List<PendingInteraction> rows = readByDeadWorker(2);
+        writeBehind(10, 5);
+        TimeUnit.MILLISECONDS.sleep(CLAIM_IDLE_MS + 50);
+
+        writeBehind.reclaimStale();
+
+        assertThat(written()).containsExactlyInAnyOrderElementsOf(rows);
+        assertThat(pending()).isZero();
+        assertThat(streamSize(STREAM)).isZero();
+        assertThat(consumers()).doesNotContain("writer-dead");
+    }
+
+    @Test
+    void entriesAreNotReclaimedBeforeTheyAreIdleLongEnough() {
+        readByDeadWorker(1);
+        writeBehind(10, 5);
+
+        writeBehind.reclaimStale();
+
+        verify(repository, never()).batchInsert(anyList());
+        assertThat(pending()).isEqualTo(1);
+        assertThat(consumers()).contains("writer-dead");
+    }
+
+    @Test
+    void entriesDeliveredMaxDeliveriesTimesAreDeadLettered() throws InterruptedException {
+        readByDeadWorker(1);
+        doThrow(new DataAccessResourceFailureException("db down")).when(repository).batchInsert(anyList());
+        writeBehind(10, 2);
+
+        // second delivery: claimed and retried, still failing
+        TimeUnit.MILLISECONDS.sleep(CLAIM_IDLE_MS + 50);
+        writeBehind.reclaimStale();
+        assertThat(pending()).isEqualTo(1);
+        assertThat(streamSize(DEAD)).isZero();
+
+        // delivered twice: not retried again
+        TimeUnit.MILLISECONDS.sleep(CLAIM_IDLE_MS + 50);
+        writeBehind.reclaimStale();
+
+        assertThat(pending()).isZero();
+        assertThat(streamSize(STREAM)).isZero();
+        List<MapRecord<String, Object, Object>> dead = redisTemplate.opsForStream().range(DEAD, Range.unbounded());
+        assertThat(dead).singleElement().satisfies(record -> {
+            assertThat(record.getValue()).containsKey("sourceId");
+            assertThat((String) record.getValue().get("error")).contains("Delivered 2 times");
+        });
+    }
+
+    @Test
+    void aRowRejectedByAConstraintIsDeadLetteredAndTheRestOfTheBatchWritten() {
+        PendingInteraction bad = interaction();
+        List<PendingInteraction> good = List.of(interaction(), interaction());
+        List<PendingInteraction> inserted = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<PendingInteraction> rows = invocation.getArgument(0);
+            if (rows.contains(bad)) throw new DataIntegrityViolationException("fk_interaction_target");
+            inserted.addAll(rows);
+            return null;
+        }).when(repository).batchInsert(anyList());
+        writeBehind(3, 5);
+
+        writeBehind.offer(good.get(0));
+        writeBehind.offer(bad);
+        writeBehind.offer(good.get(1));
+
+        await().untilAsserted(() -> {
+            assertThat(streamSize(DEAD)).isEqualTo(1);
+            assertThat(pending()).isZero();
+            assertThat(streamSize(STREAM)).isZero();
+        });
+        assertThat(inserted).containsExactlyInAnyOrderElementsOf(good);
+        assertThat(meterRegistry.counter("interactions.write_behind.dead_lettered").count()).isEqualTo(1);
+    }
+
+    @Test
+    void malformedEntriesAreDeadLetteredWithoutTouchingTheDatabase() {
+        writeBehind(10, 5);
+
+        redisTemplate.opsForStream().add(StreamRecords.string(Map.of("id", "not-a-uuid")).withStreamKey(STREAM));
+
+        await().untilAsserted(() -> {
+            assertThat(streamSize(DEAD)).isEqualTo(1);
+            assertThat(streamSize(STREAM)).isZero();
+        });
+        verify(repository, never()).batchInsert(anyList());
+    }
+
+    @Test
+    void offerFallsBackWhenTheWorkerIsNotRunning() {
+        writeBehind(10, 5).stop();
+
+        assertThat(writeBehind.offer(interaction())).isFalse();
+        assertThat(meterRegistry.counter("interactions.write_behind.fallback").count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,229 @@
+package com.easylink.easylink.vibe_service.infrastructure.repository;
+
+import com.easylink.easylink.support.PostgresTest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the V8 indexes: every hot query shape is explained against a seeded dataset and must plan onto the
+ * index written for it. The queries mirror what Hibernate and the JDBC repositories send.
+ */
+@PostgresTest
+class HotQueryPlanTest {
+
+    private static final int VIBES = 20_000;
+
+    // vibe 0 has every other vibe as a subscriber, vibe 1 follows every other vibe
+    private static final UUID HOT_TARGET = seededVibe(0);
+    private static final UUID HOT_SUBSCRIBER = seededVibe(1);
+    private static final UUID VIBE = seededVibe(4242);
+    private static final UUID MIN_ID = new UUID(0, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // same as md5('plan-vibe-' || g)::uuid in the seed
+    private static UUID seededVibe(int g) {
+        try {
+            byte[] md5 = MessageDigest.getInstance("MD5").digest(("plan-vibe-" + g).getBytes(StandardCharsets.UTF_8));
+            String hex = HexFormat.of().formatHex(md5);
+            return UUID.fromString(hex.replaceFirst("(.{8})(.{4})(.{4})(.{4})(.{12})", "$1-$2-$3-$4-$5"));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // committed outside the test transactions, so the planner sees the rows and statistics
+    @BeforeAll
+    static void seed(@Autowired JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("""
+                insert into vibe (id, vibe_account_id, name, type, visible, privacy, subscribe_mode, deleted_at)
+                select md5('plan-vibe-' || g)::uuid, md5('plan-account-' || (g / 4))::uuid, 'plan-' || g,
+                       'PERSONAL', true, 'PUBLIC', 'OPEN', case when g % 50 = 49 then now() end
+                from generate_series(0, ?) g
+                """, VIBES - 1);
+        jdbcTemplate.update("""
+                insert into interaction (id, subscriber_vibe_id, target_vibe_id, interaction_type, anonymous,
+                                         active, status, created_at)
+                select gen_random_uuid(), md5('plan-vibe-' || s)::uuid, md5('plan-vibe-' || ((s + k * 37) % ?))::uuid,
+                       'SUBSCRIBE', false, k <> 10, case when k % 5 = 0 then 'PENDING' else 'APPROVED' end,
+                       now() - (s * 10 + k) * interval '1 second'
+                from generate_series(0, ?) s, generate_series(1, 10) k
+                on conflict do nothing
+                """, VIBES, VIBES - 1);
+        jdbcTemplate.update("""
+                insert into interaction (id, subscriber_vibe_id, target_vibe_id, interaction_type, anonymous,
+                                         active, status, created_at)
+                select gen_random_uuid(), md5('plan-vibe-' || s)::uuid, md5('plan-vibe-0')::uuid,
+                       'SUBSCRIBE', false, true, case when s % 10 = 0 then 'PENDING' else 'APPROVED' end,
+                       now() - s * interval '1 second'
+                from generate_series(2, ?) s
+                on conflict do nothing
+                """, VIBES - 1);
+        jdbcTemplate.update("""
+                insert into interaction (id, subscriber_vibe_id, target_vibe_id, interaction_type, anonymous,
+                                         active, status, created_at)
+                select gen_random_uuid(), md5('plan-vibe-1')::uuid, md5('plan-vibe-' || t)::uuid,
+                       'SUBSCRIBE', false, true, 'APPROVED', now() - t * interval '1 second'
+                from generate_series(2, ?) t
+                on conflict do nothing
+                """, VIBES - 1);
+        jdbcTemplate.update("""
+                insert into offer (id, vibe_id, title, discount_type, initial_discount, current_discount,
+                                   decrease_step, decrease_interval_minutes, active, start_time, end_time, version)
+                select gen_random_uuid(), md5('plan-vibe-' || (g % ?))::uuid, 'offer-' || g, 0, 20, 20, 1, 60, true,
+                       now() - interval '30 days', now() + ((g % 60) - 30) * interval '1 day' + g * interval '1 second', 0
+                from generate_series(0, ?) g
+                """, VIBES, VIBES * 3 - 1);
+        jdbcTemplate.update("""
+                insert into item (id, vibe_id, title, version)
+                select gen_random_uuid(), md5('plan-vibe-' || (g % ?))::uuid, 'item-' || g, 0
+                from generate_series(0, ?) g
+                """, VIBES, VIBES * 2 - 1);
+        jdbcTemplate.update("""
+                insert into vibe_field (id, field_type, vibe_id, label, type)
+                select gen_random_uuid(), 'LINK', md5('plan-vibe-' || (g % ?))::uuid, 'link-' || g, 'LINK'
+                from generate_series(0, ?) g
+                """, VIBES, VIBES * 2 - 1);
+        jdbcTemplate.execute("analyze vibe, interaction, offer, item, vibe_field, public_code");
+    }
+
+    @AfterAll
+    static void cleanUp(@Autowired JdbcTemplate jdbcTemplate) {
+        String seeded = "(select id from vibe where name like 'plan-%')";
+        jdbcTemplate.update("delete from interaction where target_vibe_id in " + seeded);
+        jdbcTemplate.update("delete from offer where vibe_id in " + seeded);
+        jdbcTemplate.update("delete from item where vibe_id in " + seeded);
+        jdbcTemplate.update("delete from vibe_field where vibe_id in " + seeded);
+        jdbcTemplate.update("delete from vibe where name like 'plan-%'");
+    }
+
+    private String plan(String sql, Object... args) {
+        return String.join("\n", jdbcTemplate.queryForList("explain " + sql, String.class, args));
+    }
+
+    @Test
+    void subscriberPagesWalkTheApprovedByTargetIndex() {
+        assertThat(plan("""
+                select i.id, sv.id, sv.name, sv.type, sv.photo
+                from interaction i
+                join vibe sv on sv.id = i.subscriber_vibe_id
+                join vibe tv on tv.id = i.target_vibe_id
+                where tv.id = ?
+                  and i.active
+                  and i.interaction_type = 'SUBSCRIBE'
+                  and i.status = 'APPROVED'
+                  and sv.deleted_at is null
+                  and tv.deleted_at is null
+                  and i.id > ?
+                order by i.id
+                limit 21
+                """, HOT_TARGET, MIN_ID)).contains("ix_interaction_approved_by_target");
+    }
+
+    @Test
+    void subscriberCountsUseTheApprovedByTargetIndex() {
+        assertThat(plan("""
+                select count(*)
+                from interaction i
+                join vibe sv on sv.id = i.subscriber_vibe_id
+                join vibe tv on tv.id = i.target_vibe_id
+                where tv.id = ?
+                  and i.active
+                  and i.interaction_type = 'SUBSCRIBE'
+                  and i.status = 'APPROVED'
+                  and sv.deleted_at is null
+                  and tv.deleted_at is null
+                """, VIBE)).contains("ix_interaction_approved_by_target");
+    }
+
+    @Test
+    void followingPagesWalkTheApprovedBySubscriberIndex() {
+        assertThat(plan("""
+                select i.id, tv.id, tv.name, tv.type, tv.photo
+                from interaction i
+                join vibe sv on sv.id = i.subscriber_vibe_id
+                join vibe tv on tv.id = i.target_vibe_id
+                where sv.id = ?
+                  and i.active
+                  and i.interaction_type = 'SUBSCRIBE'
+                  and i.status = 'APPROVED'
+                  and sv.deleted_at is null
+                  and tv.deleted_at is null
+                  and i.id > ?
+                order by i.id
+                limit 21
+                """, HOT_SUBSCRIBER, MIN_ID)).contains("ix_interaction_approved_by_subscriber");
+    }
+
+    @Test
+    void pendingRequestsComeNewestFirstFromThePendingIndex() {
+        assertThat(plan("""
+                select i.id, sv.id, sv.name
+                from interaction i
+                join vibe sv on sv.id = i.subscriber_vibe_id
+                join vibe tv on tv.id = i.target_vibe_id
+                where tv.id = ?
+                  and i.active
+                  and i.interaction_type = 'SUBSCRIBE'
+                  and i.status = 'PENDING'
+                  and sv.deleted_at is null
+                  and tv.deleted_at is null
+                order by i.created_at desc
+                limit 20
+                """, HOT_TARGET)).contains("ix_interaction_pending_by_target");
+    }
+
+    @Test
+    void liveVibesOfAnAccountUseThePartialIndex() {
+        UUID accountId = jdbcTemplate.queryForObject("select vibe_account_id from vibe where id = ?", UUID.class, VIBE);
+
+        assertThat(plan("select id from vibe where vibe_account_id = ? and deleted_at is null", accountId))
+                .contains("ix_vibe_account_alive");
+    }
+
+    @Test
+    void offersAreReadPerVibeAndSweptByEndTime() {
+        assertThat(plan("select count(*) from offer o where o.vibe_id = ? and o.end_time >= now()", VIBE))
+                .contains("ix_offer_vibe_end_time");
+        assertThat(plan("""
+                select o.id, o.vibe_id
+                from offer o
+                where o.end_time > now() - interval '1 minute' and o.end_time <= now()
+                """)).contains("ix_offer_end_time");
+    }
+
+    @Test
+    void itemsAndFieldsAreReadPerVibe() {
+        assertThat(plan("select * from item where vibe_id = ?", VIBE)).contains("ix_item_vibe");
+        assertThat(plan("select * from vibe_field where vibe_id = ?", VIBE)).contains("ix_vibe_field_vibe");
+    }
+
+    @Test
+    void publicCodesAreClaimedAndResolvedThroughThePool() {
+        assertThat(plan("""
+                select code from public_code
+                where vibe_id is null and length = 5
+                order by slot
+                limit 1
+                """)).contains("ix_public_code_free");
+        assertThat(plan("select vibe_id from public_code where code = ? and vibe_id is not null", "48213"))
+                .contains("public_code_pkey");
+
+        // superseded by the pool in V10, so V8 no longer creates it
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(*) from pg_indexes where indexname = 'ix_vibe_public_code_visible'", Integer.class))
+                .isZero();
+    }
+}
@@ -0,0 +1,157 @@
+package com.easylink.easylink.vibe_service.infrastructure.repository;
+
+import com.easylink.easylink.support.PostgresTest;
+import com.easylink.easylink.support.TestVibes;
+import com.easylink.easylink.vibe_service.application.dto.SubscribeUpsert;
+import com.easylink.easylink.vibe_service.domain.interaction.InteractionStatus;
+import com.easylink.easylink.vibe_service.domain.model.SubscribeMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@PostgresTest
+@Import(InteractionJdbcRepository.class)
+class InteractionJdbcRepositoryTest {
+
+    @Autowired
+    private InteractionJdbcRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private int subscribeRows(UUID subscriber, UUID target) {
+        return jdbcTemplate.queryForObject("""
+                select count(*) from interaction
+                where subscriber_vibe_id = ? and target_vibe_id = ? and interaction_type = 'SUBSCRIBE'
+                """, Integer.class, subscriber, target);
+    }
+
+    @Test
+    void subscribeToAnOpenVibeIsApproved() {
+        UUID subscriber = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID target = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+
+        Optional<SubscribeUpsert> result = repository.upsertSubscription(subscriber, target, "a@b.c", false);
+
+        assertThat(result).hasValueSatisfying(r -> {
+            assertThat(r.status()).isEqualTo(InteractionStatus.APPROVED);
+            assertThat(r.changed()).isTrue();
+            assertThat(r.targetVibeId()).isEqualTo(target);
+            assertThat(r.subscriberName()).startsWith("vibe-");
+        });
+    }
+
+    @Test
+    void repeatingAnActiveSubscriptionWritesNothing() {
+        UUID subscriber = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID target = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID first = repository.upsertSubscription(subscriber, target, "a@b.c", false).orElseThrow().interactionId();
+
+        assertThat(repository.upsertSubscription(subscriber, target, "a@b.c", false)).isEmpty();
+
+        assertThat(subscribeRows(subscriber, target)).isEqualTo(1);
+        assertThat(repository.findSubscription(subscriber, target))
+                .hasValueSatisfying(r -> {
+                    assertThat(r.interactionId()).isEqualTo(first);
+                    assertThat(r.changed()).isFalse();
+                });
+    }
+
+    @Test
+    void approvalVibesGetAPendingRequestThatIsNotRepeated() {
+        UUID subscriber = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID target = TestVibes.insert(jdbcTemplate, SubscribeMode.APPROVAL);
+
+        assertThat(repository.upsertSubscription(subscriber, target, null, true))
+                .hasValueSatisfying(r -> assertThat(r.status()).isEqualTo(InteractionStatus.PENDING));
+        assertThat(repository.upsertSubscription(subscriber, target, null, true)).isEmpty();
+    }
+
+    @Test
+    void anApprovedSubscriptionIsNeverDemotedToPending() {
+        UUID subscriber = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID target = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        repository.upsertSubscription(subscriber, target, null, false);
+
+        // the owner switched to approval mode after the subscription was approved
+        jdbcTemplate.update("update vibe set subscribe_mode = 'APPROVAL' where id = ?", target);
+
+        assertThat(repository.upsertSubscription(subscriber, target, null, false)).isEmpty();
+        assertThat(repository.findSubscription(subscriber, target))
+                .hasValueSatisfying(r -> assertThat(r.status()).isEqualTo(InteractionStatus.APPROVED));
+    }
+
+    @Test
+    void anInactiveSubscriptionIsReactivatedInPlace() {
+        UUID subscriber = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID target = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID first = repository.upsertSubscription(subscriber, target, null, false).orElseThrow().interactionId();
+        jdbcTemplate.update("update interaction set active = false where id = ?", first);
+
+        Optional<SubscribeUpsert> again = repository.upsertSubscription(subscriber, target, "new@b.c", false);
+
+        assertThat(again).hasValueSatisfying(r -> {
+            assertThat(r.interactionId()).isEqualTo(first);
+            assertThat(r.changed()).isTrue();
+            assertThat(r.userEmail()).isEqualTo("new@b.c");
+        });
+        assertThat(subscribeRows(subscriber, target)).isEqualTo(1);
+    }
+
+    @Test
+    void deletedVibesCannotBeSubscribedTo() {
+        UUID subscriber = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID target = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        TestVibes.delete(jdbcTemplate, target);
+
+        assertThat(repository.upsertSubscription(subscriber, target, null, false)).isEmpty();
+        assertThat(subscribeRows(subscriber, target)).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void concurrentSubscribesCreateOneRowAndReportOneChange() throws Exception {
+        UUID subscriber = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID target = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        try {
+            int callers = 16;
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Optional<SubscribeUpsert>>> results = new ArrayList<>();
+            try (ExecutorService pool = Executors.newFixedThreadPool(callers)) {
+                for (int i = 0; i < callers; i++) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return repository.upsertSubscription(subscriber, target, null, false);
+                    }));
+                }
+                start.countDown();
+
+                int changed = 0;
+                for (Future<Optional<SubscribeUpsert>> result : results) {
+                    if (result.get(30, TimeUnit.SECONDS).isPresent()) changed++;
+                }
+                assertThat(changed).isEqualTo(1);
+            }
+            assertThat(subscribeRows(subscriber, target)).isEqualTo(1);
+        } finally {
+            // runs outside the test transaction, so nothing rolls it back
+            jdbcTemplate.update("delete from interaction where subscriber_vibe_id = ?", subscriber);
+            jdbcTemplate.update("delete from vibe where id in (?, ?)", subscriber, target);
+        }
+    }
+}
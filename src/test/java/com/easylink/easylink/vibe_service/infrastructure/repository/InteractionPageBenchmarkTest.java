@@ -0,0 +1,169 @@
+package com.easylink.easylink.vibe_service.infrastructure.repository;
+
+import com.easylink.easylink.support.PostgresTest;
+import com.easylink.easylink.support.TestVibes;
+import com.easylink.easylink.support.Timing;
+import com.easylink.easylink.vibe_service.application.dto.MiniVibeRow;
+import com.easylink.easylink.vibe_service.application.mapper.VibeDtoMapper;
+import com.easylink.easylink.vibe_service.domain.interaction.Interaction;
+import com.easylink.easylink.vibe_service.domain.model.SubscribeMode;
+import com.easylink.easylink.vibe_service.domain.model.Vibe;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Subscriber and following pages at 1k, 10k and 100k: latency of the first and the last page, and the
+ * statements a full walk sends (one per page). The entity lists the pages replaced are timed at 1k and
+ * 10k as the baseline; they load every vibe and its fields one by one, so 100k is left out.
+ */
+@PostgresTest
+@Tag("benchmark")
+@Import(JpaInteractionRepositoryAdapter.class)
+class InteractionPageBenchmarkTest {
+
+    private static final int PAGE = 200;
+    private static final UUID MIN_UUID = new UUID(0L, 0L);
+
+    @Autowired
+    private JpaInteractionRepositoryAdapter adapter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    // target has `size` approved subscribers; follower has `size` approved followings
+    private record Network(UUID target, UUID follower, int size) {}
+
+    private record Walk(int rows, int pages, long statements, Duration lastPage) {}
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    private Network seed(int size) {
+        UUID target = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        UUID follower = TestVibes.insert(jdbcTemplate, SubscribeMode.OPEN);
+        String prefix = "page-" + target.toString().substring(0, 8) + "-";
+        jdbcTemplate.update("""
+                insert into vibe (id, vibe_account_id, name, type, visible, privacy, subscribe_mode)
+                select gen_random_uuid(), gen_random_uuid(), ? || g, 'PERSONAL', true, 'PUBLIC', 'OPEN'
+                from generate_series(1, ?) g
+                """, prefix, size);
+        jdbcTemplate.update("""
+                insert into interaction (id, subscriber_vibe_id, target_vibe_id, interaction_type, anonymous,
+                                         active, status, created_at)
+                select gen_random_uuid(), v.id, ?, 'SUBSCRIBE', false, true, 'APPROVED', now()
+                from vibe v where v.name like ? || '%'
+                union all
+                select gen_random_uuid(), ?, v.id, 'SUBSCRIBE', false, true, 'APPROVED', now()
+                from vibe v where v.name like ? || '%'
+                """, target, prefix, follower, prefix);
+        jdbcTemplate.execute("analyze vibe, interaction");
+        return new Network(target, follower, size);
+    }
+
+    // pages through everything the way a client follows nextCursor
+    private Walk walk(BiFunction<UUID, Integer, List<MiniVibeRow>> page) {
+        Set<UUID> seen = new HashSet<>();
+        UUID after = MIN_UUID;
+        int pages = 0;
+        Duration lastPage = Duration.ZERO;
+        statistics.clear();
+        while (true) {
+            long start = System.nanoTime();
+            List<MiniVibeRow> rows = page.apply(after, PAGE);
+            lastPage = Duration.ofNanos(System.nanoTime() - start);
+            pages++;
+            rows.forEach(row -> assertThat(seen.add(row.interactionId())).isTrue());
+            if (rows.size() < PAGE) break;
+            after = rows.get(rows.size() - 1).interactionId();
+        }
+        return new Walk(seen.size(), pages, statistics.getPrepareStatementCount(), lastPage);
+    }
+
+    private Duration firstPage(BiFunction<UUID, Integer, List<MiniVibeRow>> page) {
+        return Timing.median(21, run -> assertThat(page.apply(MIN_UUID, PAGE)).isNotEmpty());
+    }
+
+    private Duration legacySubscriberList(Network network, long[] statements) {
+        return Timing.median(1, run -> {
+            entityManager.clear();
+            statistics.clear();
+            Vibe target = entityManager.find(Vibe.class, network.target());
+            List<Interaction> interactions = adapter.findApprovedSubscribersByTarget(target);
+            assertThat(interactions.stream().map(Interaction::getSubscriberVibe).map(VibeDtoMapper::toDto))
+                    .hasSize(network.size());
+            statements[0] = statistics.getPrepareStatementCount();
+        });
+    }
+
+    @Test
+    void everyPageIsOneStatementAndTheFirstPageDoesNotGrowWithTheAudience() {
+        int[] sizes = {1_000, 10_000, 100_000};
+        Duration[] firstPages = new Duration[sizes.length];
+
+        for (int s = 0; s < sizes.length; s++) {
+            Network network = seed(sizes[s]);
+            BiFunction<UUID, Integer, List<MiniVibeRow>> subscribers =
+                    (after, limit) -> adapter.findApprovedSubscriberMiniAfter(network.target(), after, limit);
+            BiFunction<UUID, Integer, List<MiniVibeRow>> following =
+                    (after, limit) -> adapter.findFollowingMiniAfter(network.follower(), after, limit);
+
+            firstPages[s] = firstPage(subscribers);
+            Duration followingFirst = firstPage(following);
+            Walk subscriberWalk = walk(subscribers);
+            Walk followingWalk = walk(following);
+
+            String label = network.size() + " ";
+            Timing.report("subscriber pages", label + "first page", firstPages[s]);
+            Timing.report("subscriber pages", label + "last page", subscriberWalk.lastPage());
+            Timing.report("following pages", label + "first page", followingFirst);
+            Timing.report("following pages", label + "last page", followingWalk.lastPage());
+            System.out.printf("%-28s %-36s %10d statements / %d pages%n", "subscriber pages",
+                    label + "full walk", subscriberWalk.statements(), subscriberWalk.pages());
+
+            assertThat(subscriberWalk.rows()).isEqualTo(network.size());
+            assertThat(followingWalk.rows()).isEqualTo(network.size());
+            assertThat(subscriberWalk.statements()).isEqualTo(subscriberWalk.pages());
+            assertThat(followingWalk.statements()).isEqualTo(followingWalk.pages());
+
+            if (network.size() <= 10_000) {
+                long[] statements = new long[1];
+                Duration legacy = legacySubscriberList(network, statements);
+                Timing.report("subscriber list (old)", label + "all entities", legacy);
+                System.out.printf("%-28s %-36s %10d statements%n", "subscriber list (old)", label + "all entities",
+                        statements[0]);
+                assertThat(statements[0]).isGreaterThan(network.size());
+            }
+        }
+
+        // a page reads the same 200 index entries whether the target has 1k or 100k subscribers
+        assertThat(firstPages[2]).isLessThan(firstPages[0].multipliedBy(5).plusMillis(2));
+    }
+}
@@ -0,0 +1,108 @@
+package com.easylink.easylink.vibe_service.infrastructure.repository;
+
+import com.easylink.easylink.support.PostgresTest;
+import com.easylink.easylink.support.Timing;
+import com.easylink.easylink.vibe_service.application.port.out.PublicCodePoolPort.Utilization;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Claims from the 5-digit pool at 10%, 90% and 99% utilization. A claim probes the free-code index for the
+ * lowest free slot, so its cost must not grow as the length fills up; the old generator guessed codes and
+ * checked them, which degrades as 1 / (1 - utilization).
+ * <p>
+ * Runs committed, outside a test transaction, and vacuums after each fill: the bulk fill leaves dead entries in
+ * the partial index that autovacuum would clear in production, and a claim timed over them would measure the
+ * fill rather than the claim. Everything it claims is released again at the end.
+ */
+@PostgresTest
+@Tag("benchmark")
+@Import(PublicCodeJdbcRepository.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PublicCodeClaimBenchmarkTest {
+
+    private static final int LENGTH = 5;
+    private static final int CLAIMS = 200;
+    // marks rows taken by the bulk fill, so they can be handed back
+    private static final String FILLED_AT = "2000-01-01 00:00:00";
+
+    @Autowired
+    private PublicCodeJdbcRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // takes free codes in slot order, as claims would, and counts them on stripe 0
+    private void fillTo(double utilization) {
+        Utilization current = repository.utilization(LENGTH);
+        long missing = Math.round(current.total() * utilization) - current.claimed();
+        if (missing <= 0) return;
+
+        int filled = jdbcTemplate.update("""
+                update public_code
+                set vibe_id = gen_random_uuid(), claimed_at = cast(? as timestamp)
+                where code in (
+                    select code from public_code
+                    where vibe_id is null and length = ?
+                    order by slot
+                    limit ?
+                )
+                """, FILLED_AT, LENGTH, missing);
+        jdbcTemplate.update("update public_code_length set claimed = claimed + ? where length = ? and stripe = 0",
+                filled, LENGTH);
+        jdbcTemplate.execute("vacuum analyze public_code");
+    }
+
+    private void releaseAll(List<UUID> claimed) {
+        claimed.forEach(repository::release);
+        int filled = jdbcTemplate.update("""
+                update public_code
+                set vibe_id = null, claimed_at = null
+                where length = ? and claimed_at = cast(? as timestamp)
+                """, LENGTH, FILLED_AT);
+        jdbcTemplate.update("update public_code_length set claimed = claimed - ? where length = ? and stripe = 0",
+                filled, LENGTH);
+    }
+
+    @Test
+    void claimCostDoesNotGrowWithUtilization() {
+        double[] utilizations = {0.10, 0.90, 0.99};
+        Duration[] medians = new Duration[utilizations.length];
+        List<UUID> claimed = new ArrayList<>();
+        long claimedBefore = repository.utilization(LENGTH).claimed();
+
+        try {
+            for (int u = 0; u < utilizations.length; u++) {
+                fillTo(utilizations[u]);
+
+                medians[u] = Timing.median(CLAIMS, run -> {
+                    UUID vibeId = UUID.randomUUID();
+                    assertThat(repository.claim(vibeId, LENGTH)).isPresent();
+                    claimed.add(vibeId);
+                });
+                Duration utilization = Timing.median(CLAIMS, run -> repository.utilization(LENGTH));
+
+                String label = Math.round(utilizations[u] * 100) + "% of " + repository.utilization(LENGTH).total();
+                Timing.report("public code claim", label, medians[u]);
+                Timing.report("public code utilization", label, utilization);
+            }
+        } finally {
+            releaseAll(claimed);
+        }
+
+        assertThat(repository.utilization(LENGTH).claimed()).isEqualTo(claimedBefore);
+        assertThat(medians[2]).isLessThan(medians[0].multipliedBy(5).plusMillis(1));
+    }
+}